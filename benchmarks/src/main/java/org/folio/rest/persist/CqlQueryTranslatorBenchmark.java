@@ -0,0 +1,57 @@
+package org.folio.rest.persist;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the direct CQL to SQL translation with the translation through the template cache of
+ * {@link CqlQueryTranslator} for typical queries of the UI. Every invocation uses a different literal, as typeahead and
+ * search do, so the cached path always binds the literals of a new query to the template of its shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CqlQueryTranslatorBenchmark {
+
+  private static final String TABLE = "organizations";
+
+  @Param({
+    "name=%s*",
+    "(name=%1$s* or code=%1$s*) and status=Active sortBy name",
+    "id==%s"
+  })
+  private String queryTemplate;
+
+  private int counter;
+
+  @Benchmark
+  public TranslatedQuery direct() throws Exception {
+    return CqlQueryTranslator.translateDirectly(TABLE, nextQuery());
+  }
+
+  @Benchmark
+  public TranslatedQuery cached() throws Exception {
+    return CqlQueryTranslator.translate(TABLE, nextQuery());
+  }
+
+  private String nextQuery() {
+    int value = counter++ & 0xffff;
+    String literal = queryTemplate.startsWith("id")
+      ? String.format("%08x-0000-4000-8000-000000000000", value)
+      : "acme" + Integer.toString(value, 26).replaceAll("[0-9]", "x");
+    return String.format(queryTemplate, literal);
+  }
+}
@@ -0,0 +1,74 @@
+package org.folio.rest.persist;
+
+import org.folio.rest.jaxrs.model.Organization;
+import org.folio.rest.jaxrs.model.OrganizationCollection;
+import org.folio.rest.jaxrs.resource.OrganizationsStorageOrganizations.GetOrganizationsStorageOrganizationsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.ws.rs.core.Response;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a collection response through the per-request reflection previously used by
+ * {@code HelperUtils.getEntitiesCollection} with the precompiled binders of {@link EntitiesMetadataRegistry}.
+ * Run with {@code -prof gc} to see the allocation rate of both paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntitiesMetadataHolderBenchmark {
+
+  @Param({ "10", "1000" })
+  private int pageSize;
+
+  private List<Organization> organizations;
+
+  @Setup
+  public void setUp() {
+    organizations = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      organizations.add(new Organization().withId(UUID.randomUUID().toString()).withCode("CODE" + i).withName("Name " + i));
+    }
+  }
+
+  @Benchmark
+  public Response reflection() throws Exception {
+    // the same lookups the former EntitiesMetadataHolder performed on every request
+    Class<?> responseClass = GetOrganizationsStorageOrganizationsResponse.class;
+    Method respond500 = responseClass.getMethod("respond500WithTextPlain", Object.class);
+    Method respond200 = responseClass.getMethod("respond200WithApplicationJson", OrganizationCollection.class);
+    Method respond400 = responseClass.getMethod("respond400WithTextPlain", Object.class);
+    OrganizationCollection collection = OrganizationCollection.class.newInstance();
+    Method setResults = OrganizationCollection.class.getMethod("setOrganizations", List.class);
+    Method setTotalRecords = OrganizationCollection.class.getMethod("setTotalRecords", Integer.class);
+    setResults.invoke(collection, organizations);
+    setTotalRecords.invoke(collection, organizations.size());
+    if (respond400 == null || respond500 == null) {
+      throw new IllegalStateException();
+    }
+    return (Response) respond200.invoke(null, collection);
+  }
+
+  @Benchmark
+  public Response binders() {
+    EntitiesMetadataHolder<Organization, OrganizationCollection> holder = EntitiesMetadataRegistry.ORGANIZATIONS;
+    return holder.respond200WithApplicationJson(holder.buildCollection(organizations, organizations.size()));
+  }
+}
@@ -0,0 +1,86 @@
+package org.folio.rest.persist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.json.Json;
+import org.folio.rest.jaxrs.model.Organization;
+import org.folio.rest.jaxrs.model.OrganizationCollection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson round trips of the bundled sample organizations: a single {@link Organization} as read by the
+ * POST and PUT requests and written by the GET by id, and an {@link OrganizationCollection} page of the samples
+ * repeated with distinct ids. The mapper is the one of Vert.x the module uses to map the jsonb of the records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrganizationJsonBenchmark {
+
+  @Param({ "10", "1000" })
+  private int pageSize;
+
+  private final ObjectMapper mapper = Json.mapper;
+  private List<String> samples;
+  private List<Organization> organizations;
+  private String collectionJson;
+  private int counter;
+
+  @Setup
+  public void setUp() throws Exception {
+    samples = Samples.organizations();
+    organizations = new ArrayList<>(samples.size());
+    for (String sample : samples) {
+      organizations.add(mapper.readValue(sample, Organization.class));
+    }
+
+    List<Organization> page = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      String sample = samples.get(i % samples.size());
+      page.add(mapper.readValue(sample, Organization.class).withId(UUID.randomUUID().toString()));
+    }
+    collectionJson = mapper.writeValueAsString(new OrganizationCollection().withOrganizations(page).withTotalRecords(pageSize));
+  }
+
+  @Benchmark
+  public Organization readOrganization() throws Exception {
+    return mapper.readValue(samples.get(nextIndex()), Organization.class);
+  }
+
+  @Benchmark
+  public String writeOrganization() throws Exception {
+    return mapper.writeValueAsString(organizations.get(nextIndex()));
+  }
+
+  @Benchmark
+  public OrganizationCollection readCollection() throws Exception {
+    return mapper.readValue(collectionJson, OrganizationCollection.class);
+  }
+
+  @Benchmark
+  public String roundTripCollection() throws Exception {
+    return mapper.writeValueAsString(mapper.readValue(collectionJson, OrganizationCollection.class));
+  }
+
+  private int nextIndex() {
+    counter = (counter + 1) % samples.size();
+    return counter;
+  }
+}
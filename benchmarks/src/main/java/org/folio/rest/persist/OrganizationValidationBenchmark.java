@@ -0,0 +1,55 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.json.Json;
+import org.folio.rest.jaxrs.model.Organization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the schema validation of the bundled sample organizations. RMB validates the body of every POST and PUT
+ * with the Bean Validation constraints generated from the JSON schemas, so this is the cost added to each write request
+ * before it reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrganizationValidationBenchmark {
+
+  private Validator validator;
+  private List<Organization> organizations;
+  private int counter;
+
+  @Setup
+  public void setUp() throws Exception {
+    validator = Validation.buildDefaultValidatorFactory().getValidator();
+    organizations = new ArrayList<>();
+    for (String sample : Samples.organizations()) {
+      organizations.add(Json.mapper.readValue(sample, Organization.class));
+    }
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<Organization>> validate() {
+    counter = (counter + 1) % organizations.size();
+    return validator.validate(organizations.get(counter));
+  }
+}
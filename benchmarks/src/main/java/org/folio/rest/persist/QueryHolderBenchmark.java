@@ -0,0 +1,51 @@
+package org.folio.rest.persist;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the SQL of a collection request from {@link QueryHolder} for representative CQL queries, i.e. the
+ * translation of the query followed by the assembly of the select and of the count. The queries repeat as they do in
+ * production, see {@link CqlQueryTranslatorBenchmark} for the cost of the translation alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryHolderBenchmark {
+
+  private static final String TABLE = "organizations";
+  private static final String FULL_TABLE_NAME = "diku_mod_organizations_storage." + TABLE;
+  private static final String COLUMNS = "jsonb, md5(jsonb::text), count(*) OVER ()";
+
+  @Param({
+    "cql.allRecords=1 sortBy name",
+    "name=amaz*",
+    "(name=gobi* or code=gobi*) and status=Active sortBy name",
+    "isVendor==true and language==eng sortBy code/sort.descending",
+    "id==4b3ec8e5-2e2c-4d18-9a5c-8cd0a3f5a2b7"
+  })
+  private String query;
+
+  @Benchmark
+  public String selectQuery() throws Exception {
+    return new QueryHolder(TABLE, query, 0, 10).buildSelectQuery(FULL_TABLE_NAME, COLUMNS);
+  }
+
+  @Benchmark
+  public String countQuery() throws Exception {
+    return new QueryHolder(TABLE, query, 0, 10).buildCountQuery(FULL_TABLE_NAME);
+  }
+}
@@ -0,0 +1,95 @@
+package org.folio.rest.persist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import org.folio.rest.jaxrs.model.Organization;
+import org.folio.rest.jaxrs.model.OrganizationCollection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the body of a GET from the jsonb text of the rows through POJOs, as {@code PostgresClient.get}
+ * and the response serialization of the RMB do, with splicing the text into the envelope as
+ * {@link JsonbPassthrough#buildCollectionBody} does, and the response of a by-id GET built from a mapped POJO with the one
+ * {@link JsonbPassthrough#respondWithEntity} builds from the text and hash of the row. The hashes are computed once in the
+ * setup, as the database computes them along with the select. Run with {@code -prof gc} to see the allocation rate of
+ * both paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RawJsonbBenchmark {
+
+  private static final String COLLECTION_NAME = "organizations";
+
+  @Param({ "10", "1000" })
+  private int pageSize;
+
+  private final ObjectMapper mapper = Json.mapper;
+  private List<String> rows;
+  private List<String> hashes;
+  private int counter;
+
+  @Setup
+  public void setUp() {
+    List<String> samples = Samples.organizations();
+    rows = new ArrayList<>(pageSize);
+    hashes = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      String row = new JsonObject(samples.get(i % samples.size())).put("id", UUID.randomUUID().toString()).encode();
+      rows.add(row);
+      hashes.add(ETags.of(row));
+    }
+  }
+
+  @Benchmark
+  public String pojoCollection() throws Exception {
+    List<Organization> organizations = new ArrayList<>(rows.size());
+    for (String row : rows) {
+      organizations.add(mapper.readValue(row, Organization.class));
+    }
+    return mapper.writeValueAsString(new OrganizationCollection().withOrganizations(organizations).withTotalRecords(rows.size()));
+  }
+
+  @Benchmark
+  public String rawCollection() {
+    return JsonbPassthrough.buildCollectionBody(COLLECTION_NAME, rows, rows.size());
+  }
+
+  @Benchmark
+  public Response pojoEntity() throws Exception {
+    int index = nextIndex();
+    String body = mapper.writeValueAsString(mapper.readValue(rows.get(index), Organization.class));
+    return JsonbPassthrough.respondWithEntity(hashes.get(index), body, null);
+  }
+
+  @Benchmark
+  public Response rawEntity() {
+    int index = nextIndex();
+    return JsonbPassthrough.respondWithEntity(hashes.get(index), rows.get(index), null);
+  }
+
+  private int nextIndex() {
+    counter = (counter + 1) % rows.size();
+    return counter;
+  }
+}
@@ -0,0 +1,40 @@
+package org.folio.rest.persist;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sample organizations bundled with the module as reference data, so the benchmarks work on realistic documents.
+ */
+final class Samples {
+
+  private static final String ORGANIZATIONS_DIRECTORY = "data/organizations/";
+  private static final String[] ORGANIZATION_FILES = { "acso.json", "alexs.json", "amaz.json", "bibsam.json", "gobi.json",
+    "harra.json", "mgnp.json", "mln.json", "naxo.json", "rsc.json", "sjean.json", "srebsco.json", "tafg.json", "usgs.json",
+    "zroco.json", "zsusan.json" };
+
+  private Samples() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  static List<String> organizations() {
+    List<String> samples = new ArrayList<>(ORGANIZATION_FILES.length);
+    for (String file : ORGANIZATION_FILES) {
+      try (InputStream inputStream = Samples.class.getClassLoader().getResourceAsStream(ORGANIZATIONS_DIRECTORY + file)) {
+        if (inputStream == null) {
+          throw new IllegalStateException("Sample not found on the classpath: " + ORGANIZATIONS_DIRECTORY + file);
+        }
+        samples.add(IOUtils.toString(inputStream, StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return samples;
+  }
+}
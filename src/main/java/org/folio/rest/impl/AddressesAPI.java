@@ -4,58 +4,108 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import org.folio.rest.annotations.Stream;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.Address;
-import org.folio.rest.jaxrs.model.AddressCollection;
 import org.folio.rest.jaxrs.resource.OrganizationsStorageAddresses;
-import org.folio.rest.persist.EntitiesMetadataHolder;
+import org.folio.rest.persist.ChangeFeed;
+import org.folio.rest.persist.NdjsonExporter;
+import org.folio.rest.persist.NdjsonImporter;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.QueryHolder;
+import org.folio.rest.persist.StorageMetrics;
 
 import javax.ws.rs.core.Response;
+import java.io.InputStream;
 import java.util.Map;
 
+import static org.folio.rest.persist.EntitiesMetadataRegistry.ADDRESSES;
 import static org.folio.rest.persist.HelperUtils.getEntitiesCollection;
+import static org.folio.rest.persist.HelperUtils.getEntityById;
 
 public class AddressesAPI implements OrganizationsStorageAddresses {
   private static final String ADDRESS_TABLE = "addresses";
+  private static final NdjsonImporter<Address> IMPORTER = new NdjsonImporter<>(ADDRESS_TABLE, Address.class,
+      Address::getId, Address::setId, Address::setMetadata,
+      PostOrganizationsStorageAddressesImportResponse::respond201WithApplicationJson,
+      PostOrganizationsStorageAddressesImportResponse::respond500WithTextPlain,
+      PostOrganizationsStorageAddressesImportResponse::respond503WithTextPlain);
 
   @Override
   @Validate
-  public void getOrganizationsStorageAddresses(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrganizationsStorageAddresses(String query, int offset, int limit, String pageToken, String totalRecords, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageAddresses", okapiHeaders, handler);
     vertxContext.runOnContext((Void v) -> {
-      EntitiesMetadataHolder<Address, AddressCollection> entitiesMetadataHolder = new EntitiesMetadataHolder<>(Address.class, AddressCollection.class, GetOrganizationsStorageAddressesResponse.class, "setAddresses");
-      QueryHolder cql = new QueryHolder(ADDRESS_TABLE, query, offset, limit);
-      getEntitiesCollection(entitiesMetadataHolder, cql, asyncResultHandler, vertxContext, okapiHeaders);
+      QueryHolder cql = new QueryHolder(ADDRESS_TABLE, query, offset, limit)
+        .withPageToken(pageToken)
+        .withTotalRecords(totalRecords)
+        .withFields(fields)
+        .withIfNoneMatch(ifNoneMatch);
+      getEntitiesCollection(ADDRESSES, cql, asyncResultHandler, vertxContext, okapiHeaders);
     });
   }
 
   @Override
   @Validate
   public void postOrganizationsStorageAddresses(String lang, org.folio.rest.jaxrs.model.Address entity,
-                                        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageAddresses", okapiHeaders, handler);
     PgUtil.post(ADDRESS_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStorageAddressesResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
-  public void getOrganizationsStorageAddressesById(String id, String lang, Map<String, String> okapiHeaders,
-                                           Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.getById(ADDRESS_TABLE, Address.class, id, okapiHeaders,vertxContext, GetOrganizationsStorageAddressesByIdResponse.class, asyncResultHandler);
+  public void getOrganizationsStorageAddressesById(String id, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders,
+                                           Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageAddressesById", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> getEntityById(ADDRESS_TABLE, id, fields, ifNoneMatch,
+      GetOrganizationsStorageAddressesByIdResponse::respond400WithTextPlain,
+      GetOrganizationsStorageAddressesByIdResponse::respond404WithTextPlain,
+      GetOrganizationsStorageAddressesByIdResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
   }
 
   @Override
   @Validate
   public void deleteOrganizationsStorageAddressesById(String id, String lang, Map<String, String> okapiHeaders,
-                                              Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                              Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("deleteOrganizationsStorageAddressesById", okapiHeaders, handler);
     PgUtil.deleteById(ADDRESS_TABLE, id, okapiHeaders, vertxContext, DeleteOrganizationsStorageAddressesByIdResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
   public void putOrganizationsStorageAddressesById(String id, String lang, org.folio.rest.jaxrs.model.Address entity,
-                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("putOrganizationsStorageAddressesById", okapiHeaders, handler);
     PgUtil.put(ADDRESS_TABLE, entity, id, okapiHeaders, vertxContext, PutOrganizationsStorageAddressesByIdResponse.class, asyncResultHandler);
   }
+
+  @Override
+  @Stream
+  public void postOrganizationsStorageAddressesImport(InputStream entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageAddressesImport", okapiHeaders, handler);
+    IMPORTER.importChunk(entity, okapiHeaders, vertxContext, asyncResultHandler);
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageAddressesExport(String query, int limit, String cursor, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageAddressesExport", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> NdjsonExporter.export(new QueryHolder(ADDRESS_TABLE, query, 0, limit), cursor,
+      GetOrganizationsStorageAddressesExportResponse::respond400WithTextPlain,
+      GetOrganizationsStorageAddressesExportResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageAddressesChanges(String since, int limit, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageAddressesChanges", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> ChangeFeed.getChanges(ADDRESSES, ADDRESS_TABLE, since, limit, asyncResultHandler, vertxContext, okapiHeaders));
+  }
 }
@@ -4,58 +4,104 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import org.apache.commons.lang3.StringUtils;
 import org.folio.rest.annotations.Validate;
-import org.folio.rest.jaxrs.model.Category;
-import org.folio.rest.jaxrs.model.CategoryCollection;
 import org.folio.rest.jaxrs.resource.OrganizationsStorageCategories;
-import org.folio.rest.persist.EntitiesMetadataHolder;
+import org.folio.rest.persist.CategoriesCache;
+import org.folio.rest.persist.ChangeFeed;
+import org.folio.rest.persist.NdjsonExporter;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.QueryHolder;
+import org.folio.rest.persist.StorageMetrics;
 
 import javax.ws.rs.core.Response;
 import java.util.Map;
 
+import static org.folio.rest.persist.EntitiesMetadataRegistry.CATEGORIES;
 import static org.folio.rest.persist.HelperUtils.getEntitiesCollection;
+import static org.folio.rest.persist.HelperUtils.getEntityById;
 
 public class CategoriesAPI implements OrganizationsStorageCategories {
   private static final String CATEGORY_TABLE = "categories";
 
   @Override
   @Validate
-  public void getOrganizationsStorageCategories(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrganizationsStorageCategories(String query, int offset, int limit, String pageToken, String totalRecords, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageCategories", okapiHeaders, handler);
     vertxContext.runOnContext((Void v) -> {
-      EntitiesMetadataHolder<Category, CategoryCollection> entitiesMetadataHolder = new EntitiesMetadataHolder<>(Category.class, CategoryCollection.class, GetOrganizationsStorageCategoriesResponse.class, "setCategories");
-      QueryHolder cql = new QueryHolder(CATEGORY_TABLE, query, offset, limit);
-      getEntitiesCollection(entitiesMetadataHolder, cql, asyncResultHandler, vertxContext, okapiHeaders);
+      QueryHolder cql = new QueryHolder(CATEGORY_TABLE, query, offset, limit)
+        .withPageToken(pageToken)
+        .withTotalRecords(totalRecords)
+        .withFields(fields)
+        .withIfNoneMatch(ifNoneMatch);
+      if (CategoriesCache.isCacheable(cql)) {
+        CategoriesCache.getCollection(cql, asyncResultHandler, vertxContext, okapiHeaders);
+      } else {
+        getEntitiesCollection(CATEGORIES, cql, asyncResultHandler, vertxContext, okapiHeaders);
+      }
     });
   }
 
   @Override
   @Validate
   public void postOrganizationsStorageCategories(String lang, org.folio.rest.jaxrs.model.Category entity,
-                                       Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.post(CATEGORY_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStorageCategoriesResponse.class, asyncResultHandler);
+                                       Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageCategories", okapiHeaders, handler);
+    PgUtil.post(CATEGORY_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStorageCategoriesResponse.class,
+      CategoriesCache.invalidatingHandler(okapiHeaders, asyncResultHandler));
   }
 
   @Override
   @Validate
-  public void getOrganizationsStorageCategoriesById(String id, String lang, Map<String, String> okapiHeaders,
-                                          Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.getById(CATEGORY_TABLE, Category.class, id, okapiHeaders,vertxContext, GetOrganizationsStorageCategoriesByIdResponse.class, asyncResultHandler);
+  public void getOrganizationsStorageCategoriesById(String id, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders,
+                                          Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageCategoriesById", okapiHeaders, handler);
+    if (StringUtils.isBlank(fields)) {
+      vertxContext.runOnContext((Void v) -> CategoriesCache.getById(id, ifNoneMatch, asyncResultHandler, vertxContext, okapiHeaders));
+    } else {
+      vertxContext.runOnContext((Void v) -> getEntityById(CATEGORY_TABLE, id, fields, ifNoneMatch,
+        GetOrganizationsStorageCategoriesByIdResponse::respond400WithTextPlain,
+        GetOrganizationsStorageCategoriesByIdResponse::respond404WithTextPlain,
+        GetOrganizationsStorageCategoriesByIdResponse::respond500WithTextPlain,
+        asyncResultHandler, vertxContext, okapiHeaders));
+    }
   }
 
   @Override
   @Validate
   public void deleteOrganizationsStorageCategoriesById(String id, String lang, Map<String, String> okapiHeaders,
-                                             Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.deleteById(CATEGORY_TABLE, id, okapiHeaders, vertxContext, DeleteOrganizationsStorageCategoriesByIdResponse.class, asyncResultHandler);
+                                             Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("deleteOrganizationsStorageCategoriesById", okapiHeaders, handler);
+    PgUtil.deleteById(CATEGORY_TABLE, id, okapiHeaders, vertxContext, DeleteOrganizationsStorageCategoriesByIdResponse.class,
+      CategoriesCache.invalidatingHandler(okapiHeaders, asyncResultHandler));
   }
 
   @Override
   @Validate
   public void putOrganizationsStorageCategoriesById(String id, String lang, org.folio.rest.jaxrs.model.Category entity,
-                                          Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.put(CATEGORY_TABLE, entity, id, okapiHeaders, vertxContext, PutOrganizationsStorageCategoriesByIdResponse.class, asyncResultHandler);
+                                          Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("putOrganizationsStorageCategoriesById", okapiHeaders, handler);
+    PgUtil.put(CATEGORY_TABLE, entity, id, okapiHeaders, vertxContext, PutOrganizationsStorageCategoriesByIdResponse.class,
+      CategoriesCache.invalidatingHandler(okapiHeaders, asyncResultHandler));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageCategoriesExport(String query, int limit, String cursor, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageCategoriesExport", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> NdjsonExporter.export(new QueryHolder(CATEGORY_TABLE, query, 0, limit), cursor,
+      GetOrganizationsStorageCategoriesExportResponse::respond400WithTextPlain,
+      GetOrganizationsStorageCategoriesExportResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageCategoriesChanges(String since, int limit, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageCategoriesChanges", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> ChangeFeed.getChanges(CATEGORIES, CATEGORY_TABLE, since, limit, asyncResultHandler, vertxContext, okapiHeaders));
   }
 }
@@ -4,58 +4,133 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import org.folio.rest.annotations.Stream;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.Contact;
-import org.folio.rest.jaxrs.model.ContactCollection;
+import org.folio.rest.jaxrs.model.ContactBatch;
+import org.folio.rest.jaxrs.model.Ids;
 import org.folio.rest.jaxrs.resource.OrganizationsStorageContacts;
-import org.folio.rest.persist.EntitiesMetadataHolder;
+import org.folio.rest.persist.ChangeFeed;
+import org.folio.rest.persist.EntitiesBatchInserter;
+import org.folio.rest.persist.NdjsonExporter;
+import org.folio.rest.persist.NdjsonImporter;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.QueryHolder;
+import org.folio.rest.persist.StorageMetrics;
 
 import javax.ws.rs.core.Response;
+import java.io.InputStream;
 import java.util.Map;
 
+import static org.folio.rest.persist.EntitiesMetadataRegistry.CONTACTS;
+import static org.folio.rest.persist.HelperUtils.getEntitiesByIds;
 import static org.folio.rest.persist.HelperUtils.getEntitiesCollection;
+import static org.folio.rest.persist.HelperUtils.getEntityById;
 
 public class ContactsAPI implements OrganizationsStorageContacts {
   private static final String CONTACT_TABLE = "contacts";
+  private static final EntitiesBatchInserter<Contact> BATCH_INSERTER = new EntitiesBatchInserter<>(CONTACT_TABLE,
+      Contact::getId, Contact::setId, Contact::setMetadata,
+      PostOrganizationsStorageContactsBatchResponse::respond201WithApplicationJson,
+      PostOrganizationsStorageContactsBatchResponse::respond422WithApplicationJson,
+      PostOrganizationsStorageContactsBatchResponse::respond500WithTextPlain);
+  private static final NdjsonImporter<Contact> IMPORTER = new NdjsonImporter<>(CONTACT_TABLE, Contact.class,
+      Contact::getId, Contact::setId, Contact::setMetadata,
+      PostOrganizationsStorageContactsImportResponse::respond201WithApplicationJson,
+      PostOrganizationsStorageContactsImportResponse::respond500WithTextPlain,
+      PostOrganizationsStorageContactsImportResponse::respond503WithTextPlain);
 
   @Override
   @Validate
-  public void getOrganizationsStorageContacts(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrganizationsStorageContacts(String query, int offset, int limit, String pageToken, String totalRecords, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageContacts", okapiHeaders, handler);
     vertxContext.runOnContext((Void v) -> {
-      EntitiesMetadataHolder<Contact, ContactCollection> entitiesMetadataHolder = new EntitiesMetadataHolder<>(Contact.class, ContactCollection.class, GetOrganizationsStorageContactsResponse.class);
-      QueryHolder cql = new QueryHolder(CONTACT_TABLE, query, offset, limit);
-      getEntitiesCollection(entitiesMetadataHolder, cql, asyncResultHandler, vertxContext, okapiHeaders);
+      QueryHolder cql = new QueryHolder(CONTACT_TABLE, query, offset, limit)
+        .withPageToken(pageToken)
+        .withTotalRecords(totalRecords)
+        .withFields(fields)
+        .withIfNoneMatch(ifNoneMatch);
+      getEntitiesCollection(CONTACTS, cql, asyncResultHandler, vertxContext, okapiHeaders);
     });
   }
 
   @Override
   @Validate
   public void postOrganizationsStorageContacts(String lang, org.folio.rest.jaxrs.model.Contact entity,
-                                          Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                          Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageContacts", okapiHeaders, handler);
     PgUtil.post(CONTACT_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStorageContactsResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
-  public void getOrganizationsStorageContactsById(String id, String lang, Map<String, String> okapiHeaders,
-                                             Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.getById(CONTACT_TABLE, Contact.class, id, okapiHeaders,vertxContext, GetOrganizationsStorageContactsByIdResponse.class, asyncResultHandler);
+  public void postOrganizationsStorageContactsBatch(ContactBatch entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageContactsBatch", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> BATCH_INSERTER.insert(entity.getContacts(), okapiHeaders, vertxContext, asyncResultHandler));
+  }
+
+  @Override
+  @Validate
+  public void postOrganizationsStorageContactsByIds(Ids entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageContactsByIds", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> getEntitiesByIds(CONTACTS, CONTACT_TABLE, entity.getIds(), asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageContactsById(String id, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders,
+                                             Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageContactsById", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> getEntityById(CONTACT_TABLE, id, fields, ifNoneMatch,
+      GetOrganizationsStorageContactsByIdResponse::respond400WithTextPlain,
+      GetOrganizationsStorageContactsByIdResponse::respond404WithTextPlain,
+      GetOrganizationsStorageContactsByIdResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
   }
 
   @Override
   @Validate
   public void deleteOrganizationsStorageContactsById(String id, String lang, Map<String, String> okapiHeaders,
-                                                Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                                Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("deleteOrganizationsStorageContactsById", okapiHeaders, handler);
     PgUtil.deleteById(CONTACT_TABLE, id, okapiHeaders, vertxContext, DeleteOrganizationsStorageContactsByIdResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
   public void putOrganizationsStorageContactsById(String id, String lang, org.folio.rest.jaxrs.model.Contact entity,
-                                             Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                             Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("putOrganizationsStorageContactsById", okapiHeaders, handler);
     PgUtil.put(CONTACT_TABLE, entity, id, okapiHeaders, vertxContext, PutOrganizationsStorageContactsByIdResponse.class, asyncResultHandler);
   }
+
+  @Override
+  @Stream
+  public void postOrganizationsStorageContactsImport(InputStream entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageContactsImport", okapiHeaders, handler);
+    IMPORTER.importChunk(entity, okapiHeaders, vertxContext, asyncResultHandler);
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageContactsExport(String query, int limit, String cursor, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageContactsExport", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> NdjsonExporter.export(new QueryHolder(CONTACT_TABLE, query, 0, limit), cursor,
+      GetOrganizationsStorageContactsExportResponse::respond400WithTextPlain,
+      GetOrganizationsStorageContactsExportResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageContactsChanges(String since, int limit, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageContactsChanges", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> ChangeFeed.getChanges(CONTACTS, CONTACT_TABLE, since, limit, asyncResultHandler, vertxContext, okapiHeaders));
+  }
 }
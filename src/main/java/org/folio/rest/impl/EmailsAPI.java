@@ -4,58 +4,108 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import org.folio.rest.annotations.Stream;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.Email;
-import org.folio.rest.jaxrs.model.EmailCollection;
 import org.folio.rest.jaxrs.resource.OrganizationsStorageEmails;
-import org.folio.rest.persist.EntitiesMetadataHolder;
+import org.folio.rest.persist.ChangeFeed;
+import org.folio.rest.persist.NdjsonExporter;
+import org.folio.rest.persist.NdjsonImporter;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.QueryHolder;
+import org.folio.rest.persist.StorageMetrics;
 
 import javax.ws.rs.core.Response;
+import java.io.InputStream;
 import java.util.Map;
 
+import static org.folio.rest.persist.EntitiesMetadataRegistry.EMAILS;
 import static org.folio.rest.persist.HelperUtils.getEntitiesCollection;
+import static org.folio.rest.persist.HelperUtils.getEntityById;
 
 public class EmailsAPI implements OrganizationsStorageEmails {
   private static final String EMAIL_TABLE = "emails";
+  private static final NdjsonImporter<Email> IMPORTER = new NdjsonImporter<>(EMAIL_TABLE, Email.class,
+      Email::getId, Email::setId, Email::setMetadata,
+      PostOrganizationsStorageEmailsImportResponse::respond201WithApplicationJson,
+      PostOrganizationsStorageEmailsImportResponse::respond500WithTextPlain,
+      PostOrganizationsStorageEmailsImportResponse::respond503WithTextPlain);
 
   @Override
   @Validate
-  public void getOrganizationsStorageEmails(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrganizationsStorageEmails(String query, int offset, int limit, String pageToken, String totalRecords, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageEmails", okapiHeaders, handler);
     vertxContext.runOnContext((Void v) -> {
-      EntitiesMetadataHolder<Email, EmailCollection> entitiesMetadataHolder = new EntitiesMetadataHolder<>(Email.class, EmailCollection.class, GetOrganizationsStorageEmailsResponse.class);
-      QueryHolder cql = new QueryHolder(EMAIL_TABLE, query, offset, limit);
-      getEntitiesCollection(entitiesMetadataHolder, cql, asyncResultHandler, vertxContext, okapiHeaders);
+      QueryHolder cql = new QueryHolder(EMAIL_TABLE, query, offset, limit)
+        .withPageToken(pageToken)
+        .withTotalRecords(totalRecords)
+        .withFields(fields)
+        .withIfNoneMatch(ifNoneMatch);
+      getEntitiesCollection(EMAILS, cql, asyncResultHandler, vertxContext, okapiHeaders);
     });
   }
 
   @Override
   @Validate
   public void postOrganizationsStorageEmails(String lang, org.folio.rest.jaxrs.model.Email entity,
-                                        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageEmails", okapiHeaders, handler);
     PgUtil.post(EMAIL_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStorageEmailsResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
-  public void getOrganizationsStorageEmailsById(String id, String lang, Map<String, String> okapiHeaders,
-                                           Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.getById(EMAIL_TABLE, Email.class, id, okapiHeaders,vertxContext, GetOrganizationsStorageEmailsByIdResponse.class, asyncResultHandler);
+  public void getOrganizationsStorageEmailsById(String id, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders,
+                                           Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageEmailsById", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> getEntityById(EMAIL_TABLE, id, fields, ifNoneMatch,
+      GetOrganizationsStorageEmailsByIdResponse::respond400WithTextPlain,
+      GetOrganizationsStorageEmailsByIdResponse::respond404WithTextPlain,
+      GetOrganizationsStorageEmailsByIdResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
   }
 
   @Override
   @Validate
   public void deleteOrganizationsStorageEmailsById(String id, String lang, Map<String, String> okapiHeaders,
-                                              Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                              Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("deleteOrganizationsStorageEmailsById", okapiHeaders, handler);
     PgUtil.deleteById(EMAIL_TABLE, id, okapiHeaders, vertxContext, DeleteOrganizationsStorageEmailsByIdResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
   public void putOrganizationsStorageEmailsById(String id, String lang, org.folio.rest.jaxrs.model.Email entity,
-                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("putOrganizationsStorageEmailsById", okapiHeaders, handler);
     PgUtil.put(EMAIL_TABLE, entity, id, okapiHeaders, vertxContext, PutOrganizationsStorageEmailsByIdResponse.class, asyncResultHandler);
   }
+
+  @Override
+  @Stream
+  public void postOrganizationsStorageEmailsImport(InputStream entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageEmailsImport", okapiHeaders, handler);
+    IMPORTER.importChunk(entity, okapiHeaders, vertxContext, asyncResultHandler);
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageEmailsExport(String query, int limit, String cursor, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageEmailsExport", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> NdjsonExporter.export(new QueryHolder(EMAIL_TABLE, query, 0, limit), cursor,
+      GetOrganizationsStorageEmailsExportResponse::respond400WithTextPlain,
+      GetOrganizationsStorageEmailsExportResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageEmailsChanges(String since, int limit, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageEmailsChanges", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> ChangeFeed.getChanges(EMAILS, EMAIL_TABLE, since, limit, asyncResultHandler, vertxContext, okapiHeaders));
+  }
 }
@@ -0,0 +1,42 @@
+package org.folio.rest.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.folio.rest.persist.EntitiesMetadataRegistry;
+import org.folio.rest.persist.OutboxPublisher;
+import org.folio.rest.resource.interfaces.InitAPI;
+
+/**
+ * Executed by the RMB once during verticle startup, before the module starts accepting requests.
+ */
+public class InitAPIs implements InitAPI {
+  private static final Logger log = LoggerFactory.getLogger(InitAPIs.class);
+
+  @Override
+  public void init(Vertx vertx, Context context, Handler<AsyncResult<Boolean>> resultHandler) {
+    vertx.executeBlocking(future -> {
+      EntitiesMetadataRegistry.init();
+      log.info("Entities metadata registry initialized");
+      future.complete();
+    }, result -> {
+      if (result.failed()) {
+        log.error("Failure during module initialization", result.cause());
+        resultHandler.handle(Future.failedFuture(result.cause()));
+        return;
+      }
+      vertx.deployVerticle(new OutboxPublisher(), deployed -> {
+        if (deployed.succeeded()) {
+          resultHandler.handle(Future.succeededFuture(true));
+        } else {
+          log.error("Failure deploying the outbox publisher", deployed.cause());
+          resultHandler.handle(Future.failedFuture(deployed.cause()));
+        }
+      });
+    });
+  }
+}
@@ -1,30 +1,45 @@
 package org.folio.rest.impl;
 
+import static org.folio.rest.persist.EntitiesMetadataRegistry.INTERFACES;
+import static org.folio.rest.persist.HelperUtils.getEntitiesByIds;
 import static org.folio.rest.persist.HelperUtils.getEntitiesCollection;
+import static org.folio.rest.persist.HelperUtils.getEntityById;
+import static org.folio.rest.persist.HelperUtils.getFullTableName;
+import static org.folio.rest.persist.HelperUtils.respond200WithJson;
 
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.Map;
+import java.util.UUID;
 
 import javax.ws.rs.core.Response;
 
 import org.apache.commons.lang3.StringUtils;
-import org.folio.rest.RestVerticle;
+import org.folio.rest.annotations.Stream;
 import org.folio.rest.annotations.Validate;
+import org.folio.rest.jaxrs.model.Error;
+import org.folio.rest.jaxrs.model.Errors;
+import org.folio.rest.jaxrs.model.Ids;
 import org.folio.rest.jaxrs.model.Interface;
-import org.folio.rest.jaxrs.model.InterfaceCollection;
+import org.folio.rest.jaxrs.model.InterfaceBatch;
 import org.folio.rest.jaxrs.model.InterfaceCredential;
+import org.folio.rest.jaxrs.model.Parameter;
 import org.folio.rest.jaxrs.resource.OrganizationsStorageInterfaces;
-import org.folio.rest.persist.EntitiesMetadataHolder;
+import org.folio.rest.persist.ChangeFeed;
+import org.folio.rest.persist.EntitiesBatchInserter;
+import org.folio.rest.persist.NdjsonExporter;
+import org.folio.rest.persist.NdjsonImporter;
+import org.folio.rest.persist.PgExceptionUtil;
 import org.folio.rest.persist.PgUtil;
-import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.QueryHolder;
-import org.folio.rest.persist.Criteria.Criteria;
-import org.folio.rest.persist.Criteria.Criterion;
-import org.folio.rest.tools.utils.TenantTool;
+import org.folio.rest.persist.StorageMetrics;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
@@ -32,85 +47,156 @@ public class InterfacesAPI implements OrganizationsStorageInterfaces {
   private static final String INTERFACE_TABLE = "interfaces";
   private static final String INTERFACE_CREDENTIAL_TABLE = "interface_credentials";
   private static final String MISMATCH_ERROR_MESSAGE = "Interface credential id mismatch";
+  private static final String DUPLICATE_CREDENTIAL_MESSAGE = "The interface already has a credential, replace it by PUT";
+  private static final String DUPLICATE_CREDENTIAL_ID_MESSAGE = "Interface credential with id %s already exists";
+  private static final String CREDENTIAL_INTERFACE_INDEX = "interface_credentials_interfaceid_idx_unique";
+  // all the statements match the unique interface_credentials_interfaceid_idx_unique index of schema.json
+  private static final String SELECT_CREDENTIAL_BY_INTERFACE_ID = "SELECT jsonb FROM %s WHERE jsonb->>'interfaceId' = ?";
+  private static final String DELETE_CREDENTIAL_BY_INTERFACE_ID = "DELETE FROM %s WHERE jsonb->>'interfaceId' = ?";
+  private static final String INTERFACE_CREDENTIAL_LOCATION = "/organizations-storage/interfaces/%s/credentials";
+  private static final String INSERT_CREDENTIAL = "INSERT INTO %s (id, jsonb) VALUES (?::uuid, ?::jsonb)";
+  private static final String UPSERT_CREDENTIAL_BY_INTERFACE_ID = "INSERT INTO %s AS %s (id, jsonb) VALUES (?::uuid, ?::jsonb)"
+    + " ON CONFLICT ((jsonb->>'interfaceId')) DO UPDATE SET jsonb = EXCLUDED.jsonb || jsonb_build_object('id', %2$s.id)";
+  private static final EntitiesBatchInserter<Interface> BATCH_INSERTER = new EntitiesBatchInserter<>(INTERFACE_TABLE,
+      Interface::getId, Interface::setId, Interface::setMetadata,
+      PostOrganizationsStorageInterfacesBatchResponse::respond201WithApplicationJson,
+      PostOrganizationsStorageInterfacesBatchResponse::respond422WithApplicationJson,
+      PostOrganizationsStorageInterfacesBatchResponse::respond500WithTextPlain);
+  private static final NdjsonImporter<Interface> IMPORTER = new NdjsonImporter<>(INTERFACE_TABLE, Interface.class,
+      Interface::getId, Interface::setId, Interface::setMetadata,
+      PostOrganizationsStorageInterfacesImportResponse::respond201WithApplicationJson,
+      PostOrganizationsStorageInterfacesImportResponse::respond500WithTextPlain,
+      PostOrganizationsStorageInterfacesImportResponse::respond503WithTextPlain);
   private final Logger logger = LoggerFactory.getLogger(InterfacesAPI.class);
 
   @Override
   @Validate
-  public void getOrganizationsStorageInterfaces(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrganizationsStorageInterfaces(String query, int offset, int limit, String pageToken, String totalRecords, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageInterfaces", okapiHeaders, handler);
     vertxContext.runOnContext((Void v) -> {
-      EntitiesMetadataHolder<Interface, InterfaceCollection> entitiesMetadataHolder = new EntitiesMetadataHolder<>(Interface.class, InterfaceCollection.class, GetOrganizationsStorageInterfacesResponse.class);
-      QueryHolder cql = new QueryHolder(INTERFACE_TABLE, query, offset, limit);
-      getEntitiesCollection(entitiesMetadataHolder, cql, asyncResultHandler, vertxContext, okapiHeaders);
+      QueryHolder cql = new QueryHolder(INTERFACE_TABLE, query, offset, limit)
+        .withPageToken(pageToken)
+        .withTotalRecords(totalRecords)
+        .withFields(fields)
+        .withIfNoneMatch(ifNoneMatch);
+      getEntitiesCollection(INTERFACES, cql, asyncResultHandler, vertxContext, okapiHeaders);
     });
   }
 
   @Override
   @Validate
   public void postOrganizationsStorageInterfaces(String lang, org.folio.rest.jaxrs.model.Interface entity,
-      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageInterfaces", okapiHeaders, handler);
     PgUtil.post(INTERFACE_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStorageInterfacesResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
-  public void getOrganizationsStorageInterfacesById(String id, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.getById(INTERFACE_TABLE, Interface.class, id, okapiHeaders, vertxContext, GetOrganizationsStorageInterfacesByIdResponse.class, asyncResultHandler);
+  public void postOrganizationsStorageInterfacesBatch(InterfaceBatch entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageInterfacesBatch", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> BATCH_INSERTER.insert(entity.getInterfaces(), okapiHeaders, vertxContext, asyncResultHandler));
+  }
+
+  @Override
+  @Validate
+  public void postOrganizationsStorageInterfacesByIds(Ids entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageInterfacesByIds", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> getEntitiesByIds(INTERFACES, INTERFACE_TABLE, entity.getIds(), asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageInterfacesById(String id, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageInterfacesById", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> getEntityById(INTERFACE_TABLE, id, fields, ifNoneMatch,
+      GetOrganizationsStorageInterfacesByIdResponse::respond400WithTextPlain,
+      GetOrganizationsStorageInterfacesByIdResponse::respond404WithTextPlain,
+      GetOrganizationsStorageInterfacesByIdResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
   }
 
   @Override
   @Validate
   public void deleteOrganizationsStorageInterfacesById(String id, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("deleteOrganizationsStorageInterfacesById", okapiHeaders, handler);
     PgUtil.deleteById(INTERFACE_TABLE, id, okapiHeaders, vertxContext, DeleteOrganizationsStorageInterfacesByIdResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
   public void putOrganizationsStorageInterfacesById(String id, String lang, org.folio.rest.jaxrs.model.Interface entity,
-      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("putOrganizationsStorageInterfacesById", okapiHeaders, handler);
     PgUtil.put(INTERFACE_TABLE, entity, id, okapiHeaders, vertxContext, PutOrganizationsStorageInterfacesByIdResponse.class, asyncResultHandler);
   }
 
+  /**
+   * Creates the credential of the interface with a plain insert. The unique interfaceId index turns a second credential
+   * of the same interface into a 422 instead of a raw constraint message; replacing the credential is left to PUT.
+   */
   @Override
   @Validate
   public void postOrganizationsStorageInterfacesCredentialsById(String id, InterfaceCredential entity,
-      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    if (StringUtils.equals(entity.getInterfaceId(), id) ) {
-      PgUtil.post(INTERFACE_CREDENTIAL_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStorageInterfacesCredentialsByIdResponse.class, asyncResultHandler);
-    } else {
-      asyncResultHandler.handle(io.vertx.core.Future.succeededFuture(PostOrganizationsStorageInterfacesCredentialsByIdResponse.respond400WithTextPlain(MISMATCH_ERROR_MESSAGE)));
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageInterfacesCredentialsById", okapiHeaders, handler);
+    if (!StringUtils.equals(entity.getInterfaceId(), id)) {
+      asyncResultHandler.handle(Future.succeededFuture(PostOrganizationsStorageInterfacesCredentialsByIdResponse.respond400WithTextPlain(MISMATCH_ERROR_MESSAGE)));
+      return;
     }
+    vertxContext.runOnContext((Void v) -> {
+      try {
+        if (entity.getId() == null) {
+          entity.setId(UUID.randomUUID().toString());
+        }
+        String sql = String.format(INSERT_CREDENTIAL, getFullTableName(okapiHeaders, INTERFACE_CREDENTIAL_TABLE));
+        JsonArray params = new JsonArray().add(entity.getId()).add(JsonObject.mapFrom(entity).encode());
+        PgUtil.postgresClient(vertxContext, okapiHeaders).execute(sql, params, StorageMetrics.timedStatement(INTERFACE_CREDENTIAL_TABLE, StorageMetrics.INSERT, reply -> {
+          if (reply.succeeded()) {
+            String location = String.format(INTERFACE_CREDENTIAL_LOCATION, id);
+            asyncResultHandler.handle(Future.succeededFuture(PostOrganizationsStorageInterfacesCredentialsByIdResponse.respond201WithApplicationJson(entity,
+              PostOrganizationsStorageInterfacesCredentialsByIdResponse.headersFor201().withLocation(location))));
+          } else if (PgExceptionUtil.isForeignKeyViolation(reply.cause())) {
+            // the interface does not exist
+            asyncResultHandler.handle(Future.succeededFuture(PostOrganizationsStorageInterfacesCredentialsByIdResponse.respond400WithTextPlain(reply.cause().getMessage())));
+          } else if (PgExceptionUtil.isUniqueViolation(reply.cause())) {
+            asyncResultHandler.handle(Future.succeededFuture(PostOrganizationsStorageInterfacesCredentialsByIdResponse.respond422WithApplicationJson(
+              buildDuplicateCredentialErrors(entity, reply.cause().getMessage()))));
+          } else {
+            logger.error(reply.cause().getMessage(), reply.cause());
+            asyncResultHandler.handle(Future.succeededFuture(PostOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(reply.cause().getMessage())));
+          }
+        }));
+      } catch (Exception e) {
+        logger.error(e.getMessage(), e);
+        asyncResultHandler.handle(Future.succeededFuture(PostOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(Response.Status.INTERNAL_SERVER_ERROR.getReasonPhrase())));
+      }
+    });
   }
 
   @Override
   @Validate
   public void getOrganizationsStorageInterfacesCredentialsById(String id, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageInterfacesCredentialsById", okapiHeaders, handler);
     vertxContext.runOnContext((Void v) -> {
       try {
-        String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(RestVerticle.OKAPI_HEADER_TENANT));
-        PostgresClient pgClient = PostgresClient.getInstance(vertxContext.owner(), tenantId);
-        Criterion criterion = getCriterionByInterfaceId(id);
-
-        pgClient.get(INTERFACE_CREDENTIAL_TABLE, InterfaceCredential.class, criterion,false, reply -> {
-            try {
-              if (reply.succeeded()) {
-                if (reply.result().getResults().isEmpty()) {
-                  asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageInterfacesCredentialsByIdResponse.respond404WithTextPlain(Response.Status.NOT_FOUND.getReasonPhrase())));
-                } else {
-                  InterfaceCredential response = reply.result().getResults().get(0);
-                  asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageInterfacesCredentialsByIdResponse.respond200WithApplicationJson(response)));
-                }
-              } else {
-                asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(reply.cause().getMessage())));
-              }
-            } catch (Exception e) {
-              logger.error(e.getMessage(), e);
-              asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(Response.Status.INTERNAL_SERVER_ERROR.getReasonPhrase())));
-            }
-          });
+        String sql = String.format(SELECT_CREDENTIAL_BY_INTERFACE_ID, getFullTableName(okapiHeaders, INTERFACE_CREDENTIAL_TABLE));
+        PgUtil.postgresClient(vertxContext, okapiHeaders).select(sql, new JsonArray().add(id), StorageMetrics.timedStatement(INTERFACE_CREDENTIAL_TABLE, StorageMetrics.SELECT, reply -> {
+          if (reply.failed()) {
+            logger.error(reply.cause().getMessage(), reply.cause());
+            asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(reply.cause().getMessage())));
+          } else if (reply.result().getResults().isEmpty()) {
+            asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageInterfacesCredentialsByIdResponse.respond404WithTextPlain(Response.Status.NOT_FOUND.getReasonPhrase())));
+          } else {
+            asyncResultHandler.handle(Future.succeededFuture(respond200WithJson(reply.result().getResults().get(0).getValue(0).toString())));
+          }
+        }));
       } catch (Exception e) {
         logger.error(e.getMessage(), e);
         asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(Response.Status.INTERNAL_SERVER_ERROR.getReasonPhrase())));
@@ -121,29 +207,21 @@ public class InterfacesAPI implements OrganizationsStorageInterfaces {
   @Override
   @Validate
   public void deleteOrganizationsStorageInterfacesCredentialsById(String id, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("deleteOrganizationsStorageInterfacesCredentialsById", okapiHeaders, handler);
     vertxContext.runOnContext((Void v) -> {
       try {
-        String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(RestVerticle.OKAPI_HEADER_TENANT));
-        PostgresClient pgClient = PostgresClient.getInstance(vertxContext.owner(), tenantId);
-        Criterion criterion = getCriterionByInterfaceId(id);
-
-        pgClient.delete(INTERFACE_CREDENTIAL_TABLE, criterion, reply -> {
-            try {
-              if (reply.succeeded()) {
-                if (reply.result().getUpdated() == 0) {
-                  asyncResultHandler.handle(Future.succeededFuture(DeleteOrganizationsStorageInterfacesCredentialsByIdResponse.respond404WithTextPlain(Response.Status.NOT_FOUND.getReasonPhrase())));
-                } else {
-                  asyncResultHandler.handle(Future.succeededFuture(DeleteOrganizationsStorageInterfacesCredentialsByIdResponse.respond204()));
-                }
-              } else {
-                asyncResultHandler.handle(Future.succeededFuture(DeleteOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(reply.cause().getMessage())));
-              }
-            } catch (Exception e) {
-              logger.error(e.getMessage(), e);
-              asyncResultHandler.handle(Future.succeededFuture(DeleteOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(Response.Status.INTERNAL_SERVER_ERROR.getReasonPhrase())));
-            }
-          });
+        String sql = String.format(DELETE_CREDENTIAL_BY_INTERFACE_ID, getFullTableName(okapiHeaders, INTERFACE_CREDENTIAL_TABLE));
+        PgUtil.postgresClient(vertxContext, okapiHeaders).execute(sql, new JsonArray().add(id), StorageMetrics.timedStatement(INTERFACE_CREDENTIAL_TABLE, StorageMetrics.DELETE, reply -> {
+          if (reply.failed()) {
+            logger.error(reply.cause().getMessage(), reply.cause());
+            asyncResultHandler.handle(Future.succeededFuture(DeleteOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(reply.cause().getMessage())));
+          } else if (reply.result().getUpdated() == 0) {
+            asyncResultHandler.handle(Future.succeededFuture(DeleteOrganizationsStorageInterfacesCredentialsByIdResponse.respond404WithTextPlain(Response.Status.NOT_FOUND.getReasonPhrase())));
+          } else {
+            asyncResultHandler.handle(Future.succeededFuture(DeleteOrganizationsStorageInterfacesCredentialsByIdResponse.respond204()));
+          }
+        }));
       } catch (Exception e) {
         logger.error(e.getMessage(), e);
         asyncResultHandler.handle(Future.succeededFuture(DeleteOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(Response.Status.INTERNAL_SERVER_ERROR.getReasonPhrase())));
@@ -151,22 +229,83 @@ public class InterfacesAPI implements OrganizationsStorageInterfaces {
     });
   }
 
+  /**
+   * Creates or replaces the credential of the interface in one statement, so the client does not need to know the id
+   * of the credential. The id of an existing credential is kept, a new one gets the id of the entity or a random one.
+   */
   @Override
   @Validate
   public void putOrganizationsStorageInterfacesCredentialsById(String id, String lang, InterfaceCredential entity,
-      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    if (StringUtils.equals(id, entity.getInterfaceId())) {
-      PgUtil.put(INTERFACE_CREDENTIAL_TABLE, entity, entity.getId(), okapiHeaders, vertxContext, PutOrganizationsStorageInterfacesCredentialsByIdResponse.class, asyncResultHandler);
-    } else {
-      asyncResultHandler.handle(io.vertx.core.Future.succeededFuture(PutOrganizationsStorageInterfacesCredentialsByIdResponse.respond400WithTextPlain(MISMATCH_ERROR_MESSAGE)));
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("putOrganizationsStorageInterfacesCredentialsById", okapiHeaders, handler);
+    if (!StringUtils.equals(id, entity.getInterfaceId())) {
+      asyncResultHandler.handle(Future.succeededFuture(PutOrganizationsStorageInterfacesCredentialsByIdResponse.respond400WithTextPlain(MISMATCH_ERROR_MESSAGE)));
+      return;
     }
+    vertxContext.runOnContext((Void v) -> {
+      try {
+        if (entity.getId() == null) {
+          entity.setId(UUID.randomUUID().toString());
+        }
+        String sql = String.format(UPSERT_CREDENTIAL_BY_INTERFACE_ID, getFullTableName(okapiHeaders, INTERFACE_CREDENTIAL_TABLE), INTERFACE_CREDENTIAL_TABLE);
+        JsonArray params = new JsonArray().add(entity.getId()).add(JsonObject.mapFrom(entity).encode());
+        PgUtil.postgresClient(vertxContext, okapiHeaders).execute(sql, params, StorageMetrics.timedStatement(INTERFACE_CREDENTIAL_TABLE, StorageMetrics.UPDATE, reply -> {
+          if (reply.succeeded()) {
+            asyncResultHandler.handle(Future.succeededFuture(PutOrganizationsStorageInterfacesCredentialsByIdResponse.respond204()));
+          } else if (PgExceptionUtil.isForeignKeyViolation(reply.cause())) {
+            // the interface does not exist
+            asyncResultHandler.handle(Future.succeededFuture(PutOrganizationsStorageInterfacesCredentialsByIdResponse.respond404WithTextPlain(Response.Status.NOT_FOUND.getReasonPhrase())));
+          } else if (PgExceptionUtil.isUniqueViolation(reply.cause())) {
+            // the id of the entity belongs to the credential of another interface
+            asyncResultHandler.handle(Future.succeededFuture(PutOrganizationsStorageInterfacesCredentialsByIdResponse.respond400WithTextPlain(MISMATCH_ERROR_MESSAGE)));
+          } else {
+            logger.error(reply.cause().getMessage(), reply.cause());
+            asyncResultHandler.handle(Future.succeededFuture(PutOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(reply.cause().getMessage())));
+          }
+        }));
+      } catch (Exception e) {
+        logger.error(e.getMessage(), e);
+        asyncResultHandler.handle(Future.succeededFuture(PutOrganizationsStorageInterfacesCredentialsByIdResponse.respond500WithTextPlain(Response.Status.INTERNAL_SERVER_ERROR.getReasonPhrase())));
+      }
+    });
+  }
+
+  @Override
+  @Stream
+  public void postOrganizationsStorageInterfacesImport(InputStream entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageInterfacesImport", okapiHeaders, handler);
+    IMPORTER.importChunk(entity, okapiHeaders, vertxContext, asyncResultHandler);
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageInterfacesExport(String query, int limit, String cursor, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageInterfacesExport", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> NdjsonExporter.export(new QueryHolder(INTERFACE_TABLE, query, 0, limit), cursor,
+      GetOrganizationsStorageInterfacesExportResponse::respond400WithTextPlain,
+      GetOrganizationsStorageInterfacesExportResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageInterfacesChanges(String since, int limit, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageInterfacesChanges", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> ChangeFeed.getChanges(INTERFACES, INTERFACE_TABLE, since, limit, asyncResultHandler, vertxContext, okapiHeaders));
   }
 
-  private Criterion getCriterionByInterfaceId(String interfaceId) {
-    Criteria criteria = new Criteria();
-    criteria.addField("'interfaceId'");
-    criteria.setOperation("=");
-    criteria.setVal(interfaceId);
-    return new Criterion(criteria);
+  /**
+   * @param message message of the unique violation, names the interfaceId index when the interface has a credential
+   */
+  private static Errors buildDuplicateCredentialErrors(InterfaceCredential entity, String message) {
+    Error error = StringUtils.contains(message, CREDENTIAL_INTERFACE_INDEX)
+      ? new Error().withMessage(DUPLICATE_CREDENTIAL_MESSAGE)
+        .withParameters(Collections.singletonList(new Parameter().withKey("interfaceId").withValue(entity.getInterfaceId())))
+      : new Error().withMessage(String.format(DUPLICATE_CREDENTIAL_ID_MESSAGE, entity.getId()))
+        .withParameters(Collections.singletonList(new Parameter().withKey("id").withValue(entity.getId())));
+    return new Errors().withErrors(Collections.singletonList(error)).withTotalRecords(1);
   }
 }
@@ -4,58 +4,173 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.annotations.Stream;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.Organization;
-import org.folio.rest.jaxrs.model.OrganizationCollection;
+import org.folio.rest.jaxrs.model.OrganizationBatch;
 import org.folio.rest.jaxrs.resource.OrganizationsStorageOrganizations;
-import org.folio.rest.persist.EntitiesMetadataHolder;
+import org.folio.rest.persist.ChangeFeed;
+import org.folio.rest.persist.EntitiesBatchInserter;
+import org.folio.rest.persist.FullTextSearch;
+import org.folio.rest.persist.NdjsonExporter;
+import org.folio.rest.persist.NdjsonImporter;
+import org.folio.rest.persist.OrganizationFacets;
+import org.folio.rest.persist.OrganizationSuggestions;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.QueryHolder;
+import org.folio.rest.persist.StorageMetrics;
 
 import javax.ws.rs.core.Response;
+import java.io.InputStream;
 import java.util.Map;
 
+import static org.folio.rest.persist.EntitiesMetadataRegistry.ORGANIZATIONS;
 import static org.folio.rest.persist.HelperUtils.getEntitiesCollection;
+import static org.folio.rest.persist.HelperUtils.getEntityById;
+import static org.folio.rest.persist.HelperUtils.getExpandedEntityById;
 
 public class OrganizationsAPI implements OrganizationsStorageOrganizations {
   private static final String ORGANIZATION_TABLE = "organizations";
+  private static final EntitiesBatchInserter<Organization> BATCH_INSERTER = new EntitiesBatchInserter<>(ORGANIZATION_TABLE,
+      Organization::getId, Organization::setId, Organization::setMetadata,
+      PostOrganizationsStorageOrganizationsBatchResponse::respond201WithApplicationJson,
+      PostOrganizationsStorageOrganizationsBatchResponse::respond422WithApplicationJson,
+      PostOrganizationsStorageOrganizationsBatchResponse::respond500WithTextPlain);
+  private static final NdjsonImporter<Organization> IMPORTER = new NdjsonImporter<>(ORGANIZATION_TABLE, Organization.class,
+      Organization::getId, Organization::setId, Organization::setMetadata,
+      PostOrganizationsStorageOrganizationsImportResponse::respond201WithApplicationJson,
+      PostOrganizationsStorageOrganizationsImportResponse::respond500WithTextPlain,
+      PostOrganizationsStorageOrganizationsImportResponse::respond503WithTextPlain);
 
   @Override
   @Validate
-  public void getOrganizationsStorageOrganizations(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrganizationsStorageOrganizations(String query, int offset, int limit, String pageToken, String totalRecords, String expand, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageOrganizations", okapiHeaders, handler);
     vertxContext.runOnContext((Void v) -> {
-      EntitiesMetadataHolder<Organization, OrganizationCollection> entitiesMetadataHolder = new EntitiesMetadataHolder<>(Organization.class, OrganizationCollection.class, GetOrganizationsStorageOrganizationsResponse.class);
-      QueryHolder cql = new QueryHolder(ORGANIZATION_TABLE, query, offset, limit);
-      getEntitiesCollection(entitiesMetadataHolder, cql, asyncResultHandler, vertxContext, okapiHeaders);
+      QueryHolder cql = new QueryHolder(ORGANIZATION_TABLE, query, offset, limit)
+        .withPageToken(pageToken)
+        .withTotalRecords(totalRecords)
+        .withFields(fields)
+        .withIfNoneMatch(ifNoneMatch)
+        .withExpand(expand);
+      getEntitiesCollection(ORGANIZATIONS, cql, asyncResultHandler, vertxContext, okapiHeaders);
     });
   }
 
   @Override
   @Validate
   public void postOrganizationsStorageOrganizations(String lang, Organization entity,
-                                        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.post(ORGANIZATION_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStorageOrganizationsResponse.class, asyncResultHandler);
+                                        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageOrganizations", okapiHeaders, handler);
+    PgUtil.post(ORGANIZATION_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStorageOrganizationsResponse.class,
+      OrganizationSuggestions.updatingHandler(okapiHeaders, null, entity, OrganizationFacets.invalidatingHandler(okapiHeaders, asyncResultHandler)));
   }
 
   @Override
   @Validate
-  public void getOrganizationsStorageOrganizationsById(String id, String lang, Map<String, String> okapiHeaders,
-                                           Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.getById(ORGANIZATION_TABLE, Organization.class, id, okapiHeaders,vertxContext, GetOrganizationsStorageOrganizationsByIdResponse.class, asyncResultHandler);
+  public void postOrganizationsStorageOrganizationsBatch(OrganizationBatch entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageOrganizationsBatch", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> BATCH_INSERTER.insert(entity.getOrganizations(), okapiHeaders, vertxContext,
+      OrganizationSuggestions.invalidatingHandler(okapiHeaders, OrganizationFacets.invalidatingHandler(okapiHeaders, asyncResultHandler))));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageOrganizationsById(String id, String expand, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders,
+                                           Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageOrganizationsById", okapiHeaders, handler);
+    if (StringUtils.isBlank(expand)) {
+      vertxContext.runOnContext((Void v) -> getEntityById(ORGANIZATION_TABLE, id, fields, ifNoneMatch,
+        GetOrganizationsStorageOrganizationsByIdResponse::respond400WithTextPlain,
+        GetOrganizationsStorageOrganizationsByIdResponse::respond404WithTextPlain,
+        GetOrganizationsStorageOrganizationsByIdResponse::respond500WithTextPlain,
+        asyncResultHandler, vertxContext, okapiHeaders));
+    } else {
+      vertxContext.runOnContext((Void v) -> getExpandedEntityById(ORGANIZATION_TABLE, id, expand, fields, ifNoneMatch,
+        GetOrganizationsStorageOrganizationsByIdResponse::respond400WithTextPlain,
+        GetOrganizationsStorageOrganizationsByIdResponse::respond404WithTextPlain,
+        GetOrganizationsStorageOrganizationsByIdResponse::respond500WithTextPlain,
+        asyncResultHandler, vertxContext, okapiHeaders));
+    }
   }
 
   @Override
   @Validate
   public void deleteOrganizationsStorageOrganizationsById(String id, String lang, Map<String, String> okapiHeaders,
-                                              Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.deleteById(ORGANIZATION_TABLE, id, okapiHeaders, vertxContext, DeleteOrganizationsStorageOrganizationsByIdResponse.class, asyncResultHandler);
+                                              Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("deleteOrganizationsStorageOrganizationsById", okapiHeaders, handler);
+    PgUtil.deleteById(ORGANIZATION_TABLE, id, okapiHeaders, vertxContext, DeleteOrganizationsStorageOrganizationsByIdResponse.class,
+      OrganizationSuggestions.removingHandler(okapiHeaders, id, OrganizationFacets.invalidatingHandler(okapiHeaders, asyncResultHandler)));
   }
 
   @Override
   @Validate
   public void putOrganizationsStorageOrganizationsById(String id, String lang, Organization entity,
-                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.put(ORGANIZATION_TABLE, entity, id, okapiHeaders, vertxContext, PutOrganizationsStorageOrganizationsByIdResponse.class, asyncResultHandler);
+                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("putOrganizationsStorageOrganizationsById", okapiHeaders, handler);
+    PgUtil.put(ORGANIZATION_TABLE, entity, id, okapiHeaders, vertxContext, PutOrganizationsStorageOrganizationsByIdResponse.class,
+      OrganizationSuggestions.updatingHandler(okapiHeaders, id, entity, OrganizationFacets.invalidatingHandler(okapiHeaders, asyncResultHandler)));
+  }
+
+  @Override
+  @Stream
+  public void postOrganizationsStorageOrganizationsImport(InputStream entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageOrganizationsImport", okapiHeaders, handler);
+    IMPORTER.importChunk(entity, okapiHeaders, vertxContext,
+      OrganizationSuggestions.invalidatingHandler(okapiHeaders, OrganizationFacets.invalidatingHandler(okapiHeaders, asyncResultHandler)));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageOrganizationsExport(String query, int limit, String cursor, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageOrganizationsExport", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> NdjsonExporter.export(new QueryHolder(ORGANIZATION_TABLE, query, 0, limit), cursor,
+      GetOrganizationsStorageOrganizationsExportResponse::respond400WithTextPlain,
+      GetOrganizationsStorageOrganizationsExportResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageOrganizationsSearch(String q, int offset, int limit, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageOrganizationsSearch", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> FullTextSearch.search(ORGANIZATIONS, new QueryHolder(ORGANIZATION_TABLE, q, offset, limit),
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageOrganizationsSuggest(String prefix, int limit, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageOrganizationsSuggest", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> OrganizationSuggestions.suggest(prefix, limit,
+      GetOrganizationsStorageOrganizationsSuggestResponse::respond400WithTextPlain,
+      GetOrganizationsStorageOrganizationsSuggestResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageOrganizationsFacets(String query, String facets, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageOrganizationsFacets", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> OrganizationFacets.getFacets(query, facets,
+      GetOrganizationsStorageOrganizationsFacetsResponse::respond400WithTextPlain,
+      GetOrganizationsStorageOrganizationsFacetsResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageOrganizationsChanges(String since, int limit, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageOrganizationsChanges", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> ChangeFeed.getChanges(ORGANIZATIONS, ORGANIZATION_TABLE, since, limit, asyncResultHandler, vertxContext, okapiHeaders));
   }
 }
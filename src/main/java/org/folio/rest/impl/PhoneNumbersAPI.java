@@ -4,58 +4,108 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import org.folio.rest.annotations.Stream;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.PhoneNumber;
-import org.folio.rest.jaxrs.model.PhoneNumberCollection;
 import org.folio.rest.jaxrs.resource.OrganizationsStoragePhoneNumbers;
-import org.folio.rest.persist.EntitiesMetadataHolder;
+import org.folio.rest.persist.ChangeFeed;
+import org.folio.rest.persist.NdjsonExporter;
+import org.folio.rest.persist.NdjsonImporter;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.QueryHolder;
+import org.folio.rest.persist.StorageMetrics;
 
 import javax.ws.rs.core.Response;
+import java.io.InputStream;
 import java.util.Map;
 
+import static org.folio.rest.persist.EntitiesMetadataRegistry.PHONE_NUMBERS;
 import static org.folio.rest.persist.HelperUtils.getEntitiesCollection;
+import static org.folio.rest.persist.HelperUtils.getEntityById;
 
 public class PhoneNumbersAPI implements OrganizationsStoragePhoneNumbers {
   private static final String PHONE_NUMBER_TABLE = "phone_numbers";
+  private static final NdjsonImporter<PhoneNumber> IMPORTER = new NdjsonImporter<>(PHONE_NUMBER_TABLE, PhoneNumber.class,
+      PhoneNumber::getId, PhoneNumber::setId, PhoneNumber::setMetadata,
+      PostOrganizationsStoragePhoneNumbersImportResponse::respond201WithApplicationJson,
+      PostOrganizationsStoragePhoneNumbersImportResponse::respond500WithTextPlain,
+      PostOrganizationsStoragePhoneNumbersImportResponse::respond503WithTextPlain);
 
   @Override
   @Validate
-  public void getOrganizationsStoragePhoneNumbers(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrganizationsStoragePhoneNumbers(String query, int offset, int limit, String pageToken, String totalRecords, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStoragePhoneNumbers", okapiHeaders, handler);
     vertxContext.runOnContext((Void v) -> {
-      EntitiesMetadataHolder<PhoneNumber, PhoneNumberCollection> entitiesMetadataHolder = new EntitiesMetadataHolder<>(PhoneNumber.class, PhoneNumberCollection.class, GetOrganizationsStoragePhoneNumbersResponse.class);
-      QueryHolder cql = new QueryHolder(PHONE_NUMBER_TABLE, query, offset, limit);
-      getEntitiesCollection(entitiesMetadataHolder, cql, asyncResultHandler, vertxContext, okapiHeaders);
+      QueryHolder cql = new QueryHolder(PHONE_NUMBER_TABLE, query, offset, limit)
+        .withPageToken(pageToken)
+        .withTotalRecords(totalRecords)
+        .withFields(fields)
+        .withIfNoneMatch(ifNoneMatch);
+      getEntitiesCollection(PHONE_NUMBERS, cql, asyncResultHandler, vertxContext, okapiHeaders);
     });
   }
 
   @Override
   @Validate
   public void postOrganizationsStoragePhoneNumbers(String lang, org.folio.rest.jaxrs.model.PhoneNumber entity,
-                                        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStoragePhoneNumbers", okapiHeaders, handler);
     PgUtil.post(PHONE_NUMBER_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStoragePhoneNumbersResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
-  public void getOrganizationsStoragePhoneNumbersById(String id, String lang, Map<String, String> okapiHeaders,
-                                           Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.getById(PHONE_NUMBER_TABLE, PhoneNumber.class, id, okapiHeaders,vertxContext, GetOrganizationsStoragePhoneNumbersByIdResponse.class, asyncResultHandler);
+  public void getOrganizationsStoragePhoneNumbersById(String id, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders,
+                                           Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStoragePhoneNumbersById", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> getEntityById(PHONE_NUMBER_TABLE, id, fields, ifNoneMatch,
+      GetOrganizationsStoragePhoneNumbersByIdResponse::respond400WithTextPlain,
+      GetOrganizationsStoragePhoneNumbersByIdResponse::respond404WithTextPlain,
+      GetOrganizationsStoragePhoneNumbersByIdResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
   }
 
   @Override
   @Validate
   public void deleteOrganizationsStoragePhoneNumbersById(String id, String lang, Map<String, String> okapiHeaders,
-                                              Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                              Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("deleteOrganizationsStoragePhoneNumbersById", okapiHeaders, handler);
     PgUtil.deleteById(PHONE_NUMBER_TABLE, id, okapiHeaders, vertxContext, DeleteOrganizationsStoragePhoneNumbersByIdResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
   public void putOrganizationsStoragePhoneNumbersById(String id, String lang, org.folio.rest.jaxrs.model.PhoneNumber entity,
-                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("putOrganizationsStoragePhoneNumbersById", okapiHeaders, handler);
     PgUtil.put(PHONE_NUMBER_TABLE, entity, id, okapiHeaders, vertxContext, PutOrganizationsStoragePhoneNumbersByIdResponse.class, asyncResultHandler);
   }
+
+  @Override
+  @Stream
+  public void postOrganizationsStoragePhoneNumbersImport(InputStream entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStoragePhoneNumbersImport", okapiHeaders, handler);
+    IMPORTER.importChunk(entity, okapiHeaders, vertxContext, asyncResultHandler);
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStoragePhoneNumbersExport(String query, int limit, String cursor, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStoragePhoneNumbersExport", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> NdjsonExporter.export(new QueryHolder(PHONE_NUMBER_TABLE, query, 0, limit), cursor,
+      GetOrganizationsStoragePhoneNumbersExportResponse::respond400WithTextPlain,
+      GetOrganizationsStoragePhoneNumbersExportResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStoragePhoneNumbersChanges(String since, int limit, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStoragePhoneNumbersChanges", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> ChangeFeed.getChanges(PHONE_NUMBERS, PHONE_NUMBER_TABLE, since, limit, asyncResultHandler, vertxContext, okapiHeaders));
+  }
 }
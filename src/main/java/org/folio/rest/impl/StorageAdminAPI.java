@@ -0,0 +1,39 @@
+package org.folio.rest.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import org.folio.rest.jaxrs.model.SlowQuery;
+import org.folio.rest.jaxrs.model.SlowQueryCollection;
+import org.folio.rest.jaxrs.resource.OrganizationsStorageAdmin;
+import org.folio.rest.persist.SlowQueryLog;
+import org.folio.rest.persist.StorageMetrics;
+import org.folio.rest.tools.utils.TenantTool;
+
+import javax.ws.rs.core.Response;
+import java.util.List;
+import java.util.Map;
+
+public class StorageAdminAPI implements OrganizationsStorageAdmin {
+
+  @Override
+  public void getOrganizationsStorageAdminSlowQueries(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    List<SlowQuery> slowQueries = SlowQueryLog.getCaptures(TenantTool.tenantId(okapiHeaders));
+    SlowQueryCollection collection = new SlowQueryCollection()
+      .withSlowQueries(slowQueries)
+      .withTotalRecords(slowQueries.size());
+    asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageAdminSlowQueriesResponse.respond200WithApplicationJson(collection)));
+  }
+
+  @Override
+  public void deleteOrganizationsStorageAdminSlowQueries(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    SlowQueryLog.clear(TenantTool.tenantId(okapiHeaders));
+    asyncResultHandler.handle(Future.succeededFuture(DeleteOrganizationsStorageAdminSlowQueriesResponse.respond204()));
+  }
+
+  @Override
+  public void getOrganizationsStorageAdminMetrics(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageAdminMetricsResponse.respond200WithTextPlain(StorageMetrics.scrape())));
+  }
+}
@@ -8,13 +8,17 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import javax.ws.rs.core.Response;
 import org.folio.rest.jaxrs.model.Parameter;
 import org.folio.rest.jaxrs.model.TenantAttributes;
+import org.folio.rest.persist.CategoriesCache;
+import org.folio.rest.persist.OrganizationFacets;
+import org.folio.rest.persist.OrganizationSuggestions;
 import org.folio.rest.persist.PostgresClient;
-import org.folio.rest.tools.utils.TenantLoading;
+import org.folio.rest.persist.ReferenceDataLoader;
 import org.folio.rest.tools.utils.TenantTool;
 
 public class TenantReferenceAPI extends TenantAPI {
@@ -34,45 +38,49 @@ public class TenantReferenceAPI extends TenantAPI {
         return;
       }
 
-      TenantLoading tl = new TenantLoading();
-      boolean loadData = buildDataLoadingParameters(tenantAttributes, tl);
+      List<String> tables = buildDataLoadingTables(tenantAttributes);
+      if (tables.isEmpty()) {
+        hndlr.handle(res);
+        return;
+      }
 
-      if (loadData) {
-        tl.perform(tenantAttributes, headers, vertx, res1 -> {
+      try {
+        new ReferenceDataLoader(vertx, headers).load(tables, res1 -> {
           if (res1.failed()) {
             hndlr.handle(io.vertx.core.Future.succeededFuture(PostTenantResponse
               .respond500WithTextPlain(res1.cause().getLocalizedMessage())));
             return;
           }
+          CategoriesCache.invalidate(TenantTool.tenantId(headers));
+          OrganizationFacets.invalidate(TenantTool.tenantId(headers));
+          OrganizationSuggestions.invalidate(TenantTool.tenantId(headers));
           hndlr.handle(io.vertx.core.Future.succeededFuture(PostTenantResponse
             .respond201WithApplicationJson("")));
         });
-      } else {
-        hndlr.handle(res);
-        return;
+      } catch (Exception e) {
+        log.error(e.getMessage(), e);
+        hndlr.handle(io.vertx.core.Future.succeededFuture(PostTenantResponse
+          .respond500WithTextPlain(e.getLocalizedMessage())));
       }
 
     }, cntxt);
 
   }
 
-  private boolean buildDataLoadingParameters(TenantAttributes tenantAttributes, TenantLoading tl) {
-    boolean loadData = false;
+  /**
+   * @return tables to load from the directories of the same name under {@code data}, sample data first
+   */
+  private List<String> buildDataLoadingTables(TenantAttributes tenantAttributes) {
+    List<String> tables = new ArrayList<>();
     if (isLoadSample(tenantAttributes)) {
-      tl.withKey(PARAMETER_LOAD_SAMPLE)
-        .withLead("data")
-        .add("organizations", "organizations-storage/organizations")
-        .add("contacts", "organizations-storage/contacts")
-        .add("interfaces", "organizations-storage/interfaces");
-      loadData = true;
+      tables.add("organizations");
+      tables.add("contacts");
+      tables.add("interfaces");
     }
     if (isLoadReference(tenantAttributes)) {
-      tl.withKey(PARAMETER_LOAD_REFERENCE)
-        .withLead("data")
-        .add("categories", "organizations-storage/categories");
-      loadData = true;
+      tables.add("categories");
     }
-    return loadData;
+    return tables;
   }
 
   private boolean isLoadSample(TenantAttributes tenantAttributes) {
@@ -119,6 +127,9 @@ public class TenantReferenceAPI extends TenantAPI {
     super.deleteTenant(headers, res -> {
         Vertx vertx = cntxt.owner();
         String tenantId = TenantTool.tenantId(headers);
+        CategoriesCache.invalidate(tenantId);
+        OrganizationFacets.invalidate(tenantId);
+        OrganizationSuggestions.invalidate(tenantId);
         PostgresClient.getInstance(vertx, tenantId)
           .closeClient(event -> hndlr.handle(res));
     }, cntxt);
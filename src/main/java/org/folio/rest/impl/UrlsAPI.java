@@ -4,58 +4,108 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import org.folio.rest.annotations.Stream;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.jaxrs.model.Url;
-import org.folio.rest.jaxrs.model.UrlCollection;
 import org.folio.rest.jaxrs.resource.OrganizationsStorageUrls;
-import org.folio.rest.persist.EntitiesMetadataHolder;
+import org.folio.rest.persist.ChangeFeed;
+import org.folio.rest.persist.NdjsonExporter;
+import org.folio.rest.persist.NdjsonImporter;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.persist.QueryHolder;
+import org.folio.rest.persist.StorageMetrics;
 
 import javax.ws.rs.core.Response;
+import java.io.InputStream;
 import java.util.Map;
 
+import static org.folio.rest.persist.EntitiesMetadataRegistry.URLS;
 import static org.folio.rest.persist.HelperUtils.getEntitiesCollection;
+import static org.folio.rest.persist.HelperUtils.getEntityById;
 
 public class UrlsAPI implements OrganizationsStorageUrls {
   private static final String URL_TABLE = "urls";
+  private static final NdjsonImporter<Url> IMPORTER = new NdjsonImporter<>(URL_TABLE, Url.class,
+      Url::getId, Url::setId, Url::setMetadata,
+      PostOrganizationsStorageUrlsImportResponse::respond201WithApplicationJson,
+      PostOrganizationsStorageUrlsImportResponse::respond500WithTextPlain,
+      PostOrganizationsStorageUrlsImportResponse::respond503WithTextPlain);
 
   @Override
   @Validate
-  public void getOrganizationsStorageUrls(String query, int offset, int limit, String lang, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrganizationsStorageUrls(String query, int offset, int limit, String pageToken, String totalRecords, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageUrls", okapiHeaders, handler);
     vertxContext.runOnContext((Void v) -> {
-      EntitiesMetadataHolder<Url, UrlCollection> entitiesMetadataHolder = new EntitiesMetadataHolder<>(Url.class, UrlCollection.class, GetOrganizationsStorageUrlsResponse.class);
-      QueryHolder cql = new QueryHolder(URL_TABLE, query, offset, limit);
-      getEntitiesCollection(entitiesMetadataHolder, cql, asyncResultHandler, vertxContext, okapiHeaders);
+      QueryHolder cql = new QueryHolder(URL_TABLE, query, offset, limit)
+        .withPageToken(pageToken)
+        .withTotalRecords(totalRecords)
+        .withFields(fields)
+        .withIfNoneMatch(ifNoneMatch);
+      getEntitiesCollection(URLS, cql, asyncResultHandler, vertxContext, okapiHeaders);
     });
   }
 
   @Override
   @Validate
   public void postOrganizationsStorageUrls(String lang, org.folio.rest.jaxrs.model.Url entity,
-                                        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                        Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageUrls", okapiHeaders, handler);
     PgUtil.post(URL_TABLE, entity, okapiHeaders, vertxContext, PostOrganizationsStorageUrlsResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
-  public void getOrganizationsStorageUrlsById(String id, String lang, Map<String, String> okapiHeaders,
-                                           Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.getById(URL_TABLE, Url.class, id, okapiHeaders,vertxContext, GetOrganizationsStorageUrlsByIdResponse.class, asyncResultHandler);
+  public void getOrganizationsStorageUrlsById(String id, String fields, String lang, String ifNoneMatch, Map<String, String> okapiHeaders,
+                                           Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageUrlsById", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> getEntityById(URL_TABLE, id, fields, ifNoneMatch,
+      GetOrganizationsStorageUrlsByIdResponse::respond400WithTextPlain,
+      GetOrganizationsStorageUrlsByIdResponse::respond404WithTextPlain,
+      GetOrganizationsStorageUrlsByIdResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
   }
 
   @Override
   @Validate
   public void deleteOrganizationsStorageUrlsById(String id, String lang, Map<String, String> okapiHeaders,
-                                              Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                              Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("deleteOrganizationsStorageUrlsById", okapiHeaders, handler);
     PgUtil.deleteById(URL_TABLE, id, okapiHeaders, vertxContext, DeleteOrganizationsStorageUrlsByIdResponse.class, asyncResultHandler);
   }
 
   @Override
   @Validate
   public void putOrganizationsStorageUrlsById(String id, String lang, org.folio.rest.jaxrs.model.Url entity,
-                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+                                           Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("putOrganizationsStorageUrlsById", okapiHeaders, handler);
     PgUtil.put(URL_TABLE, entity, id, okapiHeaders, vertxContext, PutOrganizationsStorageUrlsByIdResponse.class, asyncResultHandler);
   }
+
+  @Override
+  @Stream
+  public void postOrganizationsStorageUrlsImport(InputStream entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("postOrganizationsStorageUrlsImport", okapiHeaders, handler);
+    IMPORTER.importChunk(entity, okapiHeaders, vertxContext, asyncResultHandler);
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageUrlsExport(String query, int limit, String cursor, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageUrlsExport", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> NdjsonExporter.export(new QueryHolder(URL_TABLE, query, 0, limit), cursor,
+      GetOrganizationsStorageUrlsExportResponse::respond400WithTextPlain,
+      GetOrganizationsStorageUrlsExportResponse::respond500WithTextPlain,
+      asyncResultHandler, vertxContext, okapiHeaders));
+  }
+
+  @Override
+  @Validate
+  public void getOrganizationsStorageUrlsChanges(String since, int limit, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> handler, Context vertxContext) {
+    Handler<AsyncResult<Response>> asyncResultHandler = StorageMetrics.timed("getOrganizationsStorageUrlsChanges", okapiHeaders, handler);
+    vertxContext.runOnContext((Void v) -> ChangeFeed.getChanges(URLS, URL_TABLE, since, limit, asyncResultHandler, vertxContext, okapiHeaders));
+  }
 }
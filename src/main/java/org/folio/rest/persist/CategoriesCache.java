@@ -0,0 +1,165 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.jaxrs.resource.OrganizationsStorageCategories.GetOrganizationsStorageCategoriesByIdResponse;
+import org.folio.rest.tools.utils.TenantTool;
+
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+import static org.folio.rest.persist.EntitiesMetadataRegistry.CATEGORIES;
+
+/**
+ * Per-tenant in-memory copy of the categories table, which is tiny and rarely changes. GET by id and the unfiltered
+ * list are served from the copy; any write through {@code CategoriesAPI} drops the copy of the tenant and so does the
+ * deletion of the tenant. The entries also expire after {@code categoriesCacheTtl} seconds to pick up the writes made
+ * through other instances of the module.
+ */
+public final class CategoriesCache {
+  private static final Logger log = LoggerFactory.getLogger(CategoriesCache.class);
+
+  private static final String CATEGORY_TABLE = "categories";
+  private static final String SELECT_CATEGORIES = "SELECT id, jsonb, " + ETags.HASH_COLUMN + " FROM %s";
+  private static final String ALL_RECORDS_QUERY = "cql.allRecords=1";
+  private static final String PARAMETER_CACHE_TTL = "categoriesCacheTtl";
+  private static final String DEFAULT_CACHE_TTL_SECONDS = "300";
+  private static final int MAX_TENANTS = 1000;
+
+  private static final AtomicLong generation = new AtomicLong();
+  private static ExpiringCache<String, Map<String, CachedCategory>> cache;
+
+  private CategoriesCache() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @return whether the collection request can be served from the cache: the whole list with all the properties, paged by offset
+   */
+  public static boolean isCacheable(QueryHolder queryHolder) {
+    String query = StringUtils.trimToEmpty(queryHolder.getQuery());
+    return (query.isEmpty() || ALL_RECORDS_QUERY.equals(query)) && queryHolder.getPageToken() == null
+      && StringUtils.isBlank(queryHolder.getExpand()) && StringUtils.isBlank(queryHolder.getFields());
+  }
+
+  public static void getCollection(QueryHolder queryHolder, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
+    try {
+      TotalRecordsStrategy strategy = queryHolder.getTotalRecordsStrategy();
+      getCategories(vertxContext, okapiHeaders, reply -> {
+        if (reply.failed()) {
+          asyncResultHandler.handle(Future.succeededFuture(CATEGORIES.respond400WithTextPlain(reply.cause().getLocalizedMessage())));
+          return;
+        }
+        List<CachedCategory> categories = new ArrayList<>(reply.result().values());
+        int from = Math.min(queryHolder.getOffset(), categories.size());
+        int to = Math.min(from + queryHolder.getLimit(), categories.size());
+        int totalRecords = strategy == TotalRecordsStrategy.NONE ? TotalRecordsStrategy.UNKNOWN_TOTAL_RECORDS : categories.size();
+        List<String> entities = new ArrayList<>(to - from);
+        List<String> hashes = new ArrayList<>(to - from);
+        for (CachedCategory category : categories.subList(from, to)) {
+          entities.add(category.json);
+          hashes.add(category.hash);
+        }
+        String etag = ETags.ofPage(totalRecords, hashes);
+        asyncResultHandler.handle(Future.succeededFuture(HelperUtils.respondWithPage(etag,
+          () -> JsonbPassthrough.buildCollectionBody(CATEGORIES.getCollectionName(), entities, totalRecords), strategy, queryHolder.getIfNoneMatch())));
+      });
+    } catch (IllegalArgumentException e) {
+      asyncResultHandler.handle(Future.succeededFuture(CATEGORIES.respond400WithTextPlain(e.getMessage())));
+    }
+  }
+
+  public static void getById(String id, String ifNoneMatch, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
+    getCategories(vertxContext, okapiHeaders, reply -> {
+      if (reply.failed()) {
+        asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageCategoriesByIdResponse.respond500WithTextPlain(reply.cause().getMessage())));
+        return;
+      }
+      CachedCategory category = reply.result().get(id.toLowerCase(Locale.ROOT));
+      if (category == null) {
+        asyncResultHandler.handle(Future.succeededFuture(GetOrganizationsStorageCategoriesByIdResponse.respond404WithTextPlain(Response.Status.NOT_FOUND.getReasonPhrase())));
+      } else {
+        asyncResultHandler.handle(Future.succeededFuture(JsonbPassthrough.respondWithEntity(category.hash, category.json, ifNoneMatch)));
+      }
+    });
+  }
+
+  /**
+   * @return handler invalidating the categories of the tenant once the write completes and then calling the given one
+   */
+  public static Handler<AsyncResult<Response>> invalidatingHandler(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    return reply -> {
+      invalidate(tenantId);
+      asyncResultHandler.handle(reply);
+    };
+  }
+
+  public static void invalidate(String tenantId) {
+    generation.incrementAndGet();
+    getCache().invalidate(tenantId);
+  }
+
+  private static void getCategories(Context vertxContext, Map<String, String> okapiHeaders, Handler<AsyncResult<Map<String, CachedCategory>>> handler) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    Map<String, CachedCategory> cached = getCache().get(tenantId);
+    if (cached != null) {
+      handler.handle(Future.succeededFuture(cached));
+      return;
+    }
+
+    // a write completed while loading makes the loaded copy stale, it is used for this request but not cached
+    long loadGeneration = generation.get();
+    String sql = String.format(SELECT_CATEGORIES, HelperUtils.getFullTableName(okapiHeaders, CATEGORY_TABLE));
+    PgUtil.postgresClient(vertxContext, okapiHeaders).select(sql, StorageMetrics.timedStatement(CATEGORY_TABLE, StorageMetrics.SELECT, reply -> {
+      if (reply.failed()) {
+        log.error(reply.cause().getMessage(), reply.cause());
+        handler.handle(Future.failedFuture(reply.cause()));
+        return;
+      }
+      Map<String, CachedCategory> categories = new LinkedHashMap<>();
+      for (JsonArray row : reply.result().getResults()) {
+        categories.put(row.getValue(0).toString().toLowerCase(Locale.ROOT), new CachedCategory(row.getValue(1).toString(), row.getString(2)));
+      }
+      Map<String, CachedCategory> loaded = Collections.unmodifiableMap(categories);
+      if (generation.get() == loadGeneration) {
+        getCache().put(tenantId, loaded);
+      }
+      handler.handle(Future.succeededFuture(loaded));
+    }));
+  }
+
+  private static synchronized ExpiringCache<String, Map<String, CachedCategory>> getCache() {
+    if (cache == null) {
+      long ttlSeconds = Long.parseLong(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_CACHE_TTL, DEFAULT_CACHE_TTL_SECONDS));
+      cache = new ExpiringCache<>(MAX_TENANTS, ttlSeconds * 1000);
+    }
+    return cache;
+  }
+
+  /**
+   * The jsonb text of a category, served as is, and its hash the ETag is made of.
+   */
+  private static final class CachedCategory {
+    private final String json;
+    private final String hash;
+
+    private CachedCategory(String json, String hash) {
+      this.json = json;
+      this.hash = hash;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+
+import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feed of the records of a table created, updated or deleted since a token. Every write of a record stamps its row of
+ * the {@code changes} table (see schema.json) with the id of the writing transaction and a sequence number, so a
+ * record is listed once, at its last change, and a deleted record is listed by id. Every page is an index seek past the
+ * {@code (transaction id, sequence number)} of the last change of the previous page, so following the feed costs time
+ * in proportion to the changes, not to the table. The token of the last change is returned in the
+ * {@value #CHANGES_TOKEN_HEADER} header of every page, also of an empty one, and is passed back to get the changes made
+ * after it.
+ * <p>
+ * Transactions commit in another order than they start, so the feed stops at the oldest transaction still running:
+ * every transaction that commits later has a larger id than the changes already listed, and the token never moves past
+ * a change that is not visible yet. A long transaction anywhere in the database holds the feed back until it ends.
+ */
+public final class ChangeFeed {
+  private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+  public static final String CHANGES_TOKEN_HEADER = "X-Changes-Token";
+
+  private static final String CHANGES_TABLE = "changes";
+  private static final String SELECT_CHANGES = "SELECT c.entity_id, c.deleted, c.change_xid, c.change_seq, t.jsonb FROM %s c"
+    + " LEFT JOIN %s t ON t.id = c.entity_id"
+    + " WHERE c.table_name = ? AND c.change_xid < txid_snapshot_xmin(txid_current_snapshot())%s"
+    + " ORDER BY c.change_xid, c.change_seq LIMIT %d";
+  private static final String AFTER_TOKEN = " AND (c.change_xid, c.change_seq) > (?::bigint, ?::bigint)";
+  private static final String DELETED_IDS = "deletedIds";
+  private static final String TOKEN_XID = "x";
+  private static final String TOKEN_SEQ = "s";
+
+  private ChangeFeed() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @param since token of the last change already read or {@code null} to read from the first change
+   */
+  public static <T, E> void getChanges(EntitiesMetadataHolder<T, E> entitiesMetadataHolder, String table, String since, int limit,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
+    try {
+      JsonObject token = decodeToken(since);
+      JsonArray parameters = new JsonArray().add(table);
+      if (token != null) {
+        parameters.add(token.getLong(TOKEN_XID)).add(token.getLong(TOKEN_SEQ));
+      }
+      String fullTableName = HelperUtils.getFullTableName(okapiHeaders, table);
+      String sql = String.format(SELECT_CHANGES, HelperUtils.getFullTableName(okapiHeaders, CHANGES_TABLE), fullTableName,
+        token == null ? "" : AFTER_TOKEN, limit);
+
+      SlowQueryLog.select(PgUtil.postgresClient(vertxContext, okapiHeaders), fullTableName, new QueryHolder(table, null, 0, limit), sql, parameters, reply -> {
+        if (reply.failed()) {
+          log.error(reply.cause().getMessage(), reply.cause());
+          asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond500WithTextPlain(reply.cause().getMessage())));
+          return;
+        }
+        List<JsonArray> rows = reply.result().getResults();
+        Response response = HelperUtils.respond200WithJson(StorageMetrics.timeSerialization(
+          () -> buildChangesBody(entitiesMetadataHolder.getCollectionName(), rows)));
+        String nextToken = rows.isEmpty() ? since : encodeToken(rows.get(rows.size() - 1));
+        if (nextToken != null) {
+          response = HelperUtils.withHeader(response, CHANGES_TOKEN_HEADER, nextToken);
+        }
+        asyncResultHandler.handle(Future.succeededFuture(response));
+      });
+    } catch (QueryValidationException e) {
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(e.getMessage())));
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond500WithTextPlain(e.getMessage())));
+    }
+  }
+
+  /**
+   * @param rows rows as selected by {@link #SELECT_CHANGES}, a deleted record has no jsonb
+   */
+  private static String buildChangesBody(String collectionName, List<JsonArray> rows) {
+    StringBuilder body = new StringBuilder("{\"").append(collectionName).append("\":[");
+    JsonArray deletedIds = new JsonArray();
+    int changed = 0;
+    for (JsonArray row : rows) {
+      Object jsonb = row.getValue(4);
+      if (Boolean.TRUE.equals(row.getBoolean(1)) || jsonb == null) {
+        deletedIds.add(row.getValue(0).toString());
+      } else {
+        body.append(changed++ == 0 ? "" : ",").append(jsonb.toString());
+      }
+    }
+    return body.append("],\"").append(DELETED_IDS).append("\":").append(deletedIds.encode()).append('}').toString();
+  }
+
+  /**
+   * @param row a row as selected by {@link #SELECT_CHANGES}
+   */
+  private static String encodeToken(JsonArray row) {
+    JsonObject token = new JsonObject()
+      .put(TOKEN_XID, row.getLong(2))
+      .put(TOKEN_SEQ, row.getLong(3));
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(token.encode().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static JsonObject decodeToken(String since) throws QueryValidationException {
+    if (StringUtils.isBlank(since)) {
+      return null;
+    }
+    try {
+      JsonObject token = new JsonObject(new String(Base64.getUrlDecoder().decode(since), StandardCharsets.UTF_8));
+      if (token.getLong(TOKEN_XID) == null || token.getLong(TOKEN_SEQ) == null) {
+        throw new QueryValidationException("Invalid changes token");
+      }
+      return token;
+    } catch (QueryValidationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new QueryValidationException("Invalid changes token");
+    }
+  }
+}
@@ -0,0 +1,349 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.cql2pgjson.exception.FieldException;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSelect;
+import org.z3950.zing.cql.CQLAndNode;
+import org.z3950.zing.cql.CQLBooleanNode;
+import org.z3950.zing.cql.CQLNode;
+import org.z3950.zing.cql.CQLNotNode;
+import org.z3950.zing.cql.CQLOrNode;
+import org.z3950.zing.cql.CQLParser;
+import org.z3950.zing.cql.CQLSortNode;
+import org.z3950.zing.cql.CQLTermNode;
+import org.z3950.zing.cql.ModifierSet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+
+/**
+ * Translates CQL queries to SQL through a per-table LRU cache of query templates.
+ * <p>
+ * The cache key is the shape of the query: the query with every simple literal (word or UUID, optionally masked with
+ * a leading/trailing {@code *}) replaced by a sentinel of the same kind. The shape is translated once; in its SQL every
+ * string literal holding a sentinel becomes a {@code ?} placeholder, and the literals of the following queries with the
+ * same shape are bound as statement parameters, see {@link TranslatedQuery#getParameters()}. The literals never become
+ * part of the SQL text, so no literal can change the statement.
+ * <p>
+ * The kind of a sentinel (lower case word, mixed case word, UUID) is part of the shape, so all the queries of a shape
+ * have literals cql2pgjson handles alike. The template of a new shape is checked against the direct translation of the
+ * query that brought it: shapes whose literals do not come through verbatim, or end up outside a string literal, are
+ * remembered as not cacheable and always translated directly. Queries holding text that looks like a sentinel are
+ * translated directly as well.
+ */
+public class CqlQueryTranslator {
+  private static final Logger log = LoggerFactory.getLogger(CqlQueryTranslator.class);
+
+  private static final String PARAMETER_CACHE_SIZE = "cqlCacheSize";
+  private static final String DEFAULT_CACHE_SIZE = "500";
+
+  private static final Pattern LOWER_WORD = Pattern.compile("[a-z0-9]*[a-z][a-z0-9]*");
+  private static final Pattern MIXED_WORD = Pattern.compile("[A-Za-z0-9]*[A-Z][A-Za-z0-9]*");
+  private static final Pattern UUID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+  private static final String WORD_SENTINEL = "zqsentinel";
+  private static final String UUID_SENTINEL = "00000000-0000-4000-8000-%012x";
+  private static final String UUID_SENTINEL_PREFIX = "00000000-0000-4000-8000-";
+  private static final Pattern SENTINEL_TEXT = Pattern.compile("(?i)" + WORD_SENTINEL + "|" + UUID_SENTINEL_PREFIX);
+  private static final Pattern SENTINEL = Pattern.compile("(?i)" + WORD_SENTINEL + "[a-y]+z|" + UUID_SENTINEL_PREFIX + "[0-9a-f]{12}");
+  private static final String MASK = "*";
+  private static final String RESERVED_INDEX_PREFIX = "cql.";
+
+  private static final Template NOT_CACHEABLE = new Template(null, null, null);
+  private static final Map<String, ExpiringCache<String, Template>> templates = new ConcurrentHashMap<>();
+
+  private static final AtomicLong hits = new AtomicLong();
+  private static final AtomicLong misses = new AtomicLong();
+  private static final AtomicLong bypasses = new AtomicLong();
+
+  private CqlQueryTranslator() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @return translation of the query or {@code null} if the query is blank
+   */
+  public static TranslatedQuery translate(String table, String query) throws FieldException, QueryValidationException {
+    if (StringUtils.isBlank(query)) {
+      return null;
+    }
+
+    Shape shape;
+    try {
+      if (SENTINEL_TEXT.matcher(query).find()) {
+        throw new UnsupportedOperationException("Query holds sentinel text");
+      }
+      shape = Shape.of(new CQLParser().parse(query));
+    } catch (Exception e) {
+      // not parsable or not supported as a template, let cql2pgjson report the problem if any
+      bypasses.incrementAndGet();
+      return translateDirectly(table, query);
+    }
+
+    ExpiringCache<String, Template> tableTemplates = templates.computeIfAbsent(table, key -> new ExpiringCache<>(getCacheSize(), 0));
+    Template template = tableTemplates.get(shape.cql);
+    if (template == NOT_CACHEABLE) {
+      bypasses.incrementAndGet();
+      return translateDirectly(table, query);
+    }
+    if (template != null) {
+      hits.incrementAndGet();
+      return template.bind(shape.literals);
+    }
+
+    misses.incrementAndGet();
+    TranslatedQuery translatedQuery = translateDirectly(table, query);
+    Template newTemplate = Template.of(translateDirectly(table, shape.cql), shape.sentinels);
+    if (newTemplate != null && newTemplate.bindInline(shape.literals).equals(StringUtils.defaultString(translatedQuery.getWhere()))
+        && Objects.equals(newTemplate.orderBy, translatedQuery.getOrderBy())) {
+      tableTemplates.put(shape.cql, newTemplate);
+      return newTemplate.bind(shape.literals);
+    }
+    log.debug("CQL query shape is not cacheable: " + shape.cql);
+    tableTemplates.put(shape.cql, NOT_CACHEABLE);
+    return translatedQuery;
+  }
+
+  /**
+   * @return hits, misses and bypasses of the cache and the number of cached shapes
+   */
+  public static JsonObject getStatistics() {
+    int size = templates.values().stream().mapToInt(ExpiringCache::size).sum();
+    return new JsonObject()
+      .put("hits", hits.get())
+      .put("misses", misses.get())
+      .put("bypasses", bypasses.get())
+      .put("size", size);
+  }
+
+  /**
+   * @return translation of the query with its literals in the SQL text and no parameters
+   */
+  public static TranslatedQuery translateDirectly(String table, String query) throws FieldException, QueryValidationException {
+    SqlSelect sqlSelect = new CQL2PgJSON(String.format("%s.jsonb", table)).toSql(query);
+    return new TranslatedQuery(sqlSelect.getWhere(), sqlSelect.getOrderBy());
+  }
+
+  private static int getCacheSize() {
+    return Integer.parseInt(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_CACHE_SIZE, DEFAULT_CACHE_SIZE));
+  }
+
+  private static String sentinel(int index, String literal) {
+    if (UUID.matcher(literal).matches()) {
+      return String.format(UUID_SENTINEL, index);
+    }
+    // letters only, 'a'-'y' digits terminated by 'z', so that no sentinel is a prefix of another one
+    StringBuilder sentinel = new StringBuilder(WORD_SENTINEL);
+    int value = index;
+    do {
+      sentinel.append((char) ('a' + value % 25));
+      value /= 25;
+    } while (value > 0);
+    sentinel.append('z');
+    return MIXED_WORD.matcher(literal).matches() ? sentinel.toString().toUpperCase() : sentinel.toString();
+  }
+
+  private static boolean isParameter(String literal) {
+    return LOWER_WORD.matcher(literal).matches() || MIXED_WORD.matcher(literal).matches() || UUID.matcher(literal).matches();
+  }
+
+  /**
+   * Query with its literals replaced by sentinels.
+   */
+  private static class Shape {
+    private final String cql;
+    private final List<String> literals;
+    private final Map<String, Integer> sentinels;
+
+    private Shape(String cql, List<String> literals, Map<String, Integer> sentinels) {
+      this.cql = cql;
+      this.literals = literals;
+      this.sentinels = sentinels;
+    }
+
+    static Shape of(CQLNode node) {
+      List<String> literals = new ArrayList<>();
+      Map<String, Integer> sentinels = new HashMap<>();
+      return new Shape(mask(node, literals, sentinels).toCQL(), literals, sentinels);
+    }
+
+    private static CQLNode mask(CQLNode node, List<String> literals, Map<String, Integer> sentinels) {
+      if (node instanceof CQLSortNode) {
+        CQLSortNode sortNode = new CQLSortNode(mask(((CQLSortNode) node).getSubtree(), literals, sentinels));
+        for (ModifierSet sortIndex : ((CQLSortNode) node).getSortIndexes()) {
+          sortNode.addSortIndex(sortIndex);
+        }
+        return sortNode;
+      }
+      if (node instanceof CQLBooleanNode) {
+        CQLBooleanNode booleanNode = (CQLBooleanNode) node;
+        if (!booleanNode.getModifiers().isEmpty()) {
+          throw new UnsupportedOperationException("Boolean modifiers are not supported");
+        }
+        CQLNode left = mask(booleanNode.getLeftOperand(), literals, sentinels);
+        CQLNode right = mask(booleanNode.getRightOperand(), literals, sentinels);
+        if (node instanceof CQLAndNode) {
+          return new CQLAndNode(left, right, new ModifierSet("and"));
+        } else if (node instanceof CQLOrNode) {
+          return new CQLOrNode(left, right, new ModifierSet("or"));
+        } else if (node instanceof CQLNotNode) {
+          return new CQLNotNode(left, right, new ModifierSet("not"));
+        }
+        throw new UnsupportedOperationException("Unsupported boolean node " + node.getClass().getSimpleName());
+      }
+      if (node instanceof CQLTermNode) {
+        CQLTermNode termNode = (CQLTermNode) node;
+        String term = termNode.getTerm();
+        String prefix = term.startsWith(MASK) ? MASK : "";
+        String suffix = term.length() > prefix.length() && term.endsWith(MASK) ? MASK : "";
+        String literal = term.substring(prefix.length(), term.length() - suffix.length());
+        if (termNode.getIndex().startsWith(RESERVED_INDEX_PREFIX) || !isParameter(literal)) {
+          return termNode;
+        }
+        String sentinel = sentinel(literals.size(), literal);
+        sentinels.put(sentinel, literals.size());
+        literals.add(literal);
+        return new CQLTermNode(termNode.getIndex(), termNode.getRelation(), prefix + sentinel + suffix);
+      }
+      throw new UnsupportedOperationException("Unsupported node " + node.getClass().getSimpleName());
+    }
+  }
+
+  /**
+   * Translation of a shape. The WHERE clause is split at its placeholders, and every parameter is kept as the text of
+   * its string literal split at the sentinels: a {@link String} part is copied, an {@link Integer} part is the index of
+   * the literal of the query to insert.
+   */
+  private static class Template {
+    private final List<String> fragments;
+    private final List<List<Object>> parameters;
+    private final String orderBy;
+
+    private Template(List<String> fragments, List<List<Object>> parameters, String orderBy) {
+      this.fragments = fragments;
+      this.parameters = parameters;
+      this.orderBy = orderBy;
+    }
+
+    /**
+     * @return the template or {@code null} if a sentinel is not within a plain string literal of the WHERE clause or
+     * the clause holds a {@code ?} of its own
+     */
+    static Template of(TranslatedQuery translatedQuery, Map<String, Integer> sentinels) {
+      String where = StringUtils.defaultString(translatedQuery.getWhere());
+      if (SENTINEL_TEXT.matcher(StringUtils.defaultString(translatedQuery.getOrderBy())).find()) {
+        return null;
+      }
+      List<String> fragments = new ArrayList<>();
+      List<List<Object>> parameters = new ArrayList<>();
+      StringBuilder fragment = new StringBuilder();
+      int i = 0;
+      while (i < where.length()) {
+        char c = where.charAt(i);
+        if (c == '?') {
+          return null;
+        }
+        if (c != '\'') {
+          fragment.append(c);
+          i++;
+          continue;
+        }
+        StringBuilder content = new StringBuilder();
+        int end = i + 1;
+        while (end < where.length() && (where.charAt(end) != '\'' || where.startsWith("''", end))) {
+          content.append(where.charAt(end));
+          end += where.startsWith("''", end) ? 2 : 1;
+        }
+        if (end == where.length()) {
+          return null;
+        }
+        List<Object> parts = split(content.toString(), sentinels);
+        if (parts == null) {
+          return null;
+        }
+        if (parts.stream().anyMatch(Integer.class::isInstance)) {
+          // an escape string literal would need its backslashes resolved as well
+          if (i > 0 && Character.toUpperCase(where.charAt(i - 1)) == 'E') {
+            return null;
+          }
+          fragments.add(fragment.toString());
+          fragment.setLength(0);
+          parameters.add(parts);
+        } else {
+          fragment.append(where, i, end + 1);
+        }
+        i = end + 1;
+      }
+      fragments.add(fragment.toString());
+      for (String sqlFragment : fragments) {
+        if (SENTINEL_TEXT.matcher(sqlFragment).find()) {
+          return null;
+        }
+      }
+      return new Template(fragments, parameters, translatedQuery.getOrderBy());
+    }
+
+    /**
+     * @return the parts of the content or {@code null} if it holds text that is not a sentinel of the shape
+     */
+    private static List<Object> split(String content, Map<String, Integer> sentinels) {
+      List<Object> parts = new ArrayList<>();
+      Matcher matcher = SENTINEL.matcher(content);
+      int start = 0;
+      while (matcher.find()) {
+        Integer index = sentinels.get(matcher.group());
+        if (index == null) {
+          return null;
+        }
+        parts.add(content.substring(start, matcher.start()));
+        parts.add(index);
+        start = matcher.end();
+      }
+      parts.add(content.substring(start));
+      for (Object part : parts) {
+        if (part instanceof String && SENTINEL_TEXT.matcher((String) part).find()) {
+          return null;
+        }
+      }
+      return parts;
+    }
+
+    TranslatedQuery bind(List<String> literals) {
+      List<String> values = new ArrayList<>(parameters.size());
+      parameters.forEach(parts -> values.add(buildValue(parts, literals)));
+      return new TranslatedQuery(String.join("?", fragments), orderBy, values);
+    }
+
+    /**
+     * @return the WHERE clause with the values written as string literals, as cql2pgjson writes them
+     */
+    String bindInline(List<String> literals) {
+      StringBuilder where = new StringBuilder(fragments.get(0));
+      for (int i = 0; i < parameters.size(); i++) {
+        where.append('\'').append(buildValue(parameters.get(i), literals).replace("'", "''")).append('\'').append(fragments.get(i + 1));
+      }
+      return where.toString();
+    }
+
+    private static String buildValue(List<Object> parts, List<String> literals) {
+      StringBuilder value = new StringBuilder();
+      for (Object part : parts) {
+        value.append(part instanceof Integer ? literals.get((Integer) part) : (String) part);
+      }
+      return value.toString();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.sql.SQLConnection;
+
+/**
+ * Reads the rows of a query through a server-side cursor, {@code fetchSize} rows at a time, so that the whole result set
+ * is never held by the driver at once. The cursor lives in its own transaction which is closed once all the rows are
+ * read or the first failure occurs.
+ */
+public class CursorReader {
+  private static final Logger log = LoggerFactory.getLogger(CursorReader.class);
+
+  private static final String CURSOR_NAME = "rows_cursor";
+  private static final String DECLARE_CURSOR = "DECLARE " + CURSOR_NAME + " NO SCROLL CURSOR FOR %s";
+  private static final String FETCH_CURSOR = "FETCH %d FROM " + CURSOR_NAME;
+
+  private final PostgresClient postgresClient;
+  private final String sql;
+  private final JsonArray params;
+  private final int fetchSize;
+
+  public CursorReader(PostgresClient postgresClient, String sql, JsonArray params, int fetchSize) {
+    this.postgresClient = postgresClient;
+    this.sql = sql;
+    this.params = params;
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * @param rowHandler called for every row in the order they are returned by the query
+   * @param doneHandler called once after the last row or with the first failure
+   */
+  public void read(Handler<JsonArray> rowHandler, Handler<AsyncResult<Void>> doneHandler) {
+    postgresClient.startTx(tx -> {
+      if (tx.failed()) {
+        doneHandler.handle(Future.failedFuture(tx.cause()));
+        return;
+      }
+      postgresClient.execute(tx, String.format(DECLARE_CURSOR, sql), params, declared -> {
+        if (declared.failed()) {
+          rollback(tx, declared.cause(), doneHandler);
+        } else {
+          fetch(tx, rowHandler, doneHandler);
+        }
+      });
+    });
+  }
+
+  private void fetch(AsyncResult<SQLConnection> tx, Handler<JsonArray> rowHandler, Handler<AsyncResult<Void>> doneHandler) {
+    postgresClient.select(tx, String.format(FETCH_CURSOR, fetchSize), reply -> {
+      if (reply.failed()) {
+        rollback(tx, reply.cause(), doneHandler);
+        return;
+      }
+      try {
+        reply.result().getResults().forEach(rowHandler::handle);
+      } catch (Exception e) {
+        rollback(tx, e, doneHandler);
+        return;
+      }
+      if (reply.result().getNumRows() < fetchSize) {
+        postgresClient.endTx(tx, doneHandler);
+      } else {
+        fetch(tx, rowHandler, doneHandler);
+      }
+    });
+  }
+
+  private void rollback(AsyncResult<SQLConnection> tx, Throwable cause, Handler<AsyncResult<Void>> doneHandler) {
+    postgresClient.rollbackTx(tx, rollback -> {
+      if (rollback.failed()) {
+        log.error("Cursor transaction rollback failed", rollback.cause());
+      }
+      doneHandler.handle(Future.failedFuture(cause));
+    });
+  }
+}
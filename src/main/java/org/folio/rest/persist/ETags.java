@@ -0,0 +1,130 @@
+package org.folio.rest.persist;
+
+import org.apache.commons.lang3.StringUtils;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Strong entity tags of the GET responses. The tag of a record is the MD5 of its jsonb text, computed by PostgreSQL next
+ * to the record ({@link #HASH_COLUMN}), so it changes with any change of the content including
+ * {@code metadata.updatedDate}. The tag of a collection page is derived from the tags of its records and the total, so
+ * it can be compared with {@code If-None-Match} before the response body is built.
+ */
+public final class ETags {
+
+  public static final String HASH_COLUMN = "md5(jsonb::text)";
+
+  private static final String ANY = "*";
+  private static final String WEAK_PREFIX = "W/";
+
+  private ETags() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @return tag of a collection page, {@code totalRecords} may be {@code null}
+   */
+  public static String ofPage(Integer totalRecords, List<String> hashes) {
+    PageTag tag = new PageTag();
+    hashes.forEach(tag::add);
+    return tag.build(totalRecords);
+  }
+
+  /**
+   * @param jsonb expression of a jsonb other than the stored one, e.g. a projection of it
+   * @return column of the hash of the expression, the counterpart of {@link #HASH_COLUMN}
+   */
+  public static String hashColumn(String jsonb) {
+    return "md5((" + jsonb + ")::text)";
+  }
+
+  /**
+   * @return tag of content whose hash is not computed by the database
+   */
+  public static String of(String content) {
+    return toHex(newDigest().digest(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * @param ifNoneMatch value of the {@code If-None-Match} request header, may be {@code null}
+   * @return whether the header matches the tag, i.e. the client's copy is current
+   */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (StringUtils.isBlank(ifNoneMatch)) {
+      return false;
+    }
+    for (String candidate : StringUtils.split(ifNoneMatch, ',')) {
+      String tag = StringUtils.removeStart(candidate.trim(), WEAK_PREFIX);
+      if (ANY.equals(tag) || etag.equals(StringUtils.strip(tag, "\""))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public static Response withETag(Response response, String etag) {
+    return Response.fromResponse(response).header(HttpHeaders.ETAG, quote(etag)).build();
+  }
+
+  public static Response notModified(String etag) {
+    return Response.status(Response.Status.NOT_MODIFIED).header(HttpHeaders.ETAG, quote(etag)).build();
+  }
+
+  /**
+   * Tag of a collection page built record by record, so the hashes of the records are not kept until the page is
+   * complete. Gives the same tag as {@link #ofPage} for the same records and total.
+   */
+  public static final class PageTag {
+    private final MessageDigest digest = newDigest();
+    private int records;
+
+    /**
+     * @param hash hash of the next record of the page
+     */
+    public void add(String hash) {
+      digest.update(hash.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) ',');
+      records++;
+    }
+
+    /**
+     * @return number of records added so far
+     */
+    public int getRecords() {
+      return records;
+    }
+
+    /**
+     * @param totalRecords total of the page, may be {@code null}
+     */
+    public String build(Integer totalRecords) {
+      digest.update(String.valueOf(totalRecords).getBytes(StandardCharsets.UTF_8));
+      return toHex(digest.digest());
+    }
+  }
+
+  private static String quote(String etag) {
+    return '"' + etag + '"';
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+}
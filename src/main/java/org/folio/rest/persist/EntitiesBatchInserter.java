@@ -0,0 +1,187 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.RestVerticle;
+import org.folio.rest.jaxrs.model.BatchResult;
+import org.folio.rest.jaxrs.model.BatchResultCollection;
+import org.folio.rest.jaxrs.model.Error;
+import org.folio.rest.jaxrs.model.Errors;
+import org.folio.rest.jaxrs.model.Metadata;
+import org.folio.rest.jaxrs.model.Parameter;
+
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+
+/**
+ * Creates a batch of entities with a single multi-row insert, so the whole batch is one round trip to the database and
+ * one transaction: either all the entities are created or none. The ids and the metadata are assigned the same way
+ * {@link PgUtil#post} does for a single entity.
+ *
+ * @param <T> entity type
+ */
+public class EntitiesBatchInserter<T> {
+  private static final Logger log = LoggerFactory.getLogger(EntitiesBatchInserter.class);
+
+  private static final String PARAMETER_BATCH_MAX_SIZE = "batchMaxSize";
+  private static final String DEFAULT_BATCH_MAX_SIZE = "1000";
+  private static final String INDEX_PARAMETER = "index";
+  private static final String ID_PARAMETER = "id";
+  private static final Pattern UNIQUE_VIOLATION_DETAIL = Pattern.compile("Key \\((.+?)\\)=\\((.*?)\\) already exists");
+
+  private final String table;
+  private final Function<T, String> idGetter;
+  private final BiConsumer<T, String> idSetter;
+  private final BiConsumer<T, Metadata> metadataSetter;
+  private final Function<BatchResultCollection, Response> respond201;
+  private final Function<Errors, Response> respond422;
+  private final Function<Object, Response> respond500;
+
+  public EntitiesBatchInserter(String table, Function<T, String> idGetter, BiConsumer<T, String> idSetter,
+      BiConsumer<T, Metadata> metadataSetter, Function<BatchResultCollection, Response> respond201,
+      Function<Errors, Response> respond422, Function<Object, Response> respond500) {
+    this.table = table;
+    this.idGetter = idGetter;
+    this.idSetter = idSetter;
+    this.metadataSetter = metadataSetter;
+    this.respond201 = respond201;
+    this.respond422 = respond422;
+    this.respond500 = respond500;
+  }
+
+  public void insert(List<T> entities, Map<String, String> okapiHeaders, Context vertxContext, Handler<AsyncResult<Response>> asyncResultHandler) {
+    try {
+      Errors errors = validate(entities);
+      if (!errors.getErrors().isEmpty()) {
+        asyncResultHandler.handle(Future.succeededFuture(respond422.apply(errors)));
+        return;
+      }
+
+      Metadata metadata = buildMetadata(okapiHeaders);
+      List<Object> rows = new ArrayList<>(entities.size());
+      for (T entity : entities) {
+        if (StringUtils.isBlank(idGetter.apply(entity))) {
+          idSetter.accept(entity, UUID.randomUUID().toString());
+        }
+        metadataSetter.accept(entity, metadata);
+        rows.add(entity);
+      }
+
+      PgUtil.postgresClient(vertxContext, okapiHeaders).saveBatch(table, rows, StorageMetrics.timedStatement(table, StorageMetrics.INSERT, reply -> {
+        if (reply.succeeded()) {
+          asyncResultHandler.handle(Future.succeededFuture(respond201.apply(buildResults(entities))));
+        } else if (PgExceptionUtil.isUniqueViolation(reply.cause())) {
+          asyncResultHandler.handle(Future.succeededFuture(respond422.apply(buildErrors(Collections.singletonList(
+            buildUniqueViolationError(entities, reply.cause().getMessage()))))));
+        } else {
+          log.error(reply.cause().getMessage(), reply.cause());
+          asyncResultHandler.handle(Future.succeededFuture(respond500.apply(reply.cause().getMessage())));
+        }
+      }));
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      asyncResultHandler.handle(Future.succeededFuture(respond500.apply(e.getMessage())));
+    }
+  }
+
+  /**
+   * The entities themselves are already validated against the schema, only the checks spanning the whole batch are left.
+   */
+  private Errors validate(List<T> entities) {
+    List<Error> errors = new ArrayList<>();
+    int maxSize = Integer.parseInt(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_BATCH_MAX_SIZE, DEFAULT_BATCH_MAX_SIZE));
+    if (entities.size() > maxSize) {
+      errors.add(buildError(String.format("Batch size %d exceeds the maximum of %d", entities.size(), maxSize), Collections.emptyList()));
+      return buildErrors(errors);
+    }
+
+    Map<String, Integer> indexes = new HashMap<>();
+    for (int i = 0; i < entities.size(); i++) {
+      String id = idGetter.apply(entities.get(i));
+      if (StringUtils.isBlank(id)) {
+        continue;
+      }
+      Integer previous = indexes.putIfAbsent(id, i);
+      if (previous != null) {
+        List<Parameter> parameters = new ArrayList<>();
+        parameters.add(new Parameter().withKey(INDEX_PARAMETER).withValue(String.valueOf(i)));
+        parameters.add(new Parameter().withKey(ID_PARAMETER).withValue(id));
+        errors.add(buildError(String.format("Duplicate id, already used by the record at index %d", previous), parameters));
+      }
+    }
+    return buildErrors(errors);
+  }
+
+  /**
+   * Maps the key reported by the unique violation back to the record of the batch holding it. The only unique key of
+   * the tables created by batch is the id, which clashes with a record already stored; any other key is reported as is.
+   *
+   * @param message message of the unique violation, holding its {@code Key (...)=(...) already exists} detail
+   */
+  private Error buildUniqueViolationError(List<T> entities, String message) {
+    Matcher matcher = UNIQUE_VIOLATION_DETAIL.matcher(StringUtils.defaultString(message));
+    if (!matcher.find()) {
+      return buildError(message, Collections.emptyList());
+    }
+    String key = matcher.group(1);
+    String value = matcher.group(2);
+    List<Parameter> parameters = new ArrayList<>();
+    if (ID_PARAMETER.equals(key)) {
+      for (int i = 0; i < entities.size(); i++) {
+        if (value.equalsIgnoreCase(idGetter.apply(entities.get(i)))) {
+          parameters.add(new Parameter().withKey(INDEX_PARAMETER).withValue(String.valueOf(i)));
+          parameters.add(new Parameter().withKey(ID_PARAMETER).withValue(value));
+          return buildError(String.format("Record with id %s already exists", value), parameters);
+        }
+      }
+    }
+    parameters.add(new Parameter().withKey(key).withValue(value));
+    return buildError(String.format("Record with %s %s already exists", key, value), parameters);
+  }
+
+  private BatchResultCollection buildResults(List<T> entities) {
+    List<BatchResult> results = new ArrayList<>(entities.size());
+    for (int i = 0; i < entities.size(); i++) {
+      results.add(new BatchResult()
+        .withIndex(i)
+        .withId(idGetter.apply(entities.get(i)))
+        .withStatus(Response.Status.CREATED.getStatusCode()));
+    }
+    return new BatchResultCollection().withResults(results).withTotalRecords(results.size());
+  }
+
+  private static Metadata buildMetadata(Map<String, String> okapiHeaders) {
+    Date now = new Date();
+    String userId = okapiHeaders.get(RestVerticle.OKAPI_USERID_HEADER);
+    return new Metadata()
+      .withCreatedDate(now)
+      .withCreatedByUserId(userId)
+      .withUpdatedDate(now)
+      .withUpdatedByUserId(userId);
+  }
+
+  private static Error buildError(String message, List<Parameter> parameters) {
+    return new Error().withMessage(message).withParameters(parameters);
+  }
+
+  private static Errors buildErrors(List<Error> errors) {
+    return new Errors().withErrors(errors).withTotalRecords(errors.size());
+  }
+}
@@ -0,0 +1,84 @@
+package org.folio.rest.persist;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Related records embedded into an entity by the {@code expand} query parameter. The entity holds the ids of its related
+ * records in an array property, the expansion resolves them with correlated subqueries of the same statement, so the
+ * entity and all its related records cost one round trip. The related documents are added, in the order of the ids,
+ * under the {@value #EXPANDED_PROPERTY} property; the arrays of ids are left untouched.
+ */
+public class EntitiesExpansion {
+
+  public static final String ALL = "all";
+
+  private static final String EXPANDED_PROPERTY = "expanded";
+  private static final String RELATION_QUERY = "coalesce((SELECT jsonb_agg(related.jsonb ORDER BY ids.ordinality)"
+    + " FROM jsonb_array_elements_text(%1$s.jsonb->'%2$s') WITH ORDINALITY AS ids(id, ordinality)"
+    + " JOIN %3$s related ON related.id = ids.id::uuid), '[]'::jsonb)";
+
+  /**
+   * Expandable array properties of every table and the tables holding the referenced records. Interface credentials
+   * are stored in a table of their own and are never expanded.
+   */
+  private static final Map<String, Map<String, String>> RELATIONS;
+  static {
+    Map<String, String> organizationRelations = new LinkedHashMap<>();
+    organizationRelations.put("contacts", "contacts");
+    organizationRelations.put("interfaces", "interfaces");
+    Map<String, Map<String, String>> relations = new HashMap<>();
+    relations.put("organizations", Collections.unmodifiableMap(organizationRelations));
+    RELATIONS = Collections.unmodifiableMap(relations);
+  }
+
+  private final String table;
+  private final Map<String, String> relations;
+
+  private EntitiesExpansion(String table, Map<String, String> relations) {
+    this.table = table;
+    this.relations = relations;
+  }
+
+  /**
+   * @param expand comma separated properties to expand or {@value #ALL}
+   * @return the expansion or {@code null} if nothing is to be expanded
+   * @throws IllegalArgumentException if a property cannot be expanded
+   */
+  public static EntitiesExpansion of(String table, String expand) {
+    if (StringUtils.isBlank(expand)) {
+      return null;
+    }
+    Map<String, String> tableRelations = RELATIONS.getOrDefault(table, Collections.emptyMap());
+    Map<String, String> relations = new LinkedHashMap<>();
+    for (String property : StringUtils.split(expand, ',')) {
+      String trimmed = property.trim();
+      if (ALL.equals(trimmed)) {
+        relations.putAll(tableRelations);
+      } else if (tableRelations.containsKey(trimmed)) {
+        relations.put(trimmed, tableRelations.get(trimmed));
+      } else {
+        throw new IllegalArgumentException(String.format("Cannot expand %s of %s", trimmed, table));
+      }
+    }
+    return relations.isEmpty() ? null : new EntitiesExpansion(table, relations);
+  }
+
+  /**
+   * @param entityJsonb expression of the entity's own jsonb or of its projection, the entity table is expected to be
+   * aliased with its own name
+   * @return expression of the entity's jsonb with the related records embedded
+   */
+  public String buildJsonbColumn(Map<String, String> okapiHeaders, String entityJsonb) {
+    StringBuilder expanded = new StringBuilder();
+    relations.forEach((property, relatedTable) -> expanded
+      .append(expanded.length() == 0 ? "" : ", ")
+      .append('\'').append(property).append("', ")
+      .append(String.format(RELATION_QUERY, table, property, HelperUtils.getFullTableName(okapiHeaders, relatedTable))));
+    return String.format("%s || jsonb_build_object('%s', jsonb_build_object(%s))", entityJsonb, EXPANDED_PROPERTY, expanded);
+  }
+}
@@ -1,59 +1,69 @@
 package org.folio.rest.persist;
 
-import org.folio.rest.jaxrs.resource.support.ResponseDelegate;
-
-import java.lang.reflect.Method;
+import javax.ws.rs.core.Response;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * Typed binders used to build a collection of entities and the corresponding response. All the binders are plain method
+ * references resolved at compile time, so building a collection response does not require any reflection.
+ *
+ * @param <T> entity type
+ * @param <E> collection type
+ */
 public class EntitiesMetadataHolder<T, E> {
 
-  private static final String RESPOND_200_WITH_APPLICATION_JSON = "respond200WithApplicationJson";
-  private static final String RESPOND_400_WITH_TEXT_PLAIN       = "respond400WithTextPlain";
-  private static final String RESPOND_500_WITH_TEXT_PLAIN       = "respond500WithTextPlain";
-  private static final String SET_TOTAL_RECORDS_METHOD_NAME     = "setTotalRecords";
-  private static final String SET_RESULT_METHOD_NAME_TEMPLATE   = "set%ss";
-
-  private Class<T> clazz;
-  private Class<E> collectionClazz;
-  private Class<? extends ResponseDelegate> responseDelegateClazz;
-  private String setResultMethodName;
-
-  public EntitiesMetadataHolder(Class<T> clazz, Class<E> collectionClazz, Class<? extends ResponseDelegate> responseDelegateClazz) {
-    this(clazz, collectionClazz, responseDelegateClazz, String.format(SET_RESULT_METHOD_NAME_TEMPLATE, clazz.getSimpleName()));
-  }
+  private final Class<T> clazz;
+  private final String collectionName;
+  private final Supplier<E> collectionFactory;
+  private final BiConsumer<E, List<T>> resultsSetter;
+  private final BiConsumer<E, Integer> totalRecordsSetter;
+  private final Function<E, Response> respond200;
+  private final Function<Object, Response> respond400;
+  private final Function<Object, Response> respond500;
 
-  public EntitiesMetadataHolder(Class<T> clazz, Class<E> collectionClazz, Class<? extends ResponseDelegate> responseDelegateClazz, String setResultMethodName) {
+  public EntitiesMetadataHolder(Class<T> clazz, String collectionName, Supplier<E> collectionFactory, BiConsumer<E, List<T>> resultsSetter,
+      BiConsumer<E, Integer> totalRecordsSetter, Function<E, Response> respond200, Function<Object, Response> respond400,
+      Function<Object, Response> respond500) {
     this.clazz = clazz;
-    this.collectionClazz = collectionClazz;
-    this.responseDelegateClazz = responseDelegateClazz;
-    this.setResultMethodName = setResultMethodName;
+    this.collectionName = collectionName;
+    this.collectionFactory = collectionFactory;
+    this.resultsSetter = resultsSetter;
+    this.totalRecordsSetter = totalRecordsSetter;
+    this.respond200 = respond200;
+    this.respond400 = respond400;
+    this.respond500 = respond500;
   }
 
   public Class<T> getClazz() {
     return clazz;
   }
 
-  public Class<E> getCollectionClazz() {
-    return collectionClazz;
-  }
-
-  public Method getRespond500WithTextPlainMethod() throws NoSuchMethodException {
-    return responseDelegateClazz.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+  /**
+   * @return name of the collection's property holding the array of entities
+   */
+  public String getCollectionName() {
+    return collectionName;
   }
 
-  public Method getRespond400WithTextPlainMethod() throws NoSuchMethodException {
-    return responseDelegateClazz.getMethod(RESPOND_400_WITH_TEXT_PLAIN, Object.class);
+  public E buildCollection(List<T> results, Integer totalRecords) {
+    E collection = collectionFactory.get();
+    resultsSetter.accept(collection, results);
+    totalRecordsSetter.accept(collection, totalRecords);
+    return collection;
   }
 
-  public Method getRespond200WithApplicationJson() throws NoSuchMethodException {
-    return responseDelegateClazz.getMethod(RESPOND_200_WITH_APPLICATION_JSON, collectionClazz);
+  public Response respond200WithApplicationJson(E collection) {
+    return respond200.apply(collection);
   }
 
-  public Method getSetTotalRecordsMethod() throws NoSuchMethodException {
-    return collectionClazz.getMethod(SET_TOTAL_RECORDS_METHOD_NAME, Integer.class);
+  public Response respond400WithTextPlain(Object message) {
+    return respond400.apply(message);
   }
 
-  public Method getSetResultsMethod() throws NoSuchMethodException {
-    return collectionClazz.getMethod(setResultMethodName, List.class);
+  public Response respond500WithTextPlain(Object message) {
+    return respond500.apply(message);
   }
 }
@@ -0,0 +1,94 @@
+package org.folio.rest.persist;
+
+import org.folio.rest.jaxrs.model.Address;
+import org.folio.rest.jaxrs.model.AddressCollection;
+import org.folio.rest.jaxrs.model.Category;
+import org.folio.rest.jaxrs.model.CategoryCollection;
+import org.folio.rest.jaxrs.model.Contact;
+import org.folio.rest.jaxrs.model.ContactCollection;
+import org.folio.rest.jaxrs.model.Email;
+import org.folio.rest.jaxrs.model.EmailCollection;
+import org.folio.rest.jaxrs.model.Interface;
+import org.folio.rest.jaxrs.model.InterfaceCollection;
+import org.folio.rest.jaxrs.model.Organization;
+import org.folio.rest.jaxrs.model.OrganizationCollection;
+import org.folio.rest.jaxrs.model.PhoneNumber;
+import org.folio.rest.jaxrs.model.PhoneNumberCollection;
+import org.folio.rest.jaxrs.model.Url;
+import org.folio.rest.jaxrs.model.UrlCollection;
+import org.folio.rest.jaxrs.resource.OrganizationsStorageAddresses.GetOrganizationsStorageAddressesResponse;
+import org.folio.rest.jaxrs.resource.OrganizationsStorageCategories.GetOrganizationsStorageCategoriesResponse;
+import org.folio.rest.jaxrs.resource.OrganizationsStorageContacts.GetOrganizationsStorageContactsResponse;
+import org.folio.rest.jaxrs.resource.OrganizationsStorageEmails.GetOrganizationsStorageEmailsResponse;
+import org.folio.rest.jaxrs.resource.OrganizationsStorageInterfaces.GetOrganizationsStorageInterfacesResponse;
+import org.folio.rest.jaxrs.resource.OrganizationsStorageOrganizations.GetOrganizationsStorageOrganizationsResponse;
+import org.folio.rest.jaxrs.resource.OrganizationsStoragePhoneNumbers.GetOrganizationsStoragePhoneNumbersResponse;
+import org.folio.rest.jaxrs.resource.OrganizationsStorageUrls.GetOrganizationsStorageUrlsResponse;
+
+/**
+ * Registry of the {@link EntitiesMetadataHolder}s for all the entities stored by the module. The holders are built once,
+ * when the class is initialized at verticle startup (see {@code InitAPIs}), and shared by all the requests.
+ */
+public final class EntitiesMetadataRegistry {
+
+  public static final EntitiesMetadataHolder<Address, AddressCollection> ADDRESSES = new EntitiesMetadataHolder<>(
+      Address.class, "addresses", AddressCollection::new, AddressCollection::setAddresses, AddressCollection::setTotalRecords,
+      GetOrganizationsStorageAddressesResponse::respond200WithApplicationJson,
+      GetOrganizationsStorageAddressesResponse::respond400WithTextPlain,
+      GetOrganizationsStorageAddressesResponse::respond500WithTextPlain);
+
+  public static final EntitiesMetadataHolder<Category, CategoryCollection> CATEGORIES = new EntitiesMetadataHolder<>(
+      Category.class, "categories", CategoryCollection::new, CategoryCollection::setCategories, CategoryCollection::setTotalRecords,
+      GetOrganizationsStorageCategoriesResponse::respond200WithApplicationJson,
+      GetOrganizationsStorageCategoriesResponse::respond400WithTextPlain,
+      GetOrganizationsStorageCategoriesResponse::respond500WithTextPlain);
+
+  public static final EntitiesMetadataHolder<Contact, ContactCollection> CONTACTS = new EntitiesMetadataHolder<>(
+      Contact.class, "contacts", ContactCollection::new, ContactCollection::setContacts, ContactCollection::setTotalRecords,
+      GetOrganizationsStorageContactsResponse::respond200WithApplicationJson,
+      GetOrganizationsStorageContactsResponse::respond400WithTextPlain,
+      GetOrganizationsStorageContactsResponse::respond500WithTextPlain);
+
+  public static final EntitiesMetadataHolder<Email, EmailCollection> EMAILS = new EntitiesMetadataHolder<>(
+      Email.class, "emails", EmailCollection::new, EmailCollection::setEmails, EmailCollection::setTotalRecords,
+      GetOrganizationsStorageEmailsResponse::respond200WithApplicationJson,
+      GetOrganizationsStorageEmailsResponse::respond400WithTextPlain,
+      GetOrganizationsStorageEmailsResponse::respond500WithTextPlain);
+
+  public static final EntitiesMetadataHolder<Interface, InterfaceCollection> INTERFACES = new EntitiesMetadataHolder<>(
+      Interface.class, "interfaces", InterfaceCollection::new, InterfaceCollection::setInterfaces, InterfaceCollection::setTotalRecords,
+      GetOrganizationsStorageInterfacesResponse::respond200WithApplicationJson,
+      GetOrganizationsStorageInterfacesResponse::respond400WithTextPlain,
+      GetOrganizationsStorageInterfacesResponse::respond500WithTextPlain);
+
+  public static final EntitiesMetadataHolder<Organization, OrganizationCollection> ORGANIZATIONS = new EntitiesMetadataHolder<>(
+      Organization.class, "organizations", OrganizationCollection::new, OrganizationCollection::setOrganizations,
+      OrganizationCollection::setTotalRecords,
+      GetOrganizationsStorageOrganizationsResponse::respond200WithApplicationJson,
+      GetOrganizationsStorageOrganizationsResponse::respond400WithTextPlain,
+      GetOrganizationsStorageOrganizationsResponse::respond500WithTextPlain);
+
+  public static final EntitiesMetadataHolder<PhoneNumber, PhoneNumberCollection> PHONE_NUMBERS = new EntitiesMetadataHolder<>(
+      PhoneNumber.class, "phoneNumbers", PhoneNumberCollection::new, PhoneNumberCollection::setPhoneNumbers,
+      PhoneNumberCollection::setTotalRecords,
+      GetOrganizationsStoragePhoneNumbersResponse::respond200WithApplicationJson,
+      GetOrganizationsStoragePhoneNumbersResponse::respond400WithTextPlain,
+      GetOrganizationsStoragePhoneNumbersResponse::respond500WithTextPlain);
+
+  public static final EntitiesMetadataHolder<Url, UrlCollection> URLS = new EntitiesMetadataHolder<>(
+      Url.class, "urls", UrlCollection::new, UrlCollection::setUrls, UrlCollection::setTotalRecords,
+      GetOrganizationsStorageUrlsResponse::respond200WithApplicationJson,
+      GetOrganizationsStorageUrlsResponse::respond400WithTextPlain,
+      GetOrganizationsStorageUrlsResponse::respond500WithTextPlain);
+
+  private EntitiesMetadataRegistry() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * Does nothing by itself: calling it forces the class initialization so that all the holders are built eagerly.
+   */
+  public static void init() {
+    // all the holders are built by the static initializers
+  }
+}
@@ -0,0 +1,63 @@
+package org.folio.rest.persist;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Properties of the entities returned by the {@code fields} query parameter. The projection is built by PostgreSQL from
+ * the stored jsonb, so the properties left out are neither sent by the database nor parsed nor written into the
+ * response. Only top-level properties can be selected, the id is always part of the projection and the properties the
+ * entity does not have are left out rather than returned as {@code null}; the selected properties are returned as
+ * stored, {@code null} values within them included.
+ */
+public class EntitiesProjection {
+
+  private static final String ID = "id";
+  private static final int MAX_PROPERTIES = 50;
+  private static final Pattern PROPERTY = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
+
+  private final Set<String> properties;
+
+  private EntitiesProjection(Set<String> properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * @param fields comma separated top-level properties
+   * @return the projection or {@code null} if all the properties are to be returned
+   * @throws IllegalArgumentException if a property cannot be selected
+   */
+  public static EntitiesProjection of(String fields) {
+    if (StringUtils.isBlank(fields)) {
+      return null;
+    }
+    Set<String> properties = new LinkedHashSet<>();
+    properties.add(ID);
+    for (String property : StringUtils.split(fields, ',')) {
+      String trimmed = property.trim();
+      if (!PROPERTY.matcher(trimmed).matches()) {
+        throw new IllegalArgumentException(String.format("Cannot select property %s, only top-level properties can be selected", trimmed));
+      }
+      properties.add(trimmed);
+    }
+    if (properties.size() > MAX_PROPERTIES) {
+      throw new IllegalArgumentException(String.format("Cannot select more than %d properties", MAX_PROPERTIES));
+    }
+    return new EntitiesProjection(properties);
+  }
+
+  /**
+   * @param jsonb expression of the entity's jsonb
+   * @return expression of the jsonb holding only the selected properties
+   */
+  public String buildJsonbColumn(String jsonb) {
+    StringBuilder keys = new StringBuilder();
+    for (String property : properties) {
+      keys.append(keys.length() == 0 ? "" : ", ").append('\'').append(property).append('\'');
+    }
+    return "(SELECT jsonb_object_agg(key, value) FROM jsonb_each(" + jsonb + ") WHERE key IN (" + keys + "))";
+  }
+}
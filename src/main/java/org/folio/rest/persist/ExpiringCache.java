@@ -0,0 +1,72 @@
+package org.folio.rest.persist;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Small thread-safe LRU cache with an optional time to live of the entries. Once {@code maxSize} is reached the least
+ * recently used entry is evicted.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class ExpiringCache<K, V> {
+
+  private final long ttlMillis;
+  private final Map<K, Entry<V>> entries;
+
+  /**
+   * @param maxSize maximum number of entries kept
+   * @param ttlMillis time to live of an entry in milliseconds, entries never expire if it is not positive
+   */
+  public ExpiringCache(int maxSize, long ttlMillis) {
+    this.ttlMillis = ttlMillis;
+    this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * @return cached value or {@code null} if there is no such entry or it is expired
+   */
+  public synchronized V get(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (ttlMillis > 0 && System.currentTimeMillis() - entry.createdAt > ttlMillis) {
+      entries.remove(key);
+      return null;
+    }
+    return entry.value;
+  }
+
+  public synchronized void put(K key, V value) {
+    entries.put(key, new Entry<>(value));
+  }
+
+  public synchronized void invalidate(K key) {
+    entries.remove(key);
+  }
+
+  public synchronized void invalidateIf(Predicate<K> keyPredicate) {
+    entries.keySet().removeIf(keyPredicate);
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private static class Entry<V> {
+    private final V value;
+    private final long createdAt = System.currentTimeMillis();
+
+    private Entry(V value) {
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranked full-text search over the {@code search_vector} column of a table. The column holds a weighted tsvector of the
+ * searchable fields, kept up to date by a trigger and indexed with GIN (see {@code schema.json}), so matching the words
+ * never reads the jsonb. The words of the text are all required and matched without accents or case; the records are
+ * ordered by {@code ts_rank}, then by id so that the pages are stable.
+ */
+public final class FullTextSearch {
+  private static final Logger log = LoggerFactory.getLogger(FullTextSearch.class);
+
+  private static final String MATCHES = " FROM %1$s, plainto_tsquery('simple', %2$s.f_unaccent(?)) query WHERE search_vector @@ query";
+  private static final String SEARCH = "SELECT jsonb, count(*) OVER ()" + MATCHES
+    + " ORDER BY ts_rank(search_vector, query) DESC, id LIMIT %3$d OFFSET %4$d";
+  private static final String COUNT = "SELECT count(*)" + MATCHES;
+
+  private FullTextSearch() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @param queryHolder table, offset and limit of the page, the query is the text to search for
+   */
+  public static <T, E> void search(EntitiesMetadataHolder<T, E> entitiesMetadataHolder, QueryHolder queryHolder,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
+    try {
+      String fullTableName = HelperUtils.getFullTableName(okapiHeaders, queryHolder.getTable());
+      String schema = fullTableName.substring(0, fullTableName.indexOf('.'));
+      JsonArray params = new JsonArray().add(queryHolder.getQuery());
+      String sql = String.format(SEARCH, fullTableName, schema, queryHolder.getLimit(), queryHolder.getOffset());
+      PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
+      SlowQueryLog.select(postgresClient, fullTableName, queryHolder, sql, params, reply -> {
+        if (reply.failed()) {
+          asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(reply.cause().getLocalizedMessage())));
+          return;
+        }
+        List<JsonArray> rows = reply.result().getResults();
+        // the window count comes with every row, it is only missing when the offset is past the last match
+        if (!rows.isEmpty() || queryHolder.getOffset() == 0) {
+          asyncResultHandler.handle(Future.succeededFuture(respondWithPage(entitiesMetadataHolder, rows, rows.isEmpty() ? 0 : rows.get(0).getLong(1).intValue())));
+          return;
+        }
+        postgresClient.select(String.format(COUNT, fullTableName, schema), params, count -> {
+          if (count.failed()) {
+            asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(count.cause().getLocalizedMessage())));
+          } else {
+            asyncResultHandler.handle(Future.succeededFuture(respondWithPage(entitiesMetadataHolder, rows, count.result().getResults().get(0).getLong(0).intValue())));
+          }
+        });
+      });
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond500WithTextPlain(e.getMessage())));
+    }
+  }
+
+  private static <T, E> Response respondWithPage(EntitiesMetadataHolder<T, E> entitiesMetadataHolder, List<JsonArray> rows, int totalRecords) {
+    List<String> entities = new ArrayList<>(rows.size());
+    rows.forEach(row -> entities.add(row.getValue(0).toString()));
+    return HelperUtils.respond200WithJson(StorageMetrics.timeSerialization(
+      () -> JsonbPassthrough.buildCollectionBody(entitiesMetadataHolder.getCollectionName(), entities, totalRecords)));
+  }
+}
@@ -1,66 +1,425 @@
 package org.folio.rest.persist;
 
+import com.github.mauricio.async.db.postgresql.exceptions.GenericDatabaseException;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.rest.tools.utils.TenantTool;
+import scala.Option;
 
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
-import static org.folio.rest.persist.PgUtil.response;
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
 
 public class HelperUtils {
   private static final Logger log = LoggerFactory.getLogger(HelperUtils.class);
 
+  private static final String PARAMETER_STREAMING_THRESHOLD = "streamingThreshold";
+  private static final String PARAMETER_CURSOR_FETCH_SIZE = "cursorFetchSize";
+  private static final String DEFAULT_STREAMING_THRESHOLD = "1000";
+  private static final String DEFAULT_CURSOR_FETCH_SIZE = "500";
+  private static final String SELECT_BY_IDS = "SELECT id, jsonb FROM %s WHERE id = ANY(?::uuid[])";
+  private static final String SELECT_EXPANDED_BY_ID = "SELECT %s FROM %s %s WHERE id = ?::uuid";
+  private static final String SELECT_BY_ID = "SELECT %s FROM %s WHERE id = ?::uuid";
+  private static final String COUNT_COLUMN = "count(*) OVER ()";
+  private static final String DATA_EXCEPTION_CLASS = "22";
+
   private HelperUtils() {
     throw new UnsupportedOperationException("Cannot instantiate utility class.");
   }
 
   public static <T, E> void getEntitiesCollection(EntitiesMetadataHolder<T, E> entitiesMetadataHolder, QueryHolder queryHolder, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
-      String[] fieldList = { "*" };
-
-    final Method respond500;
+    if (StringUtils.isNotBlank(queryHolder.getExpand())) {
+      getExpandedEntitiesCollection(entitiesMetadataHolder, queryHolder, asyncResultHandler, vertxContext, okapiHeaders);
+      return;
+    }
+    if (queryHolder.getPageToken() != null) {
+      getEntitiesCollectionByKeyset(entitiesMetadataHolder, queryHolder, asyncResultHandler, vertxContext, okapiHeaders);
+      return;
+    }
+    if (queryHolder.getLimit() >= getStreamingThreshold()) {
+      streamEntitiesCollection(entitiesMetadataHolder, queryHolder, asyncResultHandler, vertxContext, okapiHeaders);
+      return;
+    }
 
     try {
-      respond500 = entitiesMetadataHolder.getRespond500WithTextPlainMethod();
+      TotalRecordsStrategy strategy = queryHolder.getTotalRecordsStrategy();
+      boolean exactCount = strategy == TotalRecordsStrategy.EXACT;
+      PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
+      String fullTableName = getFullTableName(okapiHeaders, queryHolder.getTable());
+      String columns = buildEntityColumns(EntitiesProjection.of(queryHolder.getFields())) + (exactCount ? ", " + COUNT_COLUMN : "");
+      SlowQueryLog.select(postgresClient, fullTableName, queryHolder, queryHolder.buildSelectQuery(fullTableName, columns), queryHolder.buildParameters(), reply -> {
+        if (reply.failed()) {
+          asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(reply.cause().getLocalizedMessage())));
+          return;
+        }
+        List<JsonArray> rows = reply.result().getResults();
+        // the window count comes with every row, it is only missing when the offset is past the last record
+        if (exactCount && (!rows.isEmpty() || queryHolder.getOffset() == 0)) {
+          Integer totalRecords = rows.isEmpty() ? 0 : rows.get(0).getLong(2).intValue();
+          asyncResultHandler.handle(Future.succeededFuture(respondWithPage(entitiesMetadataHolder, queryHolder, rows, totalRecords, strategy)));
+          return;
+        }
+        TotalRecordsCounter.count(postgresClient, queryHolder, fullTableName, strategy, count -> {
+          if (count.succeeded()) {
+            asyncResultHandler.handle(Future.succeededFuture(respondWithPage(entitiesMetadataHolder, queryHolder, rows, count.result(), strategy)));
+          } else {
+            asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(count.cause().getLocalizedMessage())));
+          }
+        });
+      });
+    } catch (QueryValidationException | IllegalArgumentException e) {
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(e.getMessage())));
     } catch (Exception e) {
       log.error(e.getMessage(), e);
-      asyncResultHandler.handle(response(e.getMessage(), null, null));
-      return;
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond500WithTextPlain(e.getMessage())));
     }
 
+  }
+
+  /**
+   * Builds the collection response for large pages. Rows are read from a server-side cursor in batches and their jsonb
+   * text is appended to the response body as is, so neither the whole result set nor the entity POJOs are ever
+   * materialized, and the ETag is digested row by row.
+   * <p>
+   * The memory held by the request is still that of the whole serialized page: the RMB sends a response only once its
+   * entity is complete, so the body cannot be written to the socket while the cursor is read. Memory per request thus
+   * grows with the limit of the page, not with the size of the table; reading a table whatever its size takes keyset
+   * paging ({@code pageToken}) or the NDJSON export.
+   */
+  public static <T, E> void streamEntitiesCollection(EntitiesMetadataHolder<T, E> entitiesMetadataHolder, QueryHolder queryHolder, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
     try {
-      Method respond200 = entitiesMetadataHolder.getRespond200WithApplicationJson();
-      Method respond400 = entitiesMetadataHolder.getRespond400WithTextPlainMethod();
+      TotalRecordsStrategy strategy = queryHolder.getTotalRecordsStrategy();
       PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
-      postgresClient.get(queryHolder.getTable(), entitiesMetadataHolder.getClazz(), fieldList, queryHolder.buildCQLQuery(), true, false, reply -> {
-        try {
-          if (reply.succeeded()) {
-            E collection = entitiesMetadataHolder.getCollectionClazz().newInstance();
-            List<T> results = reply.result().getResults();
-            Method setResults =  entitiesMetadataHolder.getSetResultsMethod();
-            Method setTotalRecordsMethod =  entitiesMetadataHolder.getSetTotalRecordsMethod();
-            setResults.invoke(collection, results);
-            Integer totalRecords = reply.result().getResultInfo().getTotalRecords();
-            setTotalRecordsMethod.invoke(collection, totalRecords);
-            asyncResultHandler.handle(response(collection, respond200, respond500));
+      String fullTableName = getFullTableName(okapiHeaders, queryHolder.getTable());
+      String selectQuery = queryHolder.buildSelectQuery(fullTableName, buildEntityColumns(EntitiesProjection.of(queryHolder.getFields())));
+      JsonArray parameters = queryHolder.buildParameters();
+
+      StringBuilder body = new StringBuilder("{\"").append(entitiesMetadataHolder.getCollectionName()).append("\":[");
+      int bodyStart = body.length();
+      ETags.PageTag tag = new ETags.PageTag();
+      long start = System.nanoTime();
+      StorageMetrics.statementStarted();
+      new CursorReader(postgresClient, selectQuery, parameters, getCursorFetchSize()).read(row -> {
+        if (body.length() > bodyStart) {
+          body.append(',');
+        }
+        body.append(row.getValue(0).toString());
+        tag.add(row.getString(1));
+      }, read -> {
+        if (read.failed()) {
+          StorageMetrics.statementFailed();
+          asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(read.cause().getLocalizedMessage())));
+          return;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        StorageMetrics.statementCompleted(queryHolder.getTable(), tag.getRecords(), elapsedNanos);
+        SlowQueryLog.record(postgresClient, fullTableName, queryHolder, selectQuery, parameters, tag.getRecords(), elapsedNanos);
+        TotalRecordsCounter.count(postgresClient, queryHolder, fullTableName, strategy, count -> {
+          if (count.succeeded()) {
+            String etag = tag.build(count.result());
+            asyncResultHandler.handle(Future.succeededFuture(respondWithPage(etag, () -> {
+              JsonbPassthrough.closeCollection(body, count.result());
+              return body.toString();
+            }, strategy, queryHolder.getIfNoneMatch())));
           } else {
-            asyncResultHandler.handle(response(reply.cause().getLocalizedMessage(), respond400, respond500));
+            asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(count.cause().getLocalizedMessage())));
+          }
+        });
+      });
+    } catch (QueryValidationException | IllegalArgumentException e) {
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(e.getMessage())));
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond500WithTextPlain(e.getMessage())));
+    }
+  }
+
+  /**
+   * Builds the collection page following the one identified by the page token of the query holder. The token of the
+   * next page is returned in the {@link KeysetPage#NEXT_PAGE_TOKEN_HEADER} header unless the page is the last one.
+   */
+  public static <T, E> void getEntitiesCollectionByKeyset(EntitiesMetadataHolder<T, E> entitiesMetadataHolder, QueryHolder queryHolder, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
+    try {
+      TotalRecordsStrategy strategy = queryHolder.getTotalRecordsStrategy();
+      PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
+      String fullTableName = getFullTableName(okapiHeaders, queryHolder.getTable());
+      KeysetPage keysetPage = KeysetPage.of(queryHolder);
+
+      SlowQueryLog.select(postgresClient, fullTableName, queryHolder, keysetPage.buildSelectQuery(fullTableName), keysetPage.buildParameters(), page -> {
+        if (page.failed()) {
+          asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(page.cause().getLocalizedMessage())));
+          return;
+        }
+        TotalRecordsCounter.count(postgresClient, queryHolder, fullTableName, strategy, count -> {
+          try {
+            if (count.succeeded()) {
+              List<JsonArray> rows = page.result().getResults();
+              Response response = respondWithPage(entitiesMetadataHolder, queryHolder, rows, count.result(), strategy);
+              if (!rows.isEmpty() && rows.size() == keysetPage.getLimit()) {
+                response = withHeader(response, KeysetPage.NEXT_PAGE_TOKEN_HEADER, keysetPage.buildNextPageToken(rows.get(rows.size() - 1)));
+              }
+              asyncResultHandler.handle(Future.succeededFuture(response));
+            } else {
+              asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(count.cause().getLocalizedMessage())));
+            }
+          } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond500WithTextPlain(e.getMessage())));
           }
-        } catch (Exception e) {
-          log.error(e.getMessage(), e);
-          asyncResultHandler.handle(response(e.getMessage(), respond500, respond500));
+        });
+      });
+    } catch (QueryValidationException | IllegalArgumentException e) {
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(e.getMessage())));
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond500WithTextPlain(e.getMessage())));
+    }
+  }
+
+  /**
+   * Builds the collection page with the related records of every entity embedded, see {@link EntitiesExpansion}. The
+   * page is read with a single statement regardless of the number of related records.
+   */
+  public static <T, E> void getExpandedEntitiesCollection(EntitiesMetadataHolder<T, E> entitiesMetadataHolder, QueryHolder queryHolder, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
+    try {
+      if (queryHolder.getPageToken() != null) {
+        throw new IllegalArgumentException("expand is not supported with keyset paging");
+      }
+      TotalRecordsStrategy strategy = queryHolder.getTotalRecordsStrategy();
+      EntitiesExpansion expansion = EntitiesExpansion.of(queryHolder.getTable(), queryHolder.getExpand());
+      PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
+      String fullTableName = getFullTableName(okapiHeaders, queryHolder.getTable());
+
+      String selectQuery = queryHolder.buildSelectQuery(fullTableName,
+        expansion.buildJsonbColumn(okapiHeaders, buildEntityJsonb(EntitiesProjection.of(queryHolder.getFields()), queryHolder.getTable() + ".jsonb")));
+      SlowQueryLog.select(postgresClient, fullTableName, queryHolder, selectQuery, queryHolder.buildParameters(), page -> {
+        if (page.failed()) {
+          asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(page.cause().getLocalizedMessage())));
+          return;
         }
+        TotalRecordsCounter.count(postgresClient, queryHolder, fullTableName, strategy, count -> {
+          if (count.succeeded()) {
+            List<String> entities = new ArrayList<>();
+            List<String> hashes = new ArrayList<>();
+            for (JsonArray row : page.result().getResults()) {
+              String entity = row.getValue(0).toString();
+              entities.add(entity);
+              hashes.add(ETags.of(entity));
+            }
+            String etag = ETags.ofPage(count.result(), hashes);
+            asyncResultHandler.handle(Future.succeededFuture(respondWithPage(etag,
+              () -> JsonbPassthrough.buildCollectionBody(entitiesMetadataHolder.getCollectionName(), entities, count.result()), strategy, queryHolder.getIfNoneMatch())));
+          } else {
+            asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(count.cause().getLocalizedMessage())));
+          }
+        });
       });
+    } catch (QueryValidationException | IllegalArgumentException e) {
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(e.getMessage())));
     } catch (Exception e) {
       log.error(e.getMessage(), e);
-      asyncResultHandler.handle(response(e.getMessage(), respond500, respond500));
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond500WithTextPlain(e.getMessage())));
     }
+  }
+
+  /**
+   * Fetches the entity by id as stored, or its projection, without mapping it to a POJO, together with the hash its
+   * ETag is made of. A matching {@code If-None-Match} is answered with 304.
+   *
+   * @param fields comma separated properties to return or {@code null} for all of them, see {@link EntitiesProjection}
+   */
+  public static void getEntityById(String table, String id, String fields, String ifNoneMatch, Function<Object, Response> respond400,
+      Function<Object, Response> respond404, Function<Object, Response> respond500, Handler<AsyncResult<Response>> asyncResultHandler,
+      Context vertxContext, Map<String, String> okapiHeaders) {
+    try {
+      String sql = String.format(SELECT_BY_ID, buildEntityColumns(EntitiesProjection.of(fields)), getFullTableName(okapiHeaders, table));
+
+      PgUtil.postgresClient(vertxContext, okapiHeaders).select(sql, new JsonArray().add(id), StorageMetrics.timedStatement(table, StorageMetrics.SELECT, reply -> {
+        if (reply.failed()) {
+          log.error(reply.cause().getMessage(), reply.cause());
+          asyncResultHandler.handle(Future.succeededFuture(respond500.apply(reply.cause().getMessage())));
+        } else if (reply.result().getResults().isEmpty()) {
+          asyncResultHandler.handle(Future.succeededFuture(respond404.apply(Response.Status.NOT_FOUND.getReasonPhrase())));
+        } else {
+          JsonArray row = reply.result().getResults().get(0);
+          asyncResultHandler.handle(Future.succeededFuture(JsonbPassthrough.respondWithEntity(row.getString(1), row.getValue(0).toString(), ifNoneMatch)));
+        }
+      }));
+    } catch (IllegalArgumentException e) {
+      asyncResultHandler.handle(Future.succeededFuture(respond400.apply(e.getMessage())));
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      asyncResultHandler.handle(Future.succeededFuture(respond500.apply(e.getMessage())));
+    }
+  }
+
+  /**
+   * Fetches the entity with its related records embedded, see {@link EntitiesExpansion}, with a single statement.
+   */
+  public static void getExpandedEntityById(String table, String id, String expand, String fields, String ifNoneMatch, Function<Object, Response> respond400,
+      Function<Object, Response> respond404, Function<Object, Response> respond500, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
+    try {
+      EntitiesExpansion expansion = EntitiesExpansion.of(table, expand);
+      String jsonb = buildEntityJsonb(EntitiesProjection.of(fields), table + ".jsonb");
+      String sql = String.format(SELECT_EXPANDED_BY_ID, expansion.buildJsonbColumn(okapiHeaders, jsonb), getFullTableName(okapiHeaders, table), table);
+
+      PgUtil.postgresClient(vertxContext, okapiHeaders).select(sql, new JsonArray().add(id), StorageMetrics.timedStatement(table, StorageMetrics.SELECT, reply -> {
+        if (reply.failed()) {
+          log.error(reply.cause().getMessage(), reply.cause());
+          asyncResultHandler.handle(Future.succeededFuture(respond500.apply(reply.cause().getMessage())));
+        } else if (reply.result().getResults().isEmpty()) {
+          asyncResultHandler.handle(Future.succeededFuture(respond404.apply(Response.Status.NOT_FOUND.getReasonPhrase())));
+        } else {
+          String entity = reply.result().getResults().get(0).getValue(0).toString();
+          asyncResultHandler.handle(Future.succeededFuture(JsonbPassthrough.respondWithEntity(ETags.of(entity), entity, ifNoneMatch)));
+        }
+      }));
+    } catch (IllegalArgumentException e) {
+      asyncResultHandler.handle(Future.succeededFuture(respond400.apply(e.getMessage())));
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      asyncResultHandler.handle(Future.succeededFuture(respond500.apply(e.getMessage())));
+    }
+  }
+
+  /**
+   * Fetches the entities with the given ids with a single {@code id = ANY(...)} query. The entities are returned in the
+   * order of the ids, each one once, and the ids without an entity are listed in {@code missingIds}.
+   */
+  public static <T, E> void getEntitiesByIds(EntitiesMetadataHolder<T, E> entitiesMetadataHolder, String table, List<String> ids, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
+    try {
+      Set<String> requestedIds = new LinkedHashSet<>();
+      ids.forEach(id -> requestedIds.add(id.toLowerCase(Locale.ROOT)));
+      // the ids are validated as UUIDs by the schema, so they can be safely joined into an array literal
+      JsonArray parameters = new JsonArray().add("{" + String.join(",", requestedIds) + "}");
+      String sql = String.format(SELECT_BY_IDS, getFullTableName(okapiHeaders, table));
+
+      PgUtil.postgresClient(vertxContext, okapiHeaders).select(sql, parameters, StorageMetrics.timedStatement(table, StorageMetrics.SELECT, reply -> {
+        if (reply.failed()) {
+          asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond400WithTextPlain(reply.cause().getLocalizedMessage())));
+          return;
+        }
+        Map<String, String> entities = new HashMap<>();
+        reply.result().getResults().forEach(row -> entities.put(row.getValue(0).toString(), row.getValue(1).toString()));
+
+        StringBuilder body = new StringBuilder("{\"").append(entitiesMetadataHolder.getCollectionName()).append("\":[");
+        JsonArray missingIds = new JsonArray();
+        int found = 0;
+        for (String id : requestedIds) {
+          String entity = entities.get(id);
+          if (entity == null) {
+            missingIds.add(id);
+          } else {
+            body.append(found++ == 0 ? "" : ",").append(entity);
+          }
+        }
+        body.append("],\"missingIds\":").append(missingIds.encode()).append(",\"totalRecords\":").append(found).append('}');
+        asyncResultHandler.handle(Future.succeededFuture(respond200WithJson(body.toString())));
+      }));
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      asyncResultHandler.handle(Future.succeededFuture(entitiesMetadataHolder.respond500WithTextPlain(e.getMessage())));
+    }
+  }
+
+  /**
+   * @return table name qualified with the schema of the tenant from the okapi headers
+   */
+  public static String getFullTableName(Map<String, String> okapiHeaders, String table) {
+    return PostgresClient.convertToPsqlStandard(TenantTool.tenantId(okapiHeaders)) + "." + table;
+  }
+
+  /**
+   * @return whether the statement failed with a data exception (SQLSTATE class 22), e.g. a value of the query not valid
+   * for the type of its field, as opposed to a failure of the database or of the module
+   */
+  public static boolean isDataException(Throwable throwable) {
+    if (!(throwable instanceof GenericDatabaseException)) {
+      return false;
+    }
+    Option<String> sqlState = ((GenericDatabaseException) throwable).errorMessage().fields().get('C');
+    return sqlState.isDefined() && sqlState.get().startsWith(DATA_EXCEPTION_CLASS);
+  }
+
+  /**
+   * @return 200 response with the already serialized json body
+   */
+  public static Response respond200WithJson(String json) {
+    return Response.status(Response.Status.OK)
+      .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+      .entity(json)
+      .build();
+  }
+
+  /**
+   * @return copy of the response with the header added
+   */
+  public static Response withHeader(Response response, String name, Object value) {
+    return Response.fromResponse(response).header(name, value).build();
+  }
+
+  /**
+   * @param projection properties to select or {@code null} for all of them
+   * @return columns of the jsonb, or its projection, and of its hash
+   */
+  static String buildEntityColumns(EntitiesProjection projection) {
+    if (projection == null) {
+      return "jsonb, " + ETags.HASH_COLUMN;
+    }
+    String jsonb = projection.buildJsonbColumn("jsonb");
+    return jsonb + ", " + ETags.hashColumn(jsonb);
+  }
+
+  private static String buildEntityJsonb(EntitiesProjection projection, String jsonb) {
+    return projection == null ? jsonb : projection.buildJsonbColumn(jsonb);
+  }
+
+  /**
+   * @param rows rows starting with the jsonb text and the hash of an entity
+   */
+  static <T, E> Response respondWithPage(EntitiesMetadataHolder<T, E> entitiesMetadataHolder, QueryHolder queryHolder, List<JsonArray> rows, Integer totalRecords, TotalRecordsStrategy strategy) {
+    List<String> hashes = new ArrayList<>(rows.size());
+    rows.forEach(row -> hashes.add(row.getString(1)));
+    return respondWithPage(ETags.ofPage(totalRecords, hashes), () -> {
+      List<String> entities = new ArrayList<>(rows.size());
+      rows.forEach(row -> entities.add(row.getValue(0).toString()));
+      return JsonbPassthrough.buildCollectionBody(entitiesMetadataHolder.getCollectionName(), entities, totalRecords);
+    }, strategy, queryHolder.getIfNoneMatch());
+  }
+
+  /**
+   * @param body supplier of the response body, only called if the client's copy is not current
+   */
+  static Response respondWithPage(String etag, Supplier<String> body, TotalRecordsStrategy strategy, String ifNoneMatch) {
+    Response response = ETags.matches(ifNoneMatch, etag) ? ETags.notModified(etag)
+      : ETags.withETag(respond200WithJson(StorageMetrics.timeSerialization(body)), etag);
+    return withHeader(response, TotalRecordsCounter.STRATEGY_HEADER, strategy.getValue());
+  }
+
+  private static int getStreamingThreshold() {
+    return Integer.parseInt(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_STREAMING_THRESHOLD, DEFAULT_STREAMING_THRESHOLD));
+  }
 
+  private static int getCursorFetchSize() {
+    return Integer.parseInt(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_CURSOR_FETCH_SIZE, DEFAULT_CURSOR_FETCH_SIZE));
   }
 
 }
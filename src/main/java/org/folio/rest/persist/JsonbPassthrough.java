@@ -0,0 +1,50 @@
+package org.folio.rest.persist;
+
+import javax.ws.rs.core.Response;
+import java.util.List;
+
+/**
+ * Builds the bodies of the reads from the jsonb text of the rows as PostgreSQL returns it. The stored documents are
+ * valid JSON already, so instead of mapping them to the entity POJOs and serializing those back, the text of a record
+ * is answered as is and the texts of a page are spliced into the collection envelope with {@code totalRecords}
+ * appended. See RawJsonbBenchmark for the cost saved.
+ */
+public final class JsonbPassthrough {
+
+  private JsonbPassthrough() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @param entity jsonb text of the record
+   * @param etag tag of the record, see {@link ETags}
+   */
+  static Response respondWithEntity(String etag, String entity, String ifNoneMatch) {
+    return ETags.matches(ifNoneMatch, etag) ? ETags.notModified(etag)
+      : ETags.withETag(HelperUtils.respond200WithJson(entity), etag);
+  }
+
+  /**
+   * @param entities jsonb texts of the records of the page
+   * @param totalRecords left out of the body if {@code null}
+   */
+  static String buildCollectionBody(String collectionName, List<String> entities, Integer totalRecords) {
+    StringBuilder body = new StringBuilder("{\"").append(collectionName).append("\":[");
+    for (int i = 0; i < entities.size(); i++) {
+      body.append(i == 0 ? "" : ",").append(entities.get(i));
+    }
+    closeCollection(body, totalRecords);
+    return body.toString();
+  }
+
+  /**
+   * Ends the array of records opened by the body and the envelope, for the bodies written record by record.
+   */
+  static void closeCollection(StringBuilder body, Integer totalRecords) {
+    body.append(']');
+    if (totalRecords != null) {
+      body.append(",\"totalRecords\":").append(totalRecords);
+    }
+    body.append('}');
+  }
+}
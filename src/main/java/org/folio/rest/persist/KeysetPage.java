@@ -0,0 +1,218 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.cql2pgjson.exception.FieldException;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.z3950.zing.cql.CQLNode;
+import org.z3950.zing.cql.CQLParseException;
+import org.z3950.zing.cql.CQLParser;
+import org.z3950.zing.cql.CQLSortNode;
+import org.z3950.zing.cql.Modifier;
+import org.z3950.zing.cql.ModifierSet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Keyset (cursor) pagination of a collection. Instead of an offset, every page carries an opaque token with the sort key
+ * and the id of the last record of the previous page, so the next page is an index seek on {@code (sort key, id)}
+ * regardless of how deep it is. Only the fields with a matching index (see the keyset indexes in schema.json) can be
+ * used as a sort key, records are always sorted by id as well to make the order unique.
+ */
+public class KeysetPage {
+
+  public static final String FIRST_PAGE_TOKEN = "first";
+  public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+
+  private static final String ID_FIELD = "id";
+  private static final String SORT_DESCENDING = "sort.descending";
+  private static final String TOKEN_SORT_FIELD = "s";
+  private static final String TOKEN_DESCENDING = "d";
+  private static final String TOKEN_SORT_VALUE = "v";
+  private static final String TOKEN_ID = "i";
+
+  private static final Map<String, Set<String>> KEYSET_FIELDS;
+  static {
+    Map<String, Set<String>> fields = new HashMap<>();
+    fields.put("organizations", new HashSet<>(asList("name", "code")));
+    fields.put("contacts", new HashSet<>(asList("lastName", "firstName")));
+    fields.put("interfaces", new HashSet<>(asList("name")));
+    fields.put("categories", new HashSet<>(asList("value")));
+    KEYSET_FIELDS = Collections.unmodifiableMap(fields);
+  }
+
+  private final String table;
+  private final TranslatedQuery whereQuery;
+  private final String sortField;
+  private final boolean descending;
+  private final JsonObject token;
+  private final int limit;
+  private final EntitiesProjection projection;
+
+  private KeysetPage(String table, TranslatedQuery whereQuery, String sortField, boolean descending, JsonObject token, int limit,
+      EntitiesProjection projection) {
+    this.table = table;
+    this.whereQuery = whereQuery;
+    this.sortField = sortField;
+    this.descending = descending;
+    this.token = token;
+    this.limit = limit;
+    this.projection = projection;
+  }
+
+  /**
+   * @throws QueryValidationException if the query cannot be paged by keyset or the token does not belong to the query
+   */
+  public static KeysetPage of(QueryHolder queryHolder) throws FieldException, QueryValidationException {
+    TranslatedQuery whereQuery = null;
+    String sortField = ID_FIELD;
+    boolean descending = false;
+
+    if (StringUtils.isNotBlank(queryHolder.getQuery())) {
+      CQLNode node = parse(queryHolder.getQuery());
+      if (node instanceof CQLSortNode) {
+        CQLSortNode sortNode = (CQLSortNode) node;
+        List<ModifierSet> sortIndexes = sortNode.getSortIndexes();
+        if (sortIndexes.size() != 1) {
+          throw new QueryValidationException("Keyset paging supports sorting by a single field only");
+        }
+        sortField = sortIndexes.get(0).getBase();
+        for (Modifier modifier : sortIndexes.get(0).getModifiers()) {
+          descending |= SORT_DESCENDING.equalsIgnoreCase(modifier.getType());
+        }
+        node = sortNode.getSubtree();
+      }
+      whereQuery = CqlQueryTranslator.translate(queryHolder.getTable(), node.toCQL());
+    }
+
+    if (!ID_FIELD.equals(sortField) && !KEYSET_FIELDS.getOrDefault(queryHolder.getTable(), Collections.emptySet()).contains(sortField)) {
+      throw new QueryValidationException(String.format("Keyset paging of %s does not support sorting by %s", queryHolder.getTable(), sortField));
+    }
+
+    JsonObject token = decodeToken(queryHolder.getPageToken());
+    if (token != null && (!sortField.equals(token.getString(TOKEN_SORT_FIELD)) || descending != token.getBoolean(TOKEN_DESCENDING))) {
+      throw new QueryValidationException("Page token does not match the sorting of the query");
+    }
+    return new KeysetPage(queryHolder.getTable(), whereQuery, sortField, descending, token, queryHolder.getLimit(),
+      EntitiesProjection.of(queryHolder.getFields()));
+  }
+
+  /**
+   * The query selects {@code jsonb} or its projection, the hash of it (see {@link ETags}), the sort key and the id of the records, the parameters are returned by
+   * {@link #buildParameters()}.
+   *
+   * @param fullTableName table name qualified with the tenant's schema
+   */
+  public String buildSelectQuery(String fullTableName) {
+    String keyExpression = getKeyExpression();
+    String direction = descending ? " DESC" : "";
+    StringBuilder sql = new StringBuilder("SELECT ").append(HelperUtils.buildEntityColumns(projection)).append(", ").append(keyExpression).append(", id FROM ").append(fullTableName).append(' ').append(table);
+
+    StringBuilder conditions = new StringBuilder();
+    if (whereQuery != null && StringUtils.isNotBlank(whereQuery.getWhere())) {
+      conditions.append('(').append(whereQuery.getWhere()).append(')');
+    }
+    if (token != null) {
+      if (conditions.length() > 0) {
+        conditions.append(" AND ");
+      }
+      String operator = descending ? " < " : " > ";
+      if (ID_FIELD.equals(sortField)) {
+        conditions.append("id").append(operator).append("?::uuid");
+      } else {
+        conditions.append('(').append(keyExpression).append(", id)").append(operator).append("(?::text, ?::uuid)");
+      }
+    }
+    if (conditions.length() > 0) {
+      sql.append(" WHERE ").append(conditions);
+    }
+
+    sql.append(" ORDER BY ");
+    if (!ID_FIELD.equals(sortField)) {
+      sql.append(keyExpression).append(direction).append(", ");
+    }
+    return sql.append("id").append(direction).append(" LIMIT ").append(limit).toString();
+  }
+
+  /**
+   * @return the literals of the query, see {@link CqlQueryTranslator}, followed by the position of the token
+   */
+  public JsonArray buildParameters() {
+    JsonArray parameters = whereQuery == null ? new JsonArray() : whereQuery.buildParameters();
+    if (token != null) {
+      if (!ID_FIELD.equals(sortField)) {
+        parameters.add(token.getString(TOKEN_SORT_VALUE));
+      }
+      parameters.add(token.getString(TOKEN_ID));
+    }
+    return parameters;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return whether the records are sorted by id only, the one key that never changes
+   */
+  public boolean isSortedById() {
+    return ID_FIELD.equals(sortField);
+  }
+
+  /**
+   * @param lastRow the last row of the page, as selected by {@link #buildSelectQuery(String)}
+   * @return opaque token of the page following the one ending with the row
+   */
+  public String buildNextPageToken(JsonArray lastRow) {
+    JsonObject nextToken = new JsonObject()
+      .put(TOKEN_SORT_FIELD, sortField)
+      .put(TOKEN_DESCENDING, descending)
+      .put(TOKEN_SORT_VALUE, lastRow.getValue(2) == null ? null : lastRow.getValue(2).toString())
+      .put(TOKEN_ID, lastRow.getValue(3).toString());
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(nextToken.encode().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String getKeyExpression() {
+    if (ID_FIELD.equals(sortField)) {
+      return "id";
+    }
+    // must be the same expression as in the keyset indexes of schema.json
+    return String.format("coalesce(lower(f_unaccent(jsonb->>'%s')), '')", sortField);
+  }
+
+  private static JsonObject decodeToken(String pageToken) throws QueryValidationException {
+    if (StringUtils.isBlank(pageToken) || FIRST_PAGE_TOKEN.equals(pageToken)) {
+      return null;
+    }
+    try {
+      JsonObject token = new JsonObject(new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8));
+      if (token.getString(TOKEN_SORT_FIELD) == null || token.getBoolean(TOKEN_DESCENDING) == null || token.getString(TOKEN_ID) == null) {
+        throw new QueryValidationException("Invalid page token");
+      }
+      return token;
+    } catch (QueryValidationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new QueryValidationException("Invalid page token");
+    }
+  }
+
+  private static CQLNode parse(String query) throws QueryValidationException {
+    try {
+      return new CQLParser().parse(query);
+    } catch (CQLParseException | IOException e) {
+      throw new QueryValidationException(e);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Exports the records matching a CQL query as NDJSON, one jsonb per line. The records are read by keyset, see
+ * {@link KeysetPage}: every response carries at most the limit of the query holder and, while records remain, the
+ * {@value #EXPORT_CURSOR_HEADER} header with the query and the position of its last line, to be passed back for the
+ * next lines. Nothing is kept between the responses, neither in the module nor in the database, so an export can be
+ * continued on any instance, is never expired and does not pin a connection while the client is busy with the lines.
+ * <p>
+ * As the responses do not share a snapshot, the export is always in id order and any other sort key is rejected: the
+ * id of a record never changes, so a record cannot move across the position of the cursor and every record present
+ * for the whole export is exported exactly once. A record created meanwhile is exported if its id follows the lines
+ * already returned, one deleted meanwhile if it was returned before.
+ */
+public final class NdjsonExporter {
+  private static final Logger log = LoggerFactory.getLogger(NdjsonExporter.class);
+
+  public static final String EXPORT_CURSOR_HEADER = "X-Export-Cursor";
+  public static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+  private static final String CURSOR_QUERY = "q";
+  private static final String CURSOR_PAGE_TOKEN = "p";
+  private static final String INVALID_CURSOR_MESSAGE = "Invalid export cursor";
+  private static final String UNSUPPORTED_SORT_MESSAGE = "An export is always sorted by id, remove sortBy from the query";
+
+  private NdjsonExporter() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @param queryHolder table, query and number of lines of the response, the offset is ignored
+   * @param cursor cursor of the previous response of the export or {@code null} to start a new one, the query of the
+   *               cursor replaces the one of the query holder
+   */
+  public static void export(QueryHolder queryHolder, String cursor, Function<Object, Response> respond400,
+      Function<Object, Response> respond500, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext,
+      Map<String, String> okapiHeaders) {
+    try {
+      QueryHolder pageHolder = cursor == null
+        ? new QueryHolder(queryHolder.getTable(), queryHolder.getQuery(), 0, queryHolder.getLimit()).withPageToken(KeysetPage.FIRST_PAGE_TOKEN)
+        : decodeCursor(queryHolder, cursor);
+      KeysetPage keysetPage = KeysetPage.of(pageHolder);
+      if (!keysetPage.isSortedById()) {
+        throw new QueryValidationException(UNSUPPORTED_SORT_MESSAGE);
+      }
+      PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
+      String fullTableName = HelperUtils.getFullTableName(okapiHeaders, pageHolder.getTable());
+
+      SlowQueryLog.select(postgresClient, fullTableName, pageHolder, keysetPage.buildSelectQuery(fullTableName), keysetPage.buildParameters(), reply -> {
+        if (reply.failed()) {
+          log.error(reply.cause().getMessage(), reply.cause());
+          asyncResultHandler.handle(Future.succeededFuture(respond500.apply(reply.cause().getMessage())));
+          return;
+        }
+        List<JsonArray> rows = reply.result().getResults();
+        StringBuilder body = new StringBuilder();
+        rows.forEach(row -> body.append(row.getValue(0).toString()).append('\n'));
+        Response response = Response.status(Response.Status.OK)
+          .header(HttpHeaders.CONTENT_TYPE, NDJSON_CONTENT_TYPE)
+          .entity(body.toString())
+          .build();
+
+        if (!rows.isEmpty() && rows.size() == keysetPage.getLimit()) {
+          String nextCursor = encodeCursor(pageHolder.getQuery(), keysetPage.buildNextPageToken(rows.get(rows.size() - 1)));
+          response = HelperUtils.withHeader(response, EXPORT_CURSOR_HEADER, nextCursor);
+        }
+        asyncResultHandler.handle(Future.succeededFuture(response));
+      });
+    } catch (QueryValidationException | IllegalArgumentException e) {
+      asyncResultHandler.handle(Future.succeededFuture(respond400.apply(e.getMessage())));
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      asyncResultHandler.handle(Future.succeededFuture(respond500.apply(e.getMessage())));
+    }
+  }
+
+  private static String encodeCursor(String query, String pageToken) {
+    JsonObject cursor = new JsonObject().put(CURSOR_QUERY, query).put(CURSOR_PAGE_TOKEN, pageToken);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.encode().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return holder of the page following the cursor, with the query of the cursor
+   */
+  private static QueryHolder decodeCursor(QueryHolder queryHolder, String cursor) throws QueryValidationException {
+    try {
+      JsonObject decoded = new JsonObject(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+      String pageToken = decoded.getString(CURSOR_PAGE_TOKEN);
+      if (pageToken == null) {
+        throw new QueryValidationException(INVALID_CURSOR_MESSAGE);
+      }
+      return new QueryHolder(queryHolder.getTable(), decoded.getString(CURSOR_QUERY), 0, queryHolder.getLimit()).withPageToken(pageToken);
+    } catch (QueryValidationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new QueryValidationException(INVALID_CURSOR_MESSAGE);
+    }
+  }
+}
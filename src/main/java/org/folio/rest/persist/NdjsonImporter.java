@@ -0,0 +1,345 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.RestVerticle;
+import org.folio.rest.jaxrs.model.ImportError;
+import org.folio.rest.jaxrs.model.ImportReport;
+import org.folio.rest.jaxrs.model.Metadata;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+
+/**
+ * Imports an NDJSON body streamed by the RMB chunk by chunk, see {@link org.folio.rest.annotations.Stream}. Every line
+ * is parsed and validated on its own, the valid records are inserted {@code importBatchSize} at a time with a single
+ * statement each, one statement after the other. Lines that cannot be imported are reported with their number; only
+ * the first {@value #MAX_REPORTED_ERRORS} are listed, so the state of an import does not grow with the size of the file.
+ * Ids and metadata are assigned the same way {@link EntitiesBatchInserter} does.
+ * <p>
+ * The RMB gives no way to pause the request, so while the database is slower than the upload the parsed batches wait
+ * in line for their insert. At most {@code importMaxPendingBatches} batches wait or run at a time, which bounds the
+ * memory of an import to that many batches plus the one being parsed; an import going past it stops and the rest of
+ * the body is discarded. Once the queued batches are inserted the import is answered with 503, a
+ * {@value #RESUME_LINE_HEADER} header holding the first line that was not imported and a {@code Retry-After} header of
+ * {@code importRetryAfter} seconds: every line before the resume line is imported or reported as failed in the
+ * message, so the client resends the body from that line on instead of the whole file.
+ *
+ * @param <T> entity type
+ */
+public class NdjsonImporter<T> {
+  private static final Logger log = LoggerFactory.getLogger(NdjsonImporter.class);
+
+  private static final String PARAMETER_IMPORT_BATCH_SIZE = "importBatchSize";
+  private static final String DEFAULT_IMPORT_BATCH_SIZE = "1000";
+  private static final String PARAMETER_IMPORT_MAX_PENDING_BATCHES = "importMaxPendingBatches";
+  private static final String DEFAULT_IMPORT_MAX_PENDING_BATCHES = "2";
+  private static final String PARAMETER_IMPORT_RETRY_AFTER = "importRetryAfter";
+  private static final String DEFAULT_IMPORT_RETRY_AFTER = "5";
+  private static final int MAX_REPORTED_ERRORS = 1000;
+  public static final String RESUME_LINE_HEADER = "X-Import-Resume-Line";
+  private static final String RETRY_AFTER_HEADER = "Retry-After";
+  private static final String INSERT = "INSERT INTO %s (id, jsonb) SELECT (record->>'id')::uuid, record"
+    + " FROM jsonb_array_elements(?::jsonb) record ON CONFLICT (id) DO NOTHING RETURNING id";
+  private static final String DUPLICATE_ID_MESSAGE = "Record with this id already exists";
+  private static final String OVERLOADED_MESSAGE = "The database cannot keep up with the upload, the import stopped at line %d:"
+    + " %d lines before it were imported and %d failed, resend the body from line %d on";
+
+  private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+  private static final Map<String, ImportState> imports = new ConcurrentHashMap<>();
+
+  private final String table;
+  private final Class<T> clazz;
+  private final Function<T, String> idGetter;
+  private final BiConsumer<T, String> idSetter;
+  private final BiConsumer<T, Metadata> metadataSetter;
+  private final Function<ImportReport, Response> respond201;
+  private final Function<Object, Response> respond500;
+  private final Function<Object, Response> respond503;
+
+  public NdjsonImporter(String table, Class<T> clazz, Function<T, String> idGetter, BiConsumer<T, String> idSetter,
+      BiConsumer<T, Metadata> metadataSetter, Function<ImportReport, Response> respond201, Function<Object, Response> respond500,
+      Function<Object, Response> respond503) {
+    this.table = table;
+    this.clazz = clazz;
+    this.idGetter = idGetter;
+    this.idSetter = idSetter;
+    this.metadataSetter = metadataSetter;
+    this.respond201 = respond201;
+    this.respond500 = respond500;
+    this.respond503 = respond503;
+  }
+
+  /**
+   * Called by the RMB for every chunk of the body and once more when the body is complete, the response is only sent
+   * after the last call.
+   */
+  public void importChunk(InputStream chunk, Map<String, String> okapiHeaders, Context vertxContext,
+      Handler<AsyncResult<Response>> asyncResultHandler) {
+    String streamId = StringUtils.defaultString(okapiHeaders.get(RestVerticle.STREAM_ID));
+    if (okapiHeaders.containsKey(RestVerticle.STREAM_ABORT)) {
+      imports.remove(streamId);
+      return;
+    }
+
+    ImportState state = imports.computeIfAbsent(streamId, key -> new ImportState(
+      PgUtil.postgresClient(vertxContext, okapiHeaders), HelperUtils.getFullTableName(okapiHeaders, table), buildMetadata(okapiHeaders)));
+    try {
+      state.readChunk(chunk);
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      imports.remove(streamId);
+      asyncResultHandler.handle(Future.succeededFuture(respond500.apply(e.getMessage())));
+      return;
+    }
+
+    if (okapiHeaders.containsKey(RestVerticle.STREAM_COMPLETE)) {
+      imports.remove(streamId);
+      state.complete(report -> asyncResultHandler.handle(Future.succeededFuture(respond201.apply(report))),
+        (line, report) -> asyncResultHandler.handle(Future.succeededFuture(buildStoppedResponse(line, report))));
+    }
+  }
+
+  private Response buildStoppedResponse(int line, ImportReport report) {
+    String message = String.format(OVERLOADED_MESSAGE, line, report.getImported(), report.getFailed(), line);
+    Response response = HelperUtils.withHeader(respond503.apply(message), RESUME_LINE_HEADER, line);
+    return HelperUtils.withHeader(response, RETRY_AFTER_HEADER, getRetryAfter());
+  }
+
+  private static Metadata buildMetadata(Map<String, String> okapiHeaders) {
+    Date now = new Date();
+    String userId = okapiHeaders.get(RestVerticle.OKAPI_USERID_HEADER);
+    return new Metadata()
+      .withCreatedDate(now)
+      .withCreatedByUserId(userId)
+      .withUpdatedDate(now)
+      .withUpdatedByUserId(userId);
+  }
+
+  private static int getBatchSize() {
+    return Integer.parseInt(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_IMPORT_BATCH_SIZE, DEFAULT_IMPORT_BATCH_SIZE));
+  }
+
+  private static int getMaxPendingBatches() {
+    return Integer.parseInt(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_IMPORT_MAX_PENDING_BATCHES, DEFAULT_IMPORT_MAX_PENDING_BATCHES));
+  }
+
+  private static int getRetryAfter() {
+    return Integer.parseInt(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_IMPORT_RETRY_AFTER, DEFAULT_IMPORT_RETRY_AFTER));
+  }
+
+  private final class ImportState {
+    private final PostgresClient postgresClient;
+    private final String sql;
+    private final Metadata metadata;
+    private final int batchSize = getBatchSize();
+    private final int maxPendingBatches = getMaxPendingBatches();
+    // bytes of the line split by the end of the chunk, lines are split on bytes as a chunk may end inside a character
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private final ImportReport report = new ImportReport().withLines(0).withImported(0).withFailed(0);
+    private List<ParsedLine> batch = new ArrayList<>();
+    private int lineNumber;
+    private Future<Void> writes = Future.succeededFuture();
+    // batches waiting for their insert or being inserted
+    private int pendingBatches;
+    // first line after the last queued batch, and the lines failed by the parsing since then
+    private int batchStartLine = 1;
+    private int failedInBatch;
+    // line at which the import stopped for having too many pending batches, 0 while it goes on
+    private int stoppedAtLine;
+
+    private ImportState(PostgresClient postgresClient, String fullTableName, Metadata metadata) {
+      this.postgresClient = postgresClient;
+      this.sql = String.format(INSERT, fullTableName);
+      this.metadata = metadata;
+    }
+
+    private void readChunk(InputStream chunk) throws IOException {
+      byte[] buffer = new byte[8192];
+      int read;
+      while (stoppedAtLine == 0 && (read = chunk.read(buffer)) >= 0) {
+        int lineStart = 0;
+        for (int i = 0; i < read; i++) {
+          if (buffer[i] == '\n') {
+            partialLine.write(buffer, lineStart, i - lineStart);
+            readLine();
+            lineStart = i + 1;
+          }
+        }
+        partialLine.write(buffer, lineStart, read - lineStart);
+      }
+    }
+
+    /**
+     * Both handlers are called once the queued inserts are done, so the report covers every line read.
+     *
+     * @param stoppedHandler called instead of the report handler with the line at which the import stopped, if it did
+     */
+    private void complete(Handler<ImportReport> reportHandler, BiConsumer<Integer, ImportReport> stoppedHandler) {
+      readLine();
+      flush();
+      writes.setHandler(done -> {
+        // the failures of the inserts are found after the failures of the parsing of the following lines
+        report.getErrors().sort(Comparator.comparing(ImportError::getLine));
+        report.setTotalRecords(report.getErrors().size());
+        if (stoppedAtLine > 0) {
+          stoppedHandler.accept(stoppedAtLine, report);
+        } else {
+          reportHandler.handle(report);
+        }
+      });
+    }
+
+    private void readLine() {
+      if (stoppedAtLine > 0) {
+        return;
+      }
+      lineNumber++;
+      String line = new String(partialLine.toByteArray(), StandardCharsets.UTF_8).trim();
+      partialLine.reset();
+      if (line.isEmpty()) {
+        return;
+      }
+      report.setLines(report.getLines() + 1);
+
+      T entity;
+      try {
+        entity = Json.mapper.readValue(line, clazz);
+      } catch (IOException e) {
+        failedInBatch++;
+        fail(lineNumber, null, e.getMessage());
+        return;
+      }
+      Set<ConstraintViolation<T>> violations = validator.validate(entity);
+      if (!violations.isEmpty()) {
+        failedInBatch++;
+        fail(lineNumber, idGetter.apply(entity), violations.stream()
+          .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+          .sorted()
+          .collect(Collectors.joining(", ")));
+        return;
+      }
+      if (StringUtils.isBlank(idGetter.apply(entity))) {
+        idSetter.accept(entity, UUID.randomUUID().toString());
+      }
+      metadataSetter.accept(entity, metadata);
+      batch.add(new ParsedLine(lineNumber, entity));
+      if (batch.size() >= batchSize) {
+        flush();
+      }
+    }
+
+    /**
+     * Queues the insert of the current batch after the inserts already queued, a failed insert fails the lines of its
+     * batch only. Stops the import instead if {@code maxPendingBatches} are already queued; the lines read since the
+     * previous batch are then left out of the report, as the client resends them.
+     */
+    private void flush() {
+      if (batch.isEmpty()) {
+        return;
+      }
+      List<ParsedLine> lines = batch;
+      batch = new ArrayList<>();
+      if (pendingBatches >= maxPendingBatches) {
+        stoppedAtLine = batchStartLine;
+        report.setFailed(report.getFailed() - failedInBatch);
+        report.getErrors().removeIf(error -> error.getLine() >= stoppedAtLine);
+        return;
+      }
+      batchStartLine = lineNumber + 1;
+      failedInBatch = 0;
+      pendingBatches++;
+      writes = writes.compose(v -> insert(lines)).compose(v -> {
+        pendingBatches--;
+        return Future.succeededFuture();
+      });
+    }
+
+    private Future<Void> insert(List<ParsedLine> lines) {
+      Future<Void> inserted = Future.future();
+      StringBuilder records = new StringBuilder("[");
+      List<ParsedLine> candidates = new ArrayList<>(lines.size());
+      Set<String> ids = new HashSet<>();
+      for (ParsedLine line : lines) {
+        String id = idGetter.apply(line.entity).toLowerCase();
+        if (!ids.add(id)) {
+          fail(line.number, id, DUPLICATE_ID_MESSAGE);
+          continue;
+        }
+        try {
+          records.append(candidates.isEmpty() ? "" : ",").append(PostgresClient.pojo2json(line.entity));
+          candidates.add(line);
+        } catch (Exception e) {
+          fail(line.number, id, e.getMessage());
+        }
+      }
+      if (candidates.isEmpty()) {
+        return Future.succeededFuture();
+      }
+
+      postgresClient.select(sql, new JsonArray().add(records.append(']').toString()), StorageMetrics.timedStatement(table, StorageMetrics.INSERT, reply -> {
+        if (reply.failed()) {
+          log.error("Import of a batch into " + table + " failed", reply.cause());
+          candidates.forEach(line -> fail(line.number, idGetter.apply(line.entity), reply.cause().getMessage()));
+        } else {
+          Set<String> insertedIds = new HashSet<>();
+          reply.result().getResults().forEach(row -> insertedIds.add(row.getString(0).toLowerCase()));
+          for (ParsedLine line : candidates) {
+            String id = idGetter.apply(line.entity);
+            if (insertedIds.contains(id.toLowerCase())) {
+              report.setImported(report.getImported() + 1);
+            } else {
+              fail(line.number, id, DUPLICATE_ID_MESSAGE);
+            }
+          }
+        }
+        inserted.complete();
+      }));
+      return inserted;
+    }
+
+    private void fail(int number, String id, String message) {
+      report.setFailed(report.getFailed() + 1);
+      if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+        report.getErrors().add(new ImportError().withLine(number).withId(id).withMessage(message));
+      }
+    }
+  }
+
+  private final class ParsedLine {
+    private final int number;
+    private final T entity;
+
+    private ParsedLine(int number, T entity) {
+      this.number = number;
+      this.entity = entity;
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.rest.tools.utils.TenantTool;
+
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+
+/**
+ * Counts the organizations matching a CQL query by the values of some fields, all the fields with a single
+ * {@code GROUPING SETS} query. Only the fields listed in {@link #FACET_FIELDS} can be counted, records without the field
+ * are left out of its values.
+ * <p>
+ * With the {@code facetsCache} module parameter set to {@code true} the responses are cached per tenant, query and
+ * fields. Any write through {@code OrganizationsAPI} drops the entries of the tenant and so does the deletion of the
+ * tenant; the entries also expire after {@code facetsCacheTtl} seconds to pick up the writes made through other
+ * instances of the module.
+ */
+public final class OrganizationFacets {
+  private static final Logger log = LoggerFactory.getLogger(OrganizationFacets.class);
+
+  public static final List<String> FACET_FIELDS = Collections.unmodifiableList(Arrays.asList("status", "isVendor", "language", "paymentMethod"));
+
+  private static final String ORGANIZATION_TABLE = "organizations";
+  private static final String PARAMETER_CACHE = "facetsCache";
+  private static final String PARAMETER_CACHE_TTL = "facetsCacheTtl";
+  private static final String DEFAULT_CACHE = "false";
+  private static final String DEFAULT_CACHE_TTL_SECONDS = "300";
+  private static final int MAX_ENTRIES = 10000;
+  private static final String FIELD_EXPRESSION = "jsonb->>'%s'";
+  private static final String UNKNOWN_FACET_MESSAGE = "Cannot count organizations by %s";
+  private static final char KEY_SEPARATOR = '\u0000';
+
+  private static final AtomicLong generation = new AtomicLong();
+  private static ExpiringCache<String, String> cache;
+
+  private OrganizationFacets() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @param facets comma separated fields to count by
+   */
+  public static void getFacets(String query, String facets, Function<Object, Response> respond400, Function<Object, Response> respond500,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
+    List<String> fields = new ArrayList<>();
+    for (String facet : StringUtils.split(facets, ',')) {
+      String field = facet.trim();
+      if (!FACET_FIELDS.contains(field)) {
+        asyncResultHandler.handle(Future.succeededFuture(respond400.apply(String.format(UNKNOWN_FACET_MESSAGE, field))));
+        return;
+      }
+      if (!fields.contains(field)) {
+        fields.add(field);
+      }
+    }
+    if (fields.isEmpty()) {
+      asyncResultHandler.handle(Future.succeededFuture(respond400.apply(String.format(UNKNOWN_FACET_MESSAGE, facets))));
+      return;
+    }
+
+    boolean cacheEnabled = Boolean.parseBoolean(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_CACHE, DEFAULT_CACHE));
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    String key = tenantId + KEY_SEPARATOR + StringUtils.defaultString(query) + KEY_SEPARATOR + String.join(",", fields);
+    String cached = cacheEnabled ? getCache().get(key) : null;
+    if (cached != null) {
+      asyncResultHandler.handle(Future.succeededFuture(HelperUtils.respond200WithJson(cached)));
+      return;
+    }
+
+    List<String> expressions = new ArrayList<>(fields.size());
+    fields.forEach(field -> expressions.add(String.format(FIELD_EXPRESSION, field)));
+    QueryHolder queryHolder = new QueryHolder(ORGANIZATION_TABLE, query, 0, 0);
+    String sql;
+    JsonArray parameters;
+    String fullTableName = HelperUtils.getFullTableName(okapiHeaders, ORGANIZATION_TABLE);
+    try {
+      sql = queryHolder.buildGroupingSetsQuery(fullTableName, expressions);
+      parameters = queryHolder.buildParameters();
+    } catch (QueryValidationException e) {
+      asyncResultHandler.handle(Future.succeededFuture(respond400.apply(e.getMessage())));
+      return;
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      asyncResultHandler.handle(Future.succeededFuture(respond500.apply(e.getMessage())));
+      return;
+    }
+
+    // a write completed while counting makes the counts stale, they are returned but not cached
+    long countGeneration = generation.get();
+    SlowQueryLog.select(PgUtil.postgresClient(vertxContext, okapiHeaders), fullTableName, queryHolder, sql, parameters, reply -> {
+      if (reply.failed()) {
+        if (HelperUtils.isDataException(reply.cause())) {
+          asyncResultHandler.handle(Future.succeededFuture(respond400.apply(reply.cause().getLocalizedMessage())));
+        } else {
+          log.error(reply.cause().getMessage(), reply.cause());
+          asyncResultHandler.handle(Future.succeededFuture(respond500.apply(reply.cause().getMessage())));
+        }
+        return;
+      }
+      String body = buildFacets(fields, reply.result().getResults()).encode();
+      if (cacheEnabled && generation.get() == countGeneration) {
+        getCache().put(key, body);
+      }
+      asyncResultHandler.handle(Future.succeededFuture(HelperUtils.respond200WithJson(body)));
+    });
+  }
+
+  /**
+   * @return handler dropping the cached facets of the tenant once the write completes and then calling the given one
+   */
+  public static Handler<AsyncResult<Response>> invalidatingHandler(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    return reply -> {
+      invalidate(tenantId);
+      asyncResultHandler.handle(reply);
+    };
+  }
+
+  public static void invalidate(String tenantId) {
+    generation.incrementAndGet();
+    String prefix = tenantId + KEY_SEPARATOR;
+    getCache().invalidateIf(key -> key.startsWith(prefix));
+  }
+
+  /**
+   * @param rows the field values, the grouping bit mask and the count, see {@link QueryHolder#buildGroupingSetsQuery}
+   */
+  private static JsonObject buildFacets(List<String> fields, List<JsonArray> rows) {
+    int count = fields.size();
+    int total = (1 << count) - 1;
+    Map<String, List<JsonObject>> values = new LinkedHashMap<>();
+    fields.forEach(field -> values.put(field, new ArrayList<>()));
+    long totalRecords = 0;
+    for (JsonArray row : rows) {
+      int grouping = row.getInteger(count);
+      long records = row.getLong(count + 1);
+      if (grouping == total) {
+        totalRecords = records;
+        continue;
+      }
+      for (int i = 0; i < count; i++) {
+        if ((grouping & 1 << (count - 1 - i)) == 0 && row.getValue(i) != null) {
+          values.get(fields.get(i)).add(new JsonObject().put("value", row.getValue(i).toString()).put("totalRecords", records));
+        }
+      }
+    }
+
+    JsonArray facets = new JsonArray();
+    values.forEach((field, fieldValues) -> {
+      fieldValues.sort((a, b) -> {
+        int byCount = Long.compare(b.getLong("totalRecords"), a.getLong("totalRecords"));
+        return byCount != 0 ? byCount : a.getString("value").compareTo(b.getString("value"));
+      });
+      facets.add(new JsonObject().put("facetName", field).put("values", new JsonArray(fieldValues)));
+    });
+    return new JsonObject().put("facets", facets).put("totalRecords", totalRecords);
+  }
+
+  private static synchronized ExpiringCache<String, String> getCache() {
+    if (cache == null) {
+      long ttlSeconds = Long.parseLong(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_CACHE_TTL, DEFAULT_CACHE_TTL_SECONDS));
+      cache = new ExpiringCache<>(MAX_ENTRIES, ttlSeconds * 1000);
+    }
+    return cache;
+  }
+}
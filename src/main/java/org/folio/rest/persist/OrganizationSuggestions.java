@@ -0,0 +1,288 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.jaxrs.model.Organization;
+import org.folio.rest.tools.utils.TenantTool;
+
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+
+/**
+ * Typeahead of organizations: the id, code and name of the first organizations whose name or code starts with a prefix,
+ * compared without case and accents. The prefix is matched by two range scans of the {@code COLLATE "C"} expression
+ * indexes on the normalized name and code (see {@code schema.json}), each stopping after the limit, and no count is
+ * made.
+ * <p>
+ * With the {@code typeaheadIndex} module parameter set to {@code true} the suggestions are served from a per-tenant
+ * in-memory sorted index instead, loaded on the first request. Creations, updates and deletions through
+ * {@code OrganizationsAPI} are applied to it; batches and imports drop it. It is also dropped after
+ * {@code typeaheadIndexTtl} seconds to pick up the writes made through other instances of the module.
+ */
+public final class OrganizationSuggestions {
+  private static final Logger log = LoggerFactory.getLogger(OrganizationSuggestions.class);
+
+  private static final String ORGANIZATION_TABLE = "organizations";
+  private static final String PARAMETER_INDEX = "typeaheadIndex";
+  private static final String PARAMETER_INDEX_TTL = "typeaheadIndexTtl";
+  private static final String DEFAULT_INDEX = "false";
+  private static final String DEFAULT_INDEX_TTL_SECONDS = "300";
+  private static final int MAX_TENANTS = 1000;
+  private static final String NORMALIZED = "lower(%1$s.f_unaccent(jsonb->>'%2$s')) COLLATE \"C\"";
+  // chr(1114111) is the last code point, so the range holds every value starting with the prefix
+  private static final String PREFIX_MATCH = "(SELECT id, jsonb->>'code', jsonb->>'name', %1$s FROM %2$s WHERE %1$s >= lower(%3$s.f_unaccent(?))"
+    + " AND %1$s < lower(%3$s.f_unaccent(?)) || chr(1114111) ORDER BY 4 LIMIT %4$d)";
+  private static final String SUGGEST = PREFIX_MATCH + " UNION ALL " + PREFIX_MATCH.replace("%1$s", "%5$s") + " ORDER BY 4, 1";
+  private static final String SELECT_ALL = "SELECT id, jsonb->>'code', jsonb->>'name' FROM %s";
+  private static final String SUGGESTIONS = "suggestions";
+  private static final char KEY_SEPARATOR = '\u0000';
+
+  private static final AtomicLong generation = new AtomicLong();
+  private static ExpiringCache<String, SuggestIndex> indexes;
+
+  private OrganizationSuggestions() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  public static void suggest(String prefix, int limit, Function<Object, Response> respond400, Function<Object, Response> respond500,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext, Map<String, String> okapiHeaders) {
+    if (Boolean.parseBoolean(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_INDEX, DEFAULT_INDEX))) {
+      getIndex(vertxContext, okapiHeaders, reply -> {
+        if (reply.failed()) {
+          asyncResultHandler.handle(Future.succeededFuture(respond500.apply(reply.cause().getMessage())));
+        } else {
+          asyncResultHandler.handle(Future.succeededFuture(respond(reply.result().suggest(normalize(prefix), limit), limit)));
+        }
+      });
+      return;
+    }
+
+    String fullTableName = HelperUtils.getFullTableName(okapiHeaders, ORGANIZATION_TABLE);
+    String schema = fullTableName.substring(0, fullTableName.indexOf('.'));
+    String sql = String.format(SUGGEST, String.format(NORMALIZED, schema, "name"), fullTableName, schema, limit,
+      String.format(NORMALIZED, schema, "code"));
+    JsonArray params = new JsonArray().add(prefix).add(prefix).add(prefix).add(prefix);
+    PgUtil.postgresClient(vertxContext, okapiHeaders).select(sql, params, reply -> {
+      if (reply.failed()) {
+        asyncResultHandler.handle(Future.succeededFuture(respond400.apply(reply.cause().getLocalizedMessage())));
+        return;
+      }
+      List<Suggestion> suggestions = new ArrayList<>();
+      reply.result().getResults().forEach(row -> suggestions.add(new Suggestion(row.getValue(0).toString(), row.getString(1), row.getString(2))));
+      asyncResultHandler.handle(Future.succeededFuture(respond(suggestions, limit)));
+    });
+  }
+
+  /**
+   * @param id id of the updated organization or {@code null} for a creation, whose id is taken from the response
+   * @return handler adding the created or updated organization to the index of the tenant once the write succeeds and
+   * then calling the given one
+   */
+  public static Handler<AsyncResult<Response>> updatingHandler(Map<String, String> okapiHeaders, String id, Organization entity,
+      Handler<AsyncResult<Response>> asyncResultHandler) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    return reply -> {
+      if (isSuccessful(reply)) {
+        Object created = reply.result().getEntity();
+        String organizationId = id != null ? id : created instanceof Organization ? ((Organization) created).getId() : entity.getId();
+        generation.incrementAndGet();
+        SuggestIndex index = getIndexes().get(tenantId);
+        if (index != null && organizationId != null) {
+          index.put(new Suggestion(organizationId, entity.getCode(), entity.getName()));
+        }
+      }
+      asyncResultHandler.handle(reply);
+    };
+  }
+
+  /**
+   * @return handler removing the organization from the index of the tenant once the deletion succeeds and then calling
+   * the given one
+   */
+  public static Handler<AsyncResult<Response>> removingHandler(Map<String, String> okapiHeaders, String id,
+      Handler<AsyncResult<Response>> asyncResultHandler) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    return reply -> {
+      if (isSuccessful(reply)) {
+        generation.incrementAndGet();
+        SuggestIndex index = getIndexes().get(tenantId);
+        if (index != null) {
+          index.remove(id.toLowerCase(Locale.ROOT));
+        }
+      }
+      asyncResultHandler.handle(reply);
+    };
+  }
+
+  /**
+   * @return handler dropping the index of the tenant once the write completes and then calling the given one
+   */
+  public static Handler<AsyncResult<Response>> invalidatingHandler(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    return reply -> {
+      invalidate(tenantId);
+      asyncResultHandler.handle(reply);
+    };
+  }
+
+  public static void invalidate(String tenantId) {
+    generation.incrementAndGet();
+    getIndexes().invalidate(tenantId);
+  }
+
+  private static boolean isSuccessful(AsyncResult<Response> reply) {
+    return reply.succeeded() && reply.result().getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL;
+  }
+
+  private static Response respond(List<Suggestion> candidates, int limit) {
+    JsonArray suggestions = new JsonArray();
+    Set<String> ids = new HashSet<>();
+    // an organization whose name and code both match is a candidate twice, it is suggested at its first place
+    for (Suggestion candidate : candidates) {
+      if (suggestions.size() == limit) {
+        break;
+      }
+      if (ids.add(candidate.id)) {
+        JsonObject suggestion = new JsonObject().put("id", candidate.id);
+        if (candidate.code != null) {
+          suggestion.put("code", candidate.code);
+        }
+        if (candidate.name != null) {
+          suggestion.put("name", candidate.name);
+        }
+        suggestions.add(suggestion);
+      }
+    }
+    return HelperUtils.respond200WithJson(new JsonObject().put(SUGGESTIONS, suggestions).encode());
+  }
+
+  private static void getIndex(Context vertxContext, Map<String, String> okapiHeaders, Handler<AsyncResult<SuggestIndex>> handler) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    SuggestIndex cached = getIndexes().get(tenantId);
+    if (cached != null) {
+      handler.handle(Future.succeededFuture(cached));
+      return;
+    }
+
+    // a write completed while loading may be missing from the loaded index, it is used for this request but not cached
+    long loadGeneration = generation.get();
+    String sql = String.format(SELECT_ALL, HelperUtils.getFullTableName(okapiHeaders, ORGANIZATION_TABLE));
+    PgUtil.postgresClient(vertxContext, okapiHeaders).select(sql, reply -> {
+      if (reply.failed()) {
+        log.error(reply.cause().getMessage(), reply.cause());
+        handler.handle(Future.failedFuture(reply.cause()));
+        return;
+      }
+      SuggestIndex index = new SuggestIndex();
+      reply.result().getResults().forEach(row -> index.put(new Suggestion(row.getValue(0).toString(), row.getString(1), row.getString(2))));
+      if (generation.get() == loadGeneration) {
+        getIndexes().put(tenantId, index);
+      }
+      handler.handle(Future.succeededFuture(index));
+    });
+  }
+
+  private static synchronized ExpiringCache<String, SuggestIndex> getIndexes() {
+    if (indexes == null) {
+      long ttlSeconds = Long.parseLong(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_INDEX_TTL, DEFAULT_INDEX_TTL_SECONDS));
+      indexes = new ExpiringCache<>(MAX_TENANTS, ttlSeconds * 1000);
+    }
+    return indexes;
+  }
+
+  private static String normalize(String value) {
+    return StringUtils.stripAccents(value).toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Suggestions of a tenant sorted by normalized name and by normalized code. The keys end with the id, so organizations
+   * of the same name are kept apart and a prefix range of the keys holds the organizations starting with the prefix.
+   */
+  private static final class SuggestIndex {
+    private final NavigableMap<String, Suggestion> byName = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Suggestion> byCode = new ConcurrentSkipListMap<>();
+    private final Map<String, Suggestion> byId = new ConcurrentHashMap<>();
+
+    private synchronized void put(Suggestion suggestion) {
+      remove(suggestion.id);
+      byId.put(suggestion.id, suggestion);
+      if (suggestion.name != null) {
+        byName.put(key(suggestion.name, suggestion.id), suggestion);
+      }
+      if (suggestion.code != null) {
+        byCode.put(key(suggestion.code, suggestion.id), suggestion);
+      }
+    }
+
+    private synchronized void remove(String id) {
+      Suggestion removed = byId.remove(id);
+      if (removed != null) {
+        if (removed.name != null) {
+          byName.remove(key(removed.name, id));
+        }
+        if (removed.code != null) {
+          byCode.remove(key(removed.code, id));
+        }
+      }
+    }
+
+    /**
+     * @return the first matches by name and by code, ordered by the matching value
+     */
+    private List<Suggestion> suggest(String prefix, int limit) {
+      List<Map.Entry<String, Suggestion>> candidates = new ArrayList<>(2 * limit);
+      addMatches(byName, prefix, limit, candidates);
+      addMatches(byCode, prefix, limit, candidates);
+      candidates.sort(Map.Entry.comparingByKey());
+      List<Suggestion> suggestions = new ArrayList<>(candidates.size());
+      candidates.forEach(candidate -> suggestions.add(candidate.getValue()));
+      return suggestions;
+    }
+
+    private static void addMatches(NavigableMap<String, Suggestion> map, String prefix, int limit,
+        List<Map.Entry<String, Suggestion>> candidates) {
+      int added = 0;
+      for (Map.Entry<String, Suggestion> entry : map.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+        if (added++ == limit) {
+          break;
+        }
+        candidates.add(entry);
+      }
+    }
+
+    private static String key(String value, String id) {
+      return normalize(value) + KEY_SEPARATOR + id;
+    }
+  }
+
+  private static final class Suggestion {
+    private final String id;
+    private final String code;
+    private final String name;
+
+    private Suggestion(String id, String code, String name) {
+      this.id = id.toLowerCase(Locale.ROOT);
+      this.code = code;
+      this.name = name;
+    }
+  }
+}
@@ -0,0 +1,218 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+
+/**
+ * Delivers the events of the outbox tables of all the tenants to the event bus. Every insert, update and deletion of
+ * the entity tables adds an event to the outbox of the tenant in the same transaction (see the outbox triggers in
+ * schema.json), so no write is left without its event whatever the code path that made it. An event only names the
+ * table, the operation and the id of the record, the consumers read the record itself if they need it: copying the
+ * jsonb would double the volume written by the batch and import paths, and keeps the credentials out of the events.
+ * <p>
+ * Every {@code outboxPublishInterval} milliseconds (a negative value disables the publisher) the events are read in
+ * batches of {@code outboxBatchSize}, in the order of the outbox, and sent to the {@code outboxAddress} address. An
+ * event is removed from the outbox only once a consumer replies to it; a failure or no reply within
+ * {@code outboxSendTimeout} milliseconds leaves it for the next run. The delivery is thus at least once and the
+ * consumers are expected to skip the events they already processed by their {@code id}.
+ * <p>
+ * No transaction is held while the replies are awaited: a batch is claimed by a single statement setting a
+ * {@code claimed_until} lease of twice the send timeout on its events, picked with {@code FOR UPDATE SKIP LOCKED} among
+ * the events without a live lease, so several instances of the module deliver disjoint batches. After the replies a
+ * second short statement deletes the delivered events and releases the others. The lease only runs out if the
+ * instance stops between the two statements; the events are then claimed again by any instance.
+ * <p>
+ * An event is never dropped before it is delivered, so the outbox grows while nothing consumes the events; the age of
+ * the oldest waiting event and the delivery lag, both part of the {@link StorageMetrics}, are the ones to alert on.
+ */
+public class OutboxPublisher extends AbstractVerticle {
+  private static final Logger log = LoggerFactory.getLogger(OutboxPublisher.class);
+
+  public static final String DEFAULT_ADDRESS = "organizations-storage.events";
+
+  private static final String PARAMETER_INTERVAL = "outboxPublishInterval";
+  private static final String PARAMETER_ADDRESS = "outboxAddress";
+  private static final String PARAMETER_BATCH_SIZE = "outboxBatchSize";
+  private static final String PARAMETER_SEND_TIMEOUT = "outboxSendTimeout";
+  private static final String DEFAULT_INTERVAL_MILLIS = "1000";
+  private static final String DEFAULT_BATCH_SIZE = "100";
+  private static final String DEFAULT_SEND_TIMEOUT_MILLIS = "10000";
+
+  private static final String OUTBOX_TABLE = "outbox";
+  private static final String SELECT_SCHEMAS = "SELECT schemaname FROM pg_tables WHERE tablename = '" + OUTBOX_TABLE + "'"
+    + " AND right(schemaname, length(?)) = ?";
+  private static final String CLAIM_EVENTS = "UPDATE %1$s SET claimed_until = clock_timestamp() + interval '%2$d milliseconds'"
+    + " WHERE id IN (SELECT id FROM %1$s WHERE claimed_until IS NULL OR claimed_until < clock_timestamp()"
+    + " ORDER BY id LIMIT %3$d FOR UPDATE SKIP LOCKED)"
+    + " RETURNING id, table_name, operation, entity_id, to_json(created_date)#>>'{}',"
+    + " extract(epoch FROM clock_timestamp() - created_date)::float8";
+  private static final String SETTLE_EVENTS = "WITH released AS (UPDATE %1$s SET claimed_until = NULL WHERE id = ANY(?::bigint[]))"
+    + " DELETE FROM %1$s WHERE id = ANY(?::bigint[])";
+
+  private long intervalMillis;
+  private String address;
+  private int batchSize;
+  private DeliveryOptions deliveryOptions;
+  private long claimMillis;
+  private long timerId = -1;
+  private boolean stopped;
+
+  @Override
+  public void start() {
+    intervalMillis = Long.parseLong(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_INTERVAL, DEFAULT_INTERVAL_MILLIS));
+    if (intervalMillis < 0) {
+      log.info("Outbox publisher disabled");
+      return;
+    }
+    address = MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_ADDRESS, DEFAULT_ADDRESS);
+    batchSize = Integer.parseInt(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+    deliveryOptions = new DeliveryOptions()
+      .setSendTimeout(Long.parseLong(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_SEND_TIMEOUT, DEFAULT_SEND_TIMEOUT_MILLIS)));
+    claimMillis = 2 * deliveryOptions.getSendTimeout();
+    log.info(String.format("Outbox publisher delivering to %s every %d ms", address, intervalMillis));
+    schedule();
+  }
+
+  @Override
+  public void stop() {
+    stopped = true;
+    if (timerId >= 0) {
+      vertx.cancelTimer(timerId);
+    }
+  }
+
+  /**
+   * The next run is scheduled once the previous one is over, so runs never overlap.
+   */
+  private void schedule() {
+    if (!stopped) {
+      timerId = vertx.setTimer(Math.max(intervalMillis, 1), id -> publish(done -> schedule()));
+    }
+  }
+
+  private void publish(Handler<Void> doneHandler) {
+    // the schema of a tenant is the tenant id followed by this suffix
+    String schemaSuffix = PostgresClient.convertToPsqlStandard("");
+    JsonArray params = new JsonArray().add(schemaSuffix).add(schemaSuffix);
+    PostgresClient.getInstance(vertx).select(SELECT_SCHEMAS, params, reply -> {
+      if (reply.failed()) {
+        log.error("Cannot list the outbox tables", reply.cause());
+        doneHandler.handle(null);
+        return;
+      }
+      List<String> tenantIds = new ArrayList<>();
+      reply.result().getResults().forEach(row -> {
+        String schema = row.getString(0);
+        tenantIds.add(schema.substring(0, schema.length() - schemaSuffix.length()));
+      });
+      publishTenants(tenantIds.iterator(), doneHandler);
+    });
+  }
+
+  private void publishTenants(Iterator<String> tenantIds, Handler<Void> doneHandler) {
+    if (stopped || !tenantIds.hasNext()) {
+      doneHandler.handle(null);
+      return;
+    }
+    String tenantId = tenantIds.next();
+    PostgresClient postgresClient = PostgresClient.getInstance(vertx, tenantId);
+    String outbox = PostgresClient.convertToPsqlStandard(tenantId) + "." + OUTBOX_TABLE;
+    publishBatches(postgresClient, tenantId, outbox, done -> publishTenants(tenantIds, doneHandler));
+  }
+
+  /**
+   * Delivers batches until the outbox is drained or a delivery fails.
+   */
+  private void publishBatches(PostgresClient postgresClient, String tenantId, String outbox, Handler<Void> doneHandler) {
+    postgresClient.select(String.format(CLAIM_EVENTS, outbox, claimMillis, batchSize), reply -> {
+      if (reply.failed()) {
+        log.error("Cannot read the outbox of tenant " + tenantId, reply.cause());
+        doneHandler.handle(null);
+        return;
+      }
+      // the returned rows are in no particular order
+      List<JsonArray> rows = new ArrayList<>(reply.result().getResults());
+      rows.sort(Comparator.comparing((JsonArray row) -> row.getLong(0)));
+      StorageMetrics.outboxRead(tenantId, rows.isEmpty() ? 0 : rows.get(0).getDouble(5));
+      if (rows.isEmpty()) {
+        doneHandler.handle(null);
+        return;
+      }
+      deliver(tenantId, rows, delivered -> {
+        List<Long> failed = rows.stream()
+          .map(row -> row.getLong(0))
+          .filter(id -> !delivered.contains(id))
+          .collect(Collectors.toList());
+        JsonArray params = new JsonArray().add(toArrayLiteral(failed)).add(toArrayLiteral(delivered));
+        postgresClient.execute(String.format(SETTLE_EVENTS, outbox), params, settled -> {
+          if (settled.failed()) {
+            // the events stay claimed until their lease runs out and are delivered again
+            log.error("Cannot settle the delivered events of the outbox of tenant " + tenantId, settled.cause());
+            doneHandler.handle(null);
+          } else if (delivered.size() == batchSize) {
+            publishBatches(postgresClient, tenantId, outbox, doneHandler);
+          } else {
+            doneHandler.handle(null);
+          }
+        });
+      });
+    });
+  }
+
+  /**
+   * Sends all the events at once and waits for all the replies.
+   *
+   * @param rows events as claimed by {@link #CLAIM_EVENTS}
+   * @param deliveredHandler called with the ids of the events a consumer replied to
+   */
+  private void deliver(String tenantId, List<JsonArray> rows, Handler<List<Long>> deliveredHandler) {
+    long readNanos = System.nanoTime();
+    List<Long> delivered = new ArrayList<>(rows.size());
+    AtomicInteger pending = new AtomicInteger(rows.size());
+    for (JsonArray row : rows) {
+      long id = row.getLong(0);
+      double ageSeconds = row.getDouble(5);
+      vertx.eventBus().send(address, toEvent(tenantId, row), deliveryOptions, reply -> {
+        if (reply.succeeded()) {
+          delivered.add(id);
+          StorageMetrics.outboxEventDelivered(tenantId, ageSeconds + (System.nanoTime() - readNanos) / (double) TimeUnit.SECONDS.toNanos(1));
+        } else {
+          log.debug(String.format("Cannot deliver event %d of tenant %s: %s", id, tenantId, reply.cause().getMessage()));
+          StorageMetrics.outboxDeliveryFailed(tenantId);
+        }
+        if (pending.decrementAndGet() == 0) {
+          deliveredHandler.handle(delivered);
+        }
+      });
+    }
+  }
+
+  private static JsonObject toEvent(String tenantId, JsonArray row) {
+    return new JsonObject()
+      .put("id", row.getLong(0))
+      .put("tenant", tenantId)
+      .put("table", row.getString(1))
+      .put("operation", row.getString(2))
+      .put("entityId", row.getValue(3).toString())
+      .put("createdDate", row.getString(4));
+  }
+
+  private static String toArrayLiteral(List<Long> ids) {
+    return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+  }
+}
@@ -1,10 +1,11 @@
 package org.folio.rest.persist;
 
-import org.folio.cql2pgjson.CQL2PgJSON;
+import io.vertx.core.json.JsonArray;
+import org.apache.commons.lang3.StringUtils;
 import org.folio.cql2pgjson.exception.FieldException;
-import org.folio.rest.persist.Criteria.Limit;
-import org.folio.rest.persist.Criteria.Offset;
-import org.folio.rest.persist.cql.CQLWrapper;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+
+import java.util.List;
 
 public class QueryHolder {
 
@@ -12,6 +13,11 @@ public class QueryHolder {
   private String query;
   private int offset;
   private int limit;
+  private String pageToken;
+  private String totalRecords;
+  private String expand;
+  private String fields;
+  private String ifNoneMatch;
 
 
   public QueryHolder(String table, String query, int offset, int limit) {
@@ -21,15 +27,177 @@ public class QueryHolder {
     this.limit = limit;
   }
 
+  public QueryHolder withPageToken(String pageToken) {
+    this.pageToken = pageToken;
+    return this;
+  }
+
+  public QueryHolder withTotalRecords(String totalRecords) {
+    this.totalRecords = totalRecords;
+    return this;
+  }
+
+  public QueryHolder withExpand(String expand) {
+    this.expand = expand;
+    return this;
+  }
+
+  public QueryHolder withFields(String fields) {
+    this.fields = fields;
+    return this;
+  }
+
+  public QueryHolder withIfNoneMatch(String ifNoneMatch) {
+    this.ifNoneMatch = ifNoneMatch;
+    return this;
+  }
+
   public String getTable() {
     return table;
   }
 
+  public String getQuery() {
+    return query;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return token of the requested keyset page or {@code null} if the page is requested by offset
+   */
+  public String getPageToken() {
+    return pageToken;
+  }
+
+  /**
+   * @return comma separated properties to expand or {@code null}, see {@link EntitiesExpansion}
+   */
+  public String getExpand() {
+    return expand;
+  }
+
+  /**
+   * @return comma separated properties to return or {@code null} for all of them, see {@link EntitiesProjection}
+   */
+  public String getFields() {
+    return fields;
+  }
+
+  /**
+   * @return value of the {@code If-None-Match} request header or {@code null}, see {@link ETags}
+   */
+  public String getIfNoneMatch() {
+    return ifNoneMatch;
+  }
+
+  /**
+   * Keyset pages default to {@link TotalRecordsStrategy#NONE}: counting all the matching records on every page would
+   * cost each page as much as a full scan, which keyset paging is meant to avoid. A strategy requested by the client is
+   * used either way.
+   *
+   * @throws IllegalArgumentException if the requested strategy is not supported
+   */
+  public TotalRecordsStrategy getTotalRecordsStrategy() {
+    if (pageToken != null && StringUtils.isBlank(totalRecords)) {
+      return TotalRecordsStrategy.NONE;
+    }
+    return TotalRecordsStrategy.fromValue(totalRecords);
+  }
+
+  /**
+   * Builds the parameters of the statements built by this holder: the literals of the query, see
+   * {@link CqlQueryTranslator}. All the statements filter by the same WHERE clause, so they all take the same parameters.
+   */
+  public JsonArray buildParameters() throws FieldException, QueryValidationException {
+    TranslatedQuery translatedQuery = translate();
+    return translatedQuery == null ? new JsonArray() : translatedQuery.buildParameters();
+  }
+
+  /**
+   * Builds the filter of the page described by this holder, i.e. everything following the table name in the select.
+   * Like the other statements of this holder it takes the parameters of {@link #buildParameters()}.
+   */
+  public String buildFilter() throws FieldException, QueryValidationException {
+    StringBuilder sql = new StringBuilder();
+    TranslatedQuery translatedQuery = translate();
+    if (translatedQuery != null) {
+      appendClause(sql, " WHERE ", translatedQuery.getWhere());
+      appendClause(sql, " ORDER BY ", translatedQuery.getOrderBy());
+    }
+    return sql.append(" LIMIT ").append(limit).append(" OFFSET ").append(offset).toString();
+  }
+
+  /**
+   * Builds the SQL selecting {@code columns} of the page described by this holder.
+   *
+   * @param fullTableName table name qualified with the tenant's schema
+   */
+  public String buildSelectQuery(String fullTableName, String columns) throws FieldException, QueryValidationException {
+    return "SELECT " + columns + " FROM " + fullTableName + ' ' + table + buildFilter();
+  }
+
+  /**
+   * Builds the SQL counting all the records matching the query, regardless of the offset and limit.
+   *
+   * @param fullTableName table name qualified with the tenant's schema
+   */
+  public String buildCountQuery(String fullTableName) throws FieldException, QueryValidationException {
+    StringBuilder sql = new StringBuilder("SELECT count(*) FROM ").append(fullTableName).append(' ').append(table);
+    TranslatedQuery translatedQuery = translate();
+    if (translatedQuery != null) {
+      appendClause(sql, " WHERE ", translatedQuery.getWhere());
+    }
+    return sql.toString();
+  }
+
+  /**
+   * Builds the SQL counting the records matching the query for every value of each expression, with one grouping set
+   * per expression and an empty one for the total. The rows start with the expressions and the {@code GROUPING} bit mask
+   * of the row, in which the expression counted by the row is the only zero bit, and end with the count.
+   *
+   * @param fullTableName table name qualified with the tenant's schema
+   * @param expressions SQL expressions over the jsonb to count by
+   */
+  public String buildGroupingSetsQuery(String fullTableName, List<String> expressions) throws FieldException, QueryValidationException {
+    String columns = String.join(", ", expressions);
+    StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(", GROUPING(").append(columns).append("), count(*) FROM ")
+      .append(fullTableName).append(' ').append(table);
+    TranslatedQuery translatedQuery = translate();
+    if (translatedQuery != null) {
+      appendClause(sql, " WHERE ", translatedQuery.getWhere());
+    }
+    sql.append(" GROUP BY GROUPING SETS (");
+    expressions.forEach(expression -> sql.append('(').append(expression).append("), "));
+    return sql.append("())").toString();
+  }
+
+  /**
+   * Builds the EXPLAIN of the query whose plan holds the planner's estimate of the number of matching records.
+   *
+   * @param fullTableName table name qualified with the tenant's schema
+   */
+  public String buildEstimateQuery(String fullTableName) throws FieldException, QueryValidationException {
+    StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM ").append(fullTableName).append(' ').append(table);
+    TranslatedQuery translatedQuery = translate();
+    if (translatedQuery != null) {
+      appendClause(sql, " WHERE ", translatedQuery.getWhere());
+    }
+    return sql.toString();
+  }
+
+  private TranslatedQuery translate() throws FieldException, QueryValidationException {
+    return CqlQueryTranslator.translate(table, query);
+  }
 
-  public CQLWrapper buildCQLQuery() throws FieldException {
-    CQL2PgJSON cql2PgJSON = new CQL2PgJSON(String.format("%s.jsonb", table));
-    return new CQLWrapper(cql2PgJSON, query)
-      .setLimit(new Limit(limit))
-      .setOffset(new Offset(offset));
+  private static void appendClause(StringBuilder sql, String keyword, String clause) {
+    if (StringUtils.isNotBlank(clause)) {
+      sql.append(keyword).append(clause);
+    }
   }
 }
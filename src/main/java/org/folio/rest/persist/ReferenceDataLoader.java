@@ -0,0 +1,211 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.sql.SQLConnection;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.RestVerticle;
+import org.folio.rest.jaxrs.model.Metadata;
+import org.folio.rest.tools.utils.TenantTool;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Loads the sample and reference data bundled in {@code data/<table>} straight into the tenant's schema, instead of
+ * posting every file through the API. The records of a table are upserted by id with multi-row statements of
+ * {@value #BATCH_SIZE} records in one transaction per table, so loading the data again restores it without duplicating
+ * anything.
+ */
+public class ReferenceDataLoader {
+  private static final Logger log = LoggerFactory.getLogger(ReferenceDataLoader.class);
+
+  private static final String DATA_DIRECTORY = "data/";
+  private static final String JSON_EXTENSION = ".json";
+  private static final String UPSERT = "INSERT INTO %s (id, jsonb) SELECT (record->>'id')::uuid, record FROM jsonb_array_elements(?::jsonb) record"
+    + " ON CONFLICT (id) DO UPDATE SET jsonb = EXCLUDED.jsonb";
+  private static final String ID = "id";
+  private static final String METADATA = "metadata";
+  private static final int BATCH_SIZE = 1000;
+
+  private final PostgresClient postgresClient;
+  private final String tenantId;
+  private final Map<String, String> okapiHeaders;
+  private final JsonObject metadata;
+
+  public ReferenceDataLoader(Vertx vertx, Map<String, String> okapiHeaders) throws Exception {
+    this.okapiHeaders = okapiHeaders;
+    this.tenantId = TenantTool.tenantId(okapiHeaders);
+    this.postgresClient = PostgresClient.getInstance(vertx, tenantId);
+    Date now = new Date();
+    String userId = okapiHeaders.get(RestVerticle.OKAPI_USERID_HEADER);
+    this.metadata = new JsonObject(PostgresClient.pojo2json(new Metadata()
+      .withCreatedDate(now)
+      .withCreatedByUserId(userId)
+      .withUpdatedDate(now)
+      .withUpdatedByUserId(userId)));
+  }
+
+  /**
+   * Loads the tables one after another, each from the directory of the same name.
+   *
+   * @param doneHandler called once all the tables are loaded or with the first failure
+   */
+  public void load(List<String> tables, Handler<AsyncResult<Void>> doneHandler) {
+    long start = System.nanoTime();
+    loadNext(tables.iterator(), done -> {
+      if (done.succeeded()) {
+        log.info(String.format("Loaded data of %s for tenant %s in %d ms", tables, tenantId,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+      }
+      doneHandler.handle(done);
+    });
+  }
+
+  private void loadNext(Iterator<String> tables, Handler<AsyncResult<Void>> doneHandler) {
+    if (!tables.hasNext()) {
+      doneHandler.handle(Future.succeededFuture());
+      return;
+    }
+    String table = tables.next();
+    List<JsonObject> records;
+    try {
+      records = readRecords(table);
+    } catch (Exception e) {
+      log.error("Cannot read data of " + table, e);
+      doneHandler.handle(Future.failedFuture(e));
+      return;
+    }
+    loadTable(table, records, loaded -> {
+      if (loaded.failed()) {
+        doneHandler.handle(loaded);
+      } else {
+        loadNext(tables, doneHandler);
+      }
+    });
+  }
+
+  private void loadTable(String table, List<JsonObject> records, Handler<AsyncResult<Void>> doneHandler) {
+    long start = System.nanoTime();
+    String sql = String.format(UPSERT, HelperUtils.getFullTableName(okapiHeaders, table));
+    postgresClient.startTx(tx -> {
+      if (tx.failed()) {
+        doneHandler.handle(Future.failedFuture(tx.cause()));
+        return;
+      }
+      upsertBatch(tx, sql, records, 0, upserted -> {
+        if (upserted.failed()) {
+          rollback(tx, upserted.cause(), doneHandler);
+          return;
+        }
+        postgresClient.endTx(tx, committed -> {
+          if (committed.succeeded()) {
+            log.info(String.format("Loaded %d records into %s for tenant %s in %d ms", records.size(), table, tenantId,
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+          }
+          doneHandler.handle(committed);
+        });
+      });
+    });
+  }
+
+  private void upsertBatch(AsyncResult<SQLConnection> tx, String sql, List<JsonObject> records, int from,
+      Handler<AsyncResult<Void>> doneHandler) {
+    if (from >= records.size()) {
+      doneHandler.handle(Future.succeededFuture());
+      return;
+    }
+    JsonArray batch = new JsonArray(new ArrayList<>(records.subList(from, Math.min(from + BATCH_SIZE, records.size()))));
+    postgresClient.execute(tx, sql, new JsonArray().add(batch.encode()), reply -> {
+      if (reply.failed()) {
+        doneHandler.handle(Future.failedFuture(reply.cause()));
+      } else {
+        upsertBatch(tx, sql, records, from + BATCH_SIZE, doneHandler);
+      }
+    });
+  }
+
+  private void rollback(AsyncResult<SQLConnection> tx, Throwable cause, Handler<AsyncResult<Void>> doneHandler) {
+    postgresClient.rollbackTx(tx, rollback -> {
+      if (rollback.failed()) {
+        log.error("Data loading transaction rollback failed", rollback.cause());
+      }
+      doneHandler.handle(Future.failedFuture(cause));
+    });
+  }
+
+  /**
+   * Records without an id get a random one, all of them get the metadata of this load.
+   */
+  private List<JsonObject> readRecords(String table) throws IOException, URISyntaxException {
+    List<JsonObject> records = new ArrayList<>();
+    for (String resource : listResources(DATA_DIRECTORY + table)) {
+      try (InputStream inputStream = ReferenceDataLoader.class.getClassLoader().getResourceAsStream(resource)) {
+        JsonObject record = new JsonObject(IOUtils.toString(inputStream, StandardCharsets.UTF_8));
+        if (StringUtils.isBlank(record.getString(ID))) {
+          record.put(ID, UUID.randomUUID().toString());
+        }
+        records.add(record.put(METADATA, metadata.copy()));
+      }
+    }
+    return records;
+  }
+
+  /**
+   * @return names of the JSON resources in the directory, whether the classes are run from a directory or a jar
+   */
+  private static List<String> listResources(String directory) throws IOException, URISyntaxException {
+    URL url = ReferenceDataLoader.class.getClassLoader().getResource(directory);
+    if (url == null) {
+      return Collections.emptyList();
+    }
+    List<String> resources = new ArrayList<>();
+    if ("jar".equals(url.getProtocol())) {
+      String prefix = directory + '/';
+      JarURLConnection connection = (JarURLConnection) url.openConnection();
+      // a cached jar file is shared with the class loader and must not be closed here
+      connection.setUseCaches(false);
+      try (JarFile jarFile = connection.getJarFile()) {
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+          String name = entries.nextElement().getName();
+          if (name.startsWith(prefix) && name.endsWith(JSON_EXTENSION) && name.indexOf('/', prefix.length()) < 0) {
+            resources.add(name);
+          }
+        }
+      }
+    } else {
+      File[] files = new File(url.toURI()).listFiles((dir, name) -> name.endsWith(JSON_EXTENSION));
+      if (files != null) {
+        for (File file : files) {
+          resources.add(directory + '/' + file.getName());
+        }
+      }
+    }
+    Collections.sort(resources);
+    return resources;
+  }
+}
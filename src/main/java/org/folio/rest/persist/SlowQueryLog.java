@@ -0,0 +1,198 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.sql.ResultSet;
+import org.folio.rest.jaxrs.model.SlowQuery;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+
+/**
+ * Captures the statements of the collection requests that take longer than {@code slowQueryThreshold} milliseconds
+ * (a negative value disables the capture). Every capture holds the CQL query, the generated SQL and the timings, and is
+ * logged. For a {@code slowQueryExplainRate} fraction of the captures the statement is run once more with
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} to capture the plan as well. The last {@code slowQueryLogSize} captures are kept in
+ * memory for the admin API.
+ */
+public final class SlowQueryLog {
+  private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+  private static final String PARAMETER_THRESHOLD = "slowQueryThreshold";
+  private static final String PARAMETER_EXPLAIN_RATE = "slowQueryExplainRate";
+  private static final String PARAMETER_LOG_SIZE = "slowQueryLogSize";
+  private static final String DEFAULT_THRESHOLD_MILLIS = "500";
+  private static final String DEFAULT_EXPLAIN_RATE = "0.1";
+  private static final String DEFAULT_LOG_SIZE = "100";
+  private static final String EXPLAIN = "EXPLAIN (ANALYZE, BUFFERS) ";
+
+  private static final Deque<Capture> captures = new ArrayDeque<>();
+  private static Settings settings;
+
+  private SlowQueryLog() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * Runs the select, adds it to the {@link StorageMetrics} and captures it if it is slow. The handler is called as soon as the select completes, capturing
+   * the plan does not delay the response.
+   *
+   * @param fullTableName table name qualified with the tenant's schema, it identifies the tenant of the capture
+   */
+  public static void select(PostgresClient postgresClient, String fullTableName, QueryHolder queryHolder, String sql, JsonArray params,
+      Handler<AsyncResult<ResultSet>> handler) {
+    long start = System.nanoTime();
+    StorageMetrics.statementStarted();
+    postgresClient.select(sql, params, reply -> {
+      if (reply.succeeded()) {
+        long elapsedNanos = System.nanoTime() - start;
+        StorageMetrics.statementCompleted(queryHolder.getTable(), reply.result().getNumRows(), elapsedNanos);
+        record(postgresClient, fullTableName, queryHolder, sql, params, reply.result().getNumRows(), elapsedNanos);
+      } else {
+        StorageMetrics.statementFailed();
+      }
+      handler.handle(reply);
+    });
+  }
+
+  public static void select(PostgresClient postgresClient, String fullTableName, QueryHolder queryHolder, String sql,
+      Handler<AsyncResult<ResultSet>> handler) {
+    select(postgresClient, fullTableName, queryHolder, sql, new JsonArray(), handler);
+  }
+
+  /**
+   * Captures the statement if it took longer than the threshold.
+   *
+   * @param elapsedNanos time from sending the statement to having all the rows
+   */
+  public static void record(PostgresClient postgresClient, String fullTableName, QueryHolder queryHolder, String sql, JsonArray params,
+      int rows, long elapsedNanos) {
+    Settings current = getSettings();
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    if (current.thresholdMillis < 0 || elapsedMillis < current.thresholdMillis) {
+      return;
+    }
+
+    SlowQuery slowQuery = new SlowQuery()
+      .withCreatedDate(new Date())
+      .withTable(queryHolder.getTable())
+      .withQuery(queryHolder.getQuery())
+      .withSql(sql)
+      .withRows(rows)
+      .withExecutionTime((int) elapsedMillis);
+    String schema = getSchema(fullTableName);
+    add(current, schema, slowQuery);
+    if (ThreadLocalRandom.current().nextDouble() >= current.explainRate) {
+      logCapture(schema, slowQuery);
+      return;
+    }
+
+    // the capture is already listed, the plan is added to it once known
+    long start = System.nanoTime();
+    postgresClient.select(EXPLAIN + sql, params, reply -> {
+      if (reply.succeeded()) {
+        StringBuilder plan = new StringBuilder();
+        reply.result().getResults().forEach(line -> plan.append(plan.length() == 0 ? "" : "\n").append(line.getString(0)));
+        synchronized (captures) {
+          slowQuery.withPlan(plan.toString())
+            .withExplainTime((int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+      } else {
+        log.warn("Cannot explain slow query: " + reply.cause().getMessage());
+      }
+      logCapture(schema, slowQuery);
+    });
+  }
+
+  /**
+   * @return captures of the tenant, the most recent first
+   */
+  public static List<SlowQuery> getCaptures(String tenantId) {
+    String schema = PostgresClient.convertToPsqlStandard(tenantId);
+    List<SlowQuery> result = new ArrayList<>();
+    synchronized (captures) {
+      captures.descendingIterator().forEachRemaining(capture -> {
+        if (capture.schema.equals(schema)) {
+          result.add(capture.slowQuery);
+        }
+      });
+    }
+    return result;
+  }
+
+  public static void clear(String tenantId) {
+    String schema = PostgresClient.convertToPsqlStandard(tenantId);
+    synchronized (captures) {
+      captures.removeIf(capture -> capture.schema.equals(schema));
+    }
+  }
+
+  /**
+   * Makes the next statement read the module parameters again, e.g. once a test changed them.
+   */
+  public static synchronized void reloadSettings() {
+    settings = null;
+  }
+
+  private static void add(Settings current, String schema, SlowQuery slowQuery) {
+    synchronized (captures) {
+      captures.addLast(new Capture(schema, slowQuery));
+      while (captures.size() > current.logSize) {
+        captures.removeFirst();
+      }
+    }
+  }
+
+  private static void logCapture(String schema, SlowQuery slowQuery) {
+    log.warn(String.format("Slow query of %s in %s: %d ms, %d rows, CQL: %s, SQL: %s%s", slowQuery.getTable(), schema,
+      slowQuery.getExecutionTime(), slowQuery.getRows(), slowQuery.getQuery(), slowQuery.getSql(),
+      slowQuery.getPlan() == null ? "" : "\n" + slowQuery.getPlan()));
+  }
+
+  private static String getSchema(String fullTableName) {
+    int dot = fullTableName.indexOf('.');
+    return dot < 0 ? fullTableName : fullTableName.substring(0, dot);
+  }
+
+  private static synchronized Settings getSettings() {
+    if (settings == null) {
+      settings = new Settings(
+        Long.parseLong(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_THRESHOLD, DEFAULT_THRESHOLD_MILLIS)),
+        Double.parseDouble(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_EXPLAIN_RATE, DEFAULT_EXPLAIN_RATE)),
+        Integer.parseInt(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_LOG_SIZE, DEFAULT_LOG_SIZE)));
+    }
+    return settings;
+  }
+
+  private static final class Settings {
+    private final long thresholdMillis;
+    private final double explainRate;
+    private final int logSize;
+
+    private Settings(long thresholdMillis, double explainRate, int logSize) {
+      this.thresholdMillis = thresholdMillis;
+      this.explainRate = explainRate;
+      this.logSize = logSize;
+    }
+  }
+
+  private static final class Capture {
+    private final String schema;
+    private final SlowQuery slowQuery;
+
+    private Capture(String schema, SlowQuery slowQuery) {
+      this.schema = schema;
+      this.slowQuery = slowQuery;
+    }
+  }
+}
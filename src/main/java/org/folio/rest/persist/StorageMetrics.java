@@ -0,0 +1,214 @@
+package org.folio.rest.persist;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.GaugeMetricFamily;
+import io.prometheus.client.Histogram;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import org.folio.rest.tools.utils.TenantTool;
+
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Metrics of the module, exposed in the Prometheus text format: latency of every API method per tenant, execution time
+ * of the statements per table and operation and rows of the selects, time spent building the response bodies,
+ * statements in flight, the statistics of the {@link CqlQueryTranslator} cache and the delivery of the events of the
+ * outbox by the {@link OutboxPublisher}. Kept in memory since the start of the module.
+ * <p>
+ * The connection pool of the {@link PostgresClient} does not expose its active and waiting connections, so the
+ * statements in flight are the closest measure of its saturation: the ones over the size of the pool are waiting for a
+ * connection, and the statement durations include that wait.
+ */
+public final class StorageMetrics {
+
+  public static final String SELECT = "select";
+  public static final String INSERT = "insert";
+  public static final String UPDATE = "update";
+  public static final String DELETE = "delete";
+
+  private static final String PREFIX = "mod_organizations_storage_";
+  private static final double[] SECONDS_BUCKETS = { 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10 };
+  private static final double[] ROWS_BUCKETS = { 0, 1, 10, 100, 1000, 10000, 100000 };
+  private static final double[] LAG_BUCKETS = { 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 300, 900, 3600 };
+
+  private static final CollectorRegistry registry = new CollectorRegistry();
+
+  private static final Histogram REQUEST_DURATION = Histogram.build()
+    .name(PREFIX + "request_duration_seconds")
+    .help("Time from the call of the API method to its response")
+    .buckets(SECONDS_BUCKETS)
+    .labelNames("method", "tenant")
+    .register(registry);
+  private static final Counter REQUESTS = Counter.build()
+    .name(PREFIX + "requests_total")
+    .help("Responses of the API methods by status")
+    .labelNames("method", "tenant", "status")
+    .register(registry);
+  private static final Histogram DB_DURATION = Histogram.build()
+    .name(PREFIX + "db_statement_duration_seconds")
+    .help("Time from sending a statement to having its result, including the wait for a connection")
+    .buckets(SECONDS_BUCKETS)
+    .labelNames("table", "operation")
+    .register(registry);
+  private static final Histogram DB_ROWS = Histogram.build()
+    .name(PREFIX + "db_statement_rows")
+    .help("Rows returned by a select of a collection request")
+    .buckets(ROWS_BUCKETS)
+    .labelNames("table")
+    .register(registry);
+  private static final Gauge DB_ACTIVE = Gauge.build()
+    .name(PREFIX + "db_statements_active")
+    .help("Statements in flight, including the ones waiting for a connection")
+    .register(registry);
+  private static final Histogram SERIALIZATION_DURATION = Histogram.build()
+    .name(PREFIX + "serialization_duration_seconds")
+    .help("Time spent building the body of a collection response")
+    .buckets(SECONDS_BUCKETS)
+    .register(registry);
+  private static final Counter OUTBOX_DELIVERIES = Counter.build()
+    .name(PREFIX + "outbox_deliveries_total")
+    .help("Attempts to deliver an event of the outbox to the event bus by outcome")
+    .labelNames("tenant", "outcome")
+    .register(registry);
+  private static final Histogram OUTBOX_DELIVERY_LAG = Histogram.build()
+    .name(PREFIX + "outbox_delivery_lag_seconds")
+    .help("Time from the write of an event to the outbox to its acknowledgement by the consumer")
+    .buckets(LAG_BUCKETS)
+    .labelNames("tenant")
+    .register(registry);
+  private static final Gauge OUTBOX_OLDEST_EVENT_AGE = Gauge.build()
+    .name(PREFIX + "outbox_oldest_event_age_seconds")
+    .help("Age of the oldest event waiting in the outbox when it was last read, 0 if there was none")
+    .labelNames("tenant")
+    .register(registry);
+
+  static {
+    new CqlCacheCollector().register(registry);
+  }
+
+  private StorageMetrics() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @param method name of the API method
+   * @return handler recording the latency and status of the response and then calling the given one
+   */
+  public static Handler<AsyncResult<Response>> timed(String method, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    long start = System.nanoTime();
+    return reply -> {
+      REQUEST_DURATION.labels(method, tenantId).observe(toSeconds(System.nanoTime() - start));
+      int status = reply.succeeded() && reply.result() != null ? reply.result().getStatus() : 500;
+      REQUESTS.labels(method, tenantId, String.valueOf(status)).inc();
+      asyncResultHandler.handle(reply);
+    };
+  }
+
+  /**
+   * Counts a statement in flight from now until the returned handler is called, and records its duration if it
+   * succeeds. Meant for the statements run on the {@link PostgresClient} directly; the writes of {@link PgUtil} also
+   * validate, map and build the response, so they are left to the request duration.
+   *
+   * @param operation one of {@link #SELECT}, {@link #INSERT}, {@link #UPDATE} and {@link #DELETE}
+   */
+  public static <T> Handler<AsyncResult<T>> timedStatement(String table, String operation, Handler<AsyncResult<T>> handler) {
+    long start = System.nanoTime();
+    DB_ACTIVE.inc();
+    return reply -> {
+      DB_ACTIVE.dec();
+      if (reply.succeeded()) {
+        DB_DURATION.labels(table, operation).observe(toSeconds(System.nanoTime() - start));
+      }
+      handler.handle(reply);
+    };
+  }
+
+  /**
+   * Counts a select of a collection request in flight until {@link #statementCompleted} or {@link #statementFailed} is
+   * called.
+   */
+  public static void statementStarted() {
+    DB_ACTIVE.inc();
+  }
+
+  public static void statementCompleted(String table, int rows, long elapsedNanos) {
+    DB_ACTIVE.dec();
+    DB_DURATION.labels(table, SELECT).observe(toSeconds(elapsedNanos));
+    DB_ROWS.labels(table).observe(rows);
+  }
+
+  public static void statementFailed() {
+    DB_ACTIVE.dec();
+  }
+
+  public static <T> T timeSerialization(Supplier<T> serialization) {
+    long start = System.nanoTime();
+    try {
+      return serialization.get();
+    } finally {
+      SERIALIZATION_DURATION.observe(toSeconds(System.nanoTime() - start));
+    }
+  }
+
+  public static void outboxEventDelivered(String tenantId, double lagSeconds) {
+    OUTBOX_DELIVERIES.labels(tenantId, "delivered").inc();
+    OUTBOX_DELIVERY_LAG.labels(tenantId).observe(lagSeconds);
+  }
+
+  public static void outboxDeliveryFailed(String tenantId) {
+    OUTBOX_DELIVERIES.labels(tenantId, "failed").inc();
+  }
+
+  public static void outboxRead(String tenantId, double oldestEventAgeSeconds) {
+    OUTBOX_OLDEST_EVENT_AGE.labels(tenantId).set(oldestEventAgeSeconds);
+  }
+
+  public static String scrape() {
+    StringWriter text = new StringWriter();
+    try {
+      TextFormat.write004(text, registry.metricFamilySamples());
+    } catch (IOException e) {
+      // never thrown by a StringWriter
+      throw new UncheckedIOException(e);
+    }
+    return text.toString();
+  }
+
+  private static double toSeconds(long nanos) {
+    return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+  }
+
+  /**
+   * Reads the statistics kept by the {@link CqlQueryTranslator} at every scrape.
+   */
+  private static final class CqlCacheCollector extends Collector {
+    @Override
+    public List<MetricFamilySamples> collect() {
+      JsonObject statistics = CqlQueryTranslator.getStatistics();
+      CounterMetricFamily requests = new CounterMetricFamily(PREFIX + "cql_cache_requests_total",
+        "Translations of CQL queries by outcome of the cache lookup", Collections.singletonList("outcome"));
+      for (String outcome : Arrays.asList("hits", "misses", "bypasses")) {
+        requests.addMetric(Collections.singletonList(outcome), statistics.getLong(outcome));
+      }
+      GaugeMetricFamily size = new GaugeMetricFamily(PREFIX + "cql_cache_size", "Queries in the CQL translation cache",
+        statistics.getInteger("size"));
+      return Arrays.asList(requests, size);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+
+/**
+ * Computes the {@code totalRecords} of a collection page according to the {@link TotalRecordsStrategy}.
+ */
+public class TotalRecordsCounter {
+
+  public static final String STRATEGY_HEADER = "X-Total-Records-Strategy";
+
+  private static final String PARAMETER_CACHE_TTL = "totalRecordsCacheTtl";
+  private static final String PARAMETER_CACHE_SIZE = "totalRecordsCacheSize";
+  private static final String DEFAULT_CACHE_TTL_SECONDS = "60";
+  private static final String DEFAULT_CACHE_SIZE = "1000";
+  private static final String PLAN_ROWS = "Plan Rows";
+
+  private static ExpiringCache<String, Integer> cache;
+
+  private TotalRecordsCounter() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @param fullTableName table name qualified with the tenant's schema, it also makes the cache key tenant specific
+   * @param handler completed with the number of records or {@link TotalRecordsStrategy#UNKNOWN_TOTAL_RECORDS} for
+   *                {@link TotalRecordsStrategy#NONE}
+   */
+  public static void count(PostgresClient postgresClient, QueryHolder queryHolder, String fullTableName,
+      TotalRecordsStrategy strategy, Handler<AsyncResult<Integer>> handler) {
+    try {
+      switch (strategy) {
+        case NONE:
+          handler.handle(Future.succeededFuture(TotalRecordsStrategy.UNKNOWN_TOTAL_RECORDS));
+          break;
+        case ESTIMATED:
+          postgresClient.select(queryHolder.buildEstimateQuery(fullTableName), queryHolder.buildParameters(), reply -> {
+            if (reply.failed()) {
+              handler.handle(Future.failedFuture(reply.cause()));
+              return;
+            }
+            Object plan = reply.result().getResults().get(0).getValue(0);
+            JsonArray plans = plan instanceof JsonArray ? (JsonArray) plan : new JsonArray(plan.toString());
+            handler.handle(Future.succeededFuture(plans.getJsonObject(0).getJsonObject("Plan").getLong(PLAN_ROWS).intValue()));
+          });
+          break;
+        case CACHED:
+          String key = fullTableName + '|' + queryHolder.getQuery();
+          Integer cached = getCache().get(key);
+          if (cached != null) {
+            handler.handle(Future.succeededFuture(cached));
+          } else {
+            countExactly(postgresClient, queryHolder, fullTableName, reply -> {
+              if (reply.succeeded()) {
+                getCache().put(key, reply.result());
+              }
+              handler.handle(reply);
+            });
+          }
+          break;
+        default:
+          countExactly(postgresClient, queryHolder, fullTableName, handler);
+      }
+    } catch (Exception e) {
+      handler.handle(Future.failedFuture(e));
+    }
+  }
+
+  private static void countExactly(PostgresClient postgresClient, QueryHolder queryHolder, String fullTableName,
+      Handler<AsyncResult<Integer>> handler) throws Exception {
+    SlowQueryLog.select(postgresClient, fullTableName, queryHolder, queryHolder.buildCountQuery(fullTableName), queryHolder.buildParameters(), reply -> {
+      if (reply.succeeded()) {
+        handler.handle(Future.succeededFuture(reply.result().getResults().get(0).getLong(0).intValue()));
+      } else {
+        handler.handle(Future.failedFuture(reply.cause()));
+      }
+    });
+  }
+
+  private static synchronized ExpiringCache<String, Integer> getCache() {
+    if (cache == null) {
+      int size = Integer.parseInt(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_CACHE_SIZE, DEFAULT_CACHE_SIZE));
+      long ttlSeconds = Long.parseLong(MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_CACHE_TTL, DEFAULT_CACHE_TTL_SECONDS));
+      cache = new ExpiringCache<>(size, ttlSeconds * 1000);
+    }
+    return cache;
+  }
+}
@@ -0,0 +1,47 @@
+package org.folio.rest.persist;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Locale;
+
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+
+/**
+ * How the {@code totalRecords} of a collection response is computed.
+ */
+public enum TotalRecordsStrategy {
+  /** COUNT of all the matching records */
+  EXACT,
+  /** row estimate of the query planner */
+  ESTIMATED,
+  /** exact count cached per tenant and query for a configured time */
+  CACHED,
+  /** no count at all, totalRecords is {@link #UNKNOWN_TOTAL_RECORDS} */
+  NONE;
+
+  /**
+   * totalRecords of the {@link #NONE} strategy, the property is required by the collection schemas
+   */
+  public static final int UNKNOWN_TOTAL_RECORDS = -1;
+
+  private static final String PARAMETER_TOTAL_RECORDS = "totalRecords";
+
+  public String getValue() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * @param value requested strategy, the module default ({@code totalRecords} module parameter, exact if not set) is
+   *              used if blank
+   * @throws IllegalArgumentException if the value is not a known strategy
+   */
+  public static TotalRecordsStrategy fromValue(String value) {
+    String strategy = StringUtils.isBlank(value) ? MODULE_SPECIFIC_ARGS.getOrDefault(PARAMETER_TOTAL_RECORDS, EXACT.getValue()) : value;
+    for (TotalRecordsStrategy totalRecordsStrategy : values()) {
+      if (totalRecordsStrategy.getValue().equalsIgnoreCase(strategy)) {
+        return totalRecordsStrategy;
+      }
+    }
+    throw new IllegalArgumentException(String.format("Unsupported totalRecords value: %s", strategy));
+  }
+}
@@ -0,0 +1,58 @@
+package org.folio.rest.persist;
+
+import io.vertx.core.json.JsonArray;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL translation of a CQL query.
+ */
+public class TranslatedQuery {
+
+  private final String where;
+  private final String orderBy;
+  private final List<String> parameters;
+
+  public TranslatedQuery(String where, String orderBy) {
+    this(where, orderBy, Collections.emptyList());
+  }
+
+  /**
+   * @param parameters values of the {@code ?} placeholders of the WHERE clause, in order
+   */
+  public TranslatedQuery(String where, String orderBy, List<String> parameters) {
+    this.where = where;
+    this.orderBy = orderBy;
+    this.parameters = Collections.unmodifiableList(parameters);
+  }
+
+  /**
+   * @return WHERE clause without the keyword, may be empty, its literals may be bound as {@link #getParameters()}
+   */
+  public String getWhere() {
+    return where;
+  }
+
+  /**
+   * @return ORDER BY clause without the keywords, may be empty
+   */
+  public String getOrderBy() {
+    return orderBy;
+  }
+
+  /**
+   * @return values of the {@code ?} placeholders of the WHERE clause, in order
+   */
+  public List<String> getParameters() {
+    return parameters;
+  }
+
+  /**
+   * @return the parameters as statement parameters, a new array that can be extended
+   */
+  public JsonArray buildParameters() {
+    return new JsonArray(new ArrayList<>(parameters));
+  }
+}
@@ -0,0 +1,104 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class BatchCreateTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(BatchCreateTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String ORGANIZATION_BATCH_ENDPOINT = ORGANIZATION_ENDPOINT + "/batch";
+  private static final String[] SAMPLE_ORGANIZATION_FILES = {
+    "data/organizations/acso.json",
+    "data/organizations/alexs.json",
+    "data/organizations/amaz.json"
+  };
+
+  @Test
+  public void testBatchCreate() throws MalformedURLException {
+    JsonArray organizations = new JsonArray();
+    for (String file : SAMPLE_ORGANIZATION_FILES) {
+      JsonObject organization = new JsonObject(getFile(file));
+      organization.remove("id");
+      organizations.add(organization);
+    }
+
+    logger.info("--- mod-organizations-storage batch test: creating organizations");
+    List<String> createdIds = new ArrayList<>();
+    try {
+      createdIds.addAll(postData(ORGANIZATION_BATCH_ENDPOINT, new JsonObject().put("organizations", organizations).encode())
+        .then().log().ifValidationFails()
+        .statusCode(201)
+        .body("totalRecords", equalTo(SAMPLE_ORGANIZATION_FILES.length))
+        .body("results", hasSize(SAMPLE_ORGANIZATION_FILES.length))
+        .body("results[1].index", equalTo(1))
+        .body("results[1].status", equalTo(201))
+        .extract()
+        .path("results.id"));
+
+      for (int i = 0; i < createdIds.size(); i++) {
+        getDataById(ORGANIZATION_ENDPOINT_WITH_ID, createdIds.get(i))
+          .then().log().ifValidationFails()
+          .statusCode(200)
+          .body("name", equalTo(organizations.getJsonObject(i).getString("name")));
+      }
+    } finally {
+      for (String id : createdIds) {
+        deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+
+  @Test
+  public void testBatchWithDuplicateIdsIsRejected() throws MalformedURLException {
+    String id = UUID.randomUUID().toString();
+    JsonArray organizations = new JsonArray();
+    for (String file : SAMPLE_ORGANIZATION_FILES) {
+      organizations.add(new JsonObject(getFile(file)).put("id", id));
+    }
+
+    logger.info("--- mod-organizations-storage batch test: creating organizations with duplicate ids");
+    postData(ORGANIZATION_BATCH_ENDPOINT, new JsonObject().put("organizations", organizations).encode())
+      .then().log().ifValidationFails()
+      .statusCode(422)
+      .body("errors", hasSize(SAMPLE_ORGANIZATION_FILES.length - 1));
+
+    testVerifyEntityDeletion(ORGANIZATION_ENDPOINT_WITH_ID, id);
+  }
+
+  @Test
+  public void testBatchWithExistingIdNamesTheRecord() throws MalformedURLException {
+    String id = createEntity(ORGANIZATION_ENDPOINT, getFile(SAMPLE_ORGANIZATION_FILES[0]));
+    try {
+      JsonArray organizations = new JsonArray()
+        .add(new JsonObject(getFile(SAMPLE_ORGANIZATION_FILES[1])).put("id", UUID.randomUUID().toString()))
+        .add(new JsonObject(getFile(SAMPLE_ORGANIZATION_FILES[2])).put("id", id));
+
+      logger.info("--- mod-organizations-storage batch test: creating organizations with an existing id");
+      postData(ORGANIZATION_BATCH_ENDPOINT, new JsonObject().put("organizations", organizations).encode())
+        .then().log().ifValidationFails()
+        .statusCode(422)
+        .body("errors", hasSize(1))
+        .body("errors[0].parameters.find { it.key == 'index' }.value", equalTo("1"))
+        .body("errors[0].parameters.find { it.key == 'id' }.value", equalTo(id));
+
+      testVerifyEntityDeletion(ORGANIZATION_ENDPOINT_WITH_ID, organizations.getJsonObject(0).getString("id"));
+    } finally {
+      deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.equalTo;
+
+import java.net.MalformedURLException;
+
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class CategoriesCacheTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(CategoriesCacheTest.class);
+
+  private static final String CATEGORY_ENDPOINT = TestEntities.CATEGORY.getEndpoint();
+  private static final String CATEGORY_ENDPOINT_WITH_ID = TestEntities.CATEGORY.getEndpointWithId();
+
+  @Test
+  public void testWritesInvalidateCachedCategories() throws MalformedURLException {
+    int initialQuantity = getData(CATEGORY_ENDPOINT).then().statusCode(200).extract().path("totalRecords");
+
+    logger.info("--- mod-organizations-storage categories cache test: creating category");
+    String id = createEntity(CATEGORY_ENDPOINT, getFile(TestEntities.CATEGORY.getSampleFileName()));
+    try {
+      verifyCollectionQuantity(CATEGORY_ENDPOINT, initialQuantity + 1);
+      testEntitySuccessfullyFetched(CATEGORY_ENDPOINT_WITH_ID, id);
+
+      logger.info("--- mod-organizations-storage categories cache test: updating category");
+      JsonObject updated = new JsonObject(getFile(TestEntities.CATEGORY.getSampleFileName()))
+        .put("id", id)
+        .put("value", "Cached");
+      testEntityEdit(CATEGORY_ENDPOINT_WITH_ID, updated.encode(), id);
+      getDataById(CATEGORY_ENDPOINT_WITH_ID, id)
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("value", equalTo("Cached"));
+    } finally {
+      logger.info("--- mod-organizations-storage categories cache test: deleting category");
+      deleteDataSuccess(CATEGORY_ENDPOINT_WITH_ID, id);
+    }
+    testVerifyEntityDeletion(CATEGORY_ENDPOINT_WITH_ID, id);
+    verifyCollectionQuantity(CATEGORY_ENDPOINT, initialQuantity);
+  }
+}
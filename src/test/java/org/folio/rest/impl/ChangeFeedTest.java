@@ -0,0 +1,136 @@
+package org.folio.rest.impl;
+
+import static io.restassured.RestAssured.given;
+import static org.folio.rest.impl.StorageTestSuite.storageUrl;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.persist.ChangeFeed;
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class ChangeFeedTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(ChangeFeedTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String ORGANIZATION_CHANGES_ENDPOINT = ORGANIZATION_ENDPOINT + "/changes";
+  private static final int SETTLE_ATTEMPTS = 50;
+
+  @Test
+  public void testChangesFollowToken() throws MalformedURLException, InterruptedException {
+    List<String> createdIds = new ArrayList<>();
+    try {
+      String token = readToEnd();
+
+      for (int i = 0; i < 3; i++) {
+        JsonObject organization = new JsonObject(getFile("data/organizations/amaz.json"))
+          .put("id", UUID.randomUUID().toString())
+          .put("code", "CHANGES-" + i);
+        createdIds.add(createEntity(ORGANIZATION_ENDPOINT, organization.encode()));
+      }
+
+      logger.info("--- mod-organizations-storage change feed test: reading created organizations");
+      awaitChanges(token, 3);
+      Response first = changes(token, 2);
+      first.then().log().ifValidationFails()
+        .statusCode(200)
+        .body("organizations", hasSize(2));
+      Response second = changes(first.getHeader(ChangeFeed.CHANGES_TOKEN_HEADER), 2);
+      second.then().log().ifValidationFails()
+        .statusCode(200)
+        .body("organizations", hasSize(1));
+      List<String> codes = new ArrayList<>(first.jsonPath().getList("organizations.code", String.class));
+      codes.addAll(second.jsonPath().getList("organizations.code", String.class));
+      assertThat(codes, containsInAnyOrder("CHANGES-0", "CHANGES-1", "CHANGES-2"));
+      token = second.getHeader(ChangeFeed.CHANGES_TOKEN_HEADER);
+      changes(token, 2).then().log().ifValidationFails()
+        .statusCode(200)
+        .header(ChangeFeed.CHANGES_TOKEN_HEADER, equalTo(token))
+        .body("organizations", empty());
+
+      logger.info("--- mod-organizations-storage change feed test: reading updated organization");
+      JsonObject updated = new JsonObject(getDataById(ORGANIZATION_ENDPOINT_WITH_ID, createdIds.get(0)).asString())
+        .put("description", "changed");
+      putData(ORGANIZATION_ENDPOINT_WITH_ID, createdIds.get(0), updated.encode()).then().statusCode(204);
+      awaitChanges(token, 1);
+      Response third = changes(token, 2);
+      third.then().log().ifValidationFails()
+        .statusCode(200)
+        .body("organizations.id", contains(createdIds.get(0)))
+        .body("organizations[0].description", equalTo("changed"))
+        .body("deletedIds", empty());
+      token = third.getHeader(ChangeFeed.CHANGES_TOKEN_HEADER);
+
+      logger.info("--- mod-organizations-storage change feed test: reading deleted organization");
+      String deletedId = createdIds.remove(1);
+      deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, deletedId);
+      awaitChanges(token, 1);
+      changes(token, 2).then().log().ifValidationFails()
+        .statusCode(200)
+        .body("organizations", empty())
+        .body("deletedIds", contains(deletedId));
+    } finally {
+      for (String id : createdIds) {
+        deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidToken() throws MalformedURLException {
+    changes("not-a-token", 10).then().log().ifValidationFails()
+      .statusCode(400);
+  }
+
+  /**
+   * Waits until the feed lists the expected number of changes after the token, the changes are only listed once the
+   * transactions started before them have ended.
+   */
+  private void awaitChanges(String token, int expected) throws MalformedURLException, InterruptedException {
+    for (int attempt = 0; attempt < SETTLE_ATTEMPTS && countChanges(changes(token, 1000)) < expected; attempt++) {
+      Thread.sleep(100);
+    }
+  }
+
+  private int countChanges(Response response) {
+    return response.jsonPath().getList("organizations").size() + response.jsonPath().getList("deletedIds").size();
+  }
+
+  private String readToEnd() throws MalformedURLException {
+    String token = null;
+    while (true) {
+      Response response = changes(token, 1000);
+      response.then().statusCode(200);
+      if (countChanges(response) == 0) {
+        return token;
+      }
+      token = response.getHeader(ChangeFeed.CHANGES_TOKEN_HEADER);
+    }
+  }
+
+  private Response changes(String since, int limit) throws MalformedURLException {
+    RequestSpecification request = given()
+      .header(TENANT_HEADER)
+      .queryParam("limit", limit);
+    if (since != null) {
+      request.queryParam("since", since);
+    }
+    return request.get(storageUrl(ORGANIZATION_CHANGES_ENDPOINT));
+  }
+}
@@ -0,0 +1,71 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.persist.KeysetPage;
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class CqlQueryCacheTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(CqlQueryCacheTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String[] CODES = { "CQLCACHEALPHA", "CQLCACHEBETA" };
+
+  @Test
+  public void testQueriesOfOneShapeBindTheirLiterals() throws MalformedURLException {
+    List<String> createdIds = new ArrayList<>();
+    try {
+      for (String code : CODES) {
+        JsonObject organization = new JsonObject(getFile("data/organizations/amaz.json"))
+          .put("id", UUID.randomUUID().toString())
+          .put("code", code);
+        createdIds.add(createEntity(ORGANIZATION_ENDPOINT, organization.encode()));
+      }
+
+      logger.info("--- mod-organizations-storage CQL cache test: querying by code with different literals");
+      for (int i = 0; i < 2; i++) {
+        for (String code : CODES) {
+          getData(ORGANIZATION_ENDPOINT + "?query=code==" + code)
+            .then().log().ifValidationFails()
+            .statusCode(200)
+            .body("totalRecords", equalTo(1))
+            .body("organizations.code", contains(code));
+          getData(ORGANIZATION_ENDPOINT + "?totalRecords=estimated&query=code==" + code)
+            .then().log().ifValidationFails()
+            .statusCode(200)
+            .body("organizations.code", contains(code));
+          getData(ORGANIZATION_ENDPOINT + "?limit=1&query=code==" + code + "&pageToken=" + KeysetPage.FIRST_PAGE_TOKEN)
+            .then().log().ifValidationFails()
+            .statusCode(200)
+            .body("organizations.code", contains(code));
+        }
+      }
+
+      logger.info("--- mod-organizations-storage CQL cache test: querying with literals that are not bound");
+      getData(ORGANIZATION_ENDPOINT + "?query=code==\"O'CQLCACHE\"")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(0));
+      getData(ORGANIZATION_ENDPOINT + "?query=code==zqsentinelaz")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(0));
+    } finally {
+      for (String id : createdIds) {
+        deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+}
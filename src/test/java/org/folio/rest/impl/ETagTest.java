@@ -0,0 +1,72 @@
+package org.folio.rest.impl;
+
+import static io.restassured.RestAssured.given;
+import static org.folio.rest.impl.StorageTestSuite.storageUrl;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.net.MalformedURLException;
+
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class ETagTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(ETagTest.class);
+
+  private static final String IF_NONE_MATCH = "If-None-Match";
+  private static final String ETAG = "ETag";
+
+  @Test
+  public void testConditionalGets() throws MalformedURLException {
+    for (TestEntities testEntity : TestEntities.values()) {
+      logger.info(String.format("--- mod-organizations-storage %s ETag test", testEntity.name()));
+      String id = createEntity(testEntity.getEndpoint(), getFile(testEntity.getSampleFileName()));
+      try {
+        String byIdEndpoint = testEntity.getEndpoint() + "/" + id;
+        String etag = getData(byIdEndpoint).then().log().ifValidationFails()
+          .statusCode(200)
+          .header(ETAG, notNullValue())
+          .extract().header(ETAG);
+        getConditionally(byIdEndpoint, etag).then().log().ifValidationFails()
+          .statusCode(304)
+          .header(ETAG, equalTo(etag));
+
+        String collectionEndpoint = testEntity.getEndpoint() + "?query=id==" + id;
+        String collectionEtag = getData(collectionEndpoint).then().log().ifValidationFails()
+          .statusCode(200)
+          .extract().header(ETAG);
+        getConditionally(collectionEndpoint, collectionEtag).then().log().ifValidationFails()
+          .statusCode(304);
+
+        JsonObject updated = new JsonObject(getDataById(testEntity.getEndpointWithId(), id).then().extract().asString());
+        updated.remove("metadata");
+        updated.put(testEntity.getUpdatedFieldName(), testEntity.getUpdatedFieldValue());
+        putData(testEntity.getEndpointWithId(), id, updated.encode()).then().statusCode(204);
+
+        getConditionally(byIdEndpoint, etag).then().log().ifValidationFails()
+          .statusCode(200)
+          .header(ETAG, not(equalTo(etag)));
+        getConditionally(collectionEndpoint, collectionEtag).then().log().ifValidationFails()
+          .statusCode(200)
+          .body("totalRecords", equalTo(1));
+      } finally {
+        deleteDataSuccess(testEntity.getEndpointWithId(), id);
+      }
+    }
+  }
+
+  private Response getConditionally(String endpoint, String etag) throws MalformedURLException {
+    return given()
+      .header(TENANT_HEADER)
+      .header(IF_NONE_MATCH, etag)
+      .contentType(ContentType.JSON)
+      .get(storageUrl(endpoint));
+  }
+}
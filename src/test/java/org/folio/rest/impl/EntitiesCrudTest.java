@@ -112,6 +112,30 @@ public class EntitiesCrudTest extends TestBase {
     testInvalidCQLQuery(testEntity.getEndpoint() + "?query=invalid-query");
   }
 
+  @Test
+  public void testGetEntitiesWithLargePage() throws MalformedURLException {
+    logger.info(String.format("--- mod-organizations-storage %s test: Cursor-backed collection for large page", testEntity.name()));
+    int totalRecords = getData(testEntity.getEndpoint()).then().statusCode(200).extract().path("totalRecords");
+    getData(testEntity.getEndpoint() + "?limit=1000").then().log().ifValidationFails()
+      .statusCode(200)
+      .body("totalRecords", is(totalRecords));
+    testInvalidCQLQuery(testEntity.getEndpoint() + "?limit=1000&query=invalid-query");
+  }
+
+  @Test
+  public void testTotalRecordsStrategies() throws MalformedURLException {
+    logger.info(String.format("--- mod-organizations-storage %s test: totalRecords strategies", testEntity.name()));
+    for (String strategy : new String[] { "exact", "estimated", "cached", "none" }) {
+      getData(testEntity.getEndpoint() + "?totalRecords=" + strategy).then().log().ifValidationFails()
+        .statusCode(200)
+        .header("X-Total-Records-Strategy", is(strategy));
+    }
+    getData(testEntity.getEndpoint() + "?totalRecords=none").then().log().ifValidationFails()
+      .body("totalRecords", is(-1));
+    getData(testEntity.getEndpoint() + "?totalRecords=unknown").then().log().ifValidationFails()
+      .statusCode(400);
+  }
+
   @Test
   public void testReceiveMetadata() throws MalformedURLException {
     logger.info(String.format("--- mod-organizations-storage %s test: Test receive metadata", testEntity.name()));
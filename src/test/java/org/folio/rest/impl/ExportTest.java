@@ -0,0 +1,120 @@
+package org.folio.rest.impl;
+
+import static io.restassured.RestAssured.given;
+import static org.folio.rest.impl.StorageTestSuite.storageUrl;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertEquals;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.persist.NdjsonExporter;
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class ExportTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(ExportTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String ORGANIZATION_EXPORT_ENDPOINT = ORGANIZATION_ENDPOINT + "/export";
+  private static final String EXPORT_QUERY = "code==EXPORT-*";
+  private static final String[] SAMPLE_ORGANIZATION_FILES = {
+    "data/organizations/acso.json",
+    "data/organizations/alexs.json",
+    "data/organizations/amaz.json"
+  };
+
+  @Test
+  public void testExportFollowsCursor() throws MalformedURLException {
+    List<String> createdIds = new ArrayList<>();
+    try {
+      for (int i = 0; i < SAMPLE_ORGANIZATION_FILES.length; i++) {
+        JsonObject organization = new JsonObject(getFile(SAMPLE_ORGANIZATION_FILES[i]))
+          .put("id", UUID.randomUUID().toString())
+          .put("code", "EXPORT-" + i);
+        createdIds.add(createEntity(ORGANIZATION_ENDPOINT, organization.encode()));
+      }
+
+      logger.info("--- mod-organizations-storage export test: exporting first lines");
+      Response first = export(null);
+      first.then().log().ifValidationFails()
+        .statusCode(200)
+        .header(NdjsonExporter.EXPORT_CURSOR_HEADER, not(nullValue()));
+
+      logger.info("--- mod-organizations-storage export test: exporting remaining lines");
+      Response second = export(first.getHeader(NdjsonExporter.EXPORT_CURSOR_HEADER));
+      second.then().log().ifValidationFails()
+        .statusCode(200)
+        .header(NdjsonExporter.EXPORT_CURSOR_HEADER, nullValue());
+
+      List<String> ids = new ArrayList<>();
+      for (Response response : Arrays.asList(first, second)) {
+        for (String line : response.asString().split("\n")) {
+          ids.add(new JsonObject(line).getString("id"));
+        }
+      }
+      List<String> sortedIds = new ArrayList<>(createdIds);
+      Collections.sort(sortedIds);
+      assertEquals(sortedIds, ids);
+
+      logger.info("--- mod-organizations-storage export test: exporting remaining lines again from the same cursor");
+      Response again = export(first.getHeader(NdjsonExporter.EXPORT_CURSOR_HEADER));
+      again.then().log().ifValidationFails()
+        .statusCode(200);
+      assertEquals(second.asString(), again.asString());
+    } finally {
+      for (String id : createdIds) {
+        deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidCursor() throws MalformedURLException {
+    export(UUID.randomUUID().toString()).then().log().ifValidationFails()
+      .statusCode(400);
+  }
+
+  @Test
+  public void testInvalidQuery() throws MalformedURLException {
+    given()
+      .header(TENANT_HEADER)
+      .queryParam("query", "code==")
+      .get(storageUrl(ORGANIZATION_EXPORT_ENDPOINT))
+      .then().log().ifValidationFails()
+      .statusCode(400);
+  }
+
+  @Test
+  public void testSortOtherThanIdRejected() throws MalformedURLException {
+    given()
+      .header(TENANT_HEADER)
+      .queryParam("query", EXPORT_QUERY + " sortBy code")
+      .get(storageUrl(ORGANIZATION_EXPORT_ENDPOINT))
+      .then().log().ifValidationFails()
+      .statusCode(400);
+  }
+
+  private Response export(String cursor) throws MalformedURLException {
+    RequestSpecification request = given()
+      .header(TENANT_HEADER)
+      .queryParam("query", EXPORT_QUERY)
+      .queryParam("limit", 2);
+    if (cursor != null) {
+      request.queryParam("cursor", cursor);
+    }
+    return request.get(storageUrl(ORGANIZATION_EXPORT_ENDPOINT));
+  }
+}
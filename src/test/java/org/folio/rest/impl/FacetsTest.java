@@ -0,0 +1,96 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.RestVerticle;
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class FacetsTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(FacetsTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String ORGANIZATION_FACETS_ENDPOINT = ORGANIZATION_ENDPOINT + "/facets?query=code==FACET-*";
+  private static final String FACETS_CACHE_PARAMETER = "facetsCache";
+
+  @Test
+  public void testFacetsCountAllFieldsAtOnce() throws MalformedURLException {
+    List<String> createdIds = new ArrayList<>();
+    try {
+      createdIds.add(createOrganization("FACET-1", "Active", true, "EFT"));
+      createdIds.add(createOrganization("FACET-2", "Active", false, "EFT"));
+      createdIds.add(createOrganization("FACET-3", "Inactive", true, null));
+
+      logger.info("--- mod-organizations-storage facets test: counting organizations");
+      getData(ORGANIZATION_FACETS_ENDPOINT + "&facets=status,isVendor,paymentMethod").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(3))
+        .body("facets.facetName", contains("status", "isVendor", "paymentMethod"))
+        .body("facets[0].values.value", contains("Active", "Inactive"))
+        .body("facets[0].values.totalRecords", contains(2, 1))
+        .body("facets[1].values.value", contains("true", "false"))
+        .body("facets[1].values.totalRecords", contains(2, 1))
+        .body("facets[2].values.value", contains("EFT"))
+        .body("facets[2].values.totalRecords", contains(2));
+    } finally {
+      for (String id : createdIds) {
+        deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+
+  @Test
+  public void testCachedFacetsAreDroppedOnWrite() throws MalformedURLException {
+    RestVerticle.MODULE_SPECIFIC_ARGS.put(FACETS_CACHE_PARAMETER, "true");
+    List<String> createdIds = new ArrayList<>();
+    try {
+      createdIds.add(createOrganization("FACET-1", "Active", true, "EFT"));
+      getData(ORGANIZATION_FACETS_ENDPOINT + "&facets=status").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("facets[0].values.totalRecords", contains(1));
+
+      logger.info("--- mod-organizations-storage facets test: counting again after a creation");
+      createdIds.add(createOrganization("FACET-2", "Active", false, "EFT"));
+      getData(ORGANIZATION_FACETS_ENDPOINT + "&facets=status").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(2))
+        .body("facets[0].values.totalRecords", contains(2));
+    } finally {
+      RestVerticle.MODULE_SPECIFIC_ARGS.remove(FACETS_CACHE_PARAMETER);
+      for (String id : createdIds) {
+        deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+
+  @Test
+  public void testUnknownFacet() throws MalformedURLException {
+    getData(ORGANIZATION_FACETS_ENDPOINT + "&facets=status,name").then().log().ifValidationFails()
+      .statusCode(400);
+  }
+
+  private String createOrganization(String code, String status, boolean isVendor, String paymentMethod) throws MalformedURLException {
+    JsonObject organization = new JsonObject(getFile("data/organizations/amaz.json"))
+      .put("id", UUID.randomUUID().toString())
+      .put("code", code)
+      .put("status", status)
+      .put("isVendor", isVendor);
+    if (paymentMethod == null) {
+      organization.remove("paymentMethod");
+    } else {
+      organization.put("paymentMethod", paymentMethod);
+    }
+    return createEntity(ORGANIZATION_ENDPOINT, organization.encode());
+  }
+}
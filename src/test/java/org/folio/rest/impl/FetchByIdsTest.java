@@ -0,0 +1,65 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class FetchByIdsTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(FetchByIdsTest.class);
+
+  private static final String CONTACT_ENDPOINT = TestEntities.CONTACT.getEndpoint();
+  private static final String CONTACT_ENDPOINT_WITH_ID = TestEntities.CONTACT.getEndpointWithId();
+  private static final String CONTACT_BY_IDS_ENDPOINT = CONTACT_ENDPOINT + "/by-ids";
+  private static final String[] SAMPLE_CONTACT_FILES = {
+    "data/contacts/acso_contact.json",
+    "data/contacts/alexs_contact.json",
+    "data/contacts/amaz_contact.json"
+  };
+
+  @Test
+  public void testFetchContactsByIds() throws MalformedURLException {
+    List<String> createdIds = new ArrayList<>();
+    try {
+      for (String file : SAMPLE_CONTACT_FILES) {
+        JsonObject contact = new JsonObject(getFile(file));
+        contact.remove("id");
+        createdIds.add(createEntity(CONTACT_ENDPOINT, contact.encode()));
+      }
+
+      logger.info("--- mod-organizations-storage by ids test: fetching contacts in reverse order with a missing id");
+      JsonArray ids = new JsonArray()
+        .add(createdIds.get(2))
+        .add(NON_EXISTED_ID)
+        .add(createdIds.get(0))
+        .add(createdIds.get(1));
+      postData(CONTACT_BY_IDS_ENDPOINT, new JsonObject().put("ids", ids).encode())
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(3))
+        .body("contacts.id", contains(createdIds.get(2), createdIds.get(0), createdIds.get(1)))
+        .body("missingIds", contains(NON_EXISTED_ID));
+    } finally {
+      for (String id : createdIds) {
+        deleteDataSuccess(CONTACT_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+
+  @Test
+  public void testFetchByInvalidIds() throws MalformedURLException {
+    postData(CONTACT_BY_IDS_ENDPOINT, new JsonObject().put("ids", new JsonArray().add("not-a-uuid")).encode())
+      .then().log().ifValidationFails()
+      .statusCode(422);
+  }
+}
@@ -0,0 +1,85 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class FullTextSearchTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(FullTextSearchTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String ORGANIZATION_SEARCH_ENDPOINT = ORGANIZATION_ENDPOINT + "/search";
+
+  @Test
+  public void testSearchRanksAliasMatchesFirst() throws MalformedURLException {
+    List<String> createdIds = new ArrayList<>();
+    try {
+      createdIds.add(createOrganization("SEARCH-DESCRIPTION", new JsonArray(), "Distributor of Quokka journals", "G1"));
+      createdIds.add(createOrganization("SEARCH-ALIAS", new JsonArray().add(new JsonObject().put("value", "Quókka Books")), "", "G2"));
+      createdIds.add(createOrganization("SEARCH-ERP", new JsonArray(), "", "QUOKKA"));
+
+      logger.info("--- mod-organizations-storage full-text search test: searching organizations");
+      getData(ORGANIZATION_SEARCH_ENDPOINT + "?q=quokka").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(3))
+        .body("organizations.code", contains("SEARCH-ALIAS", "SEARCH-ERP", "SEARCH-DESCRIPTION"));
+
+      getData(ORGANIZATION_SEARCH_ENDPOINT + "?q=quokka books").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(1))
+        .body("organizations.code", contains("SEARCH-ALIAS"));
+
+      getData(ORGANIZATION_SEARCH_ENDPOINT + "?q=quokka&offset=1&limit=1").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(3))
+        .body("organizations.code", contains("SEARCH-ERP"));
+
+      getData(ORGANIZATION_SEARCH_ENDPOINT + "?q=quokka&offset=5").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(3))
+        .body("organizations", empty());
+
+      logger.info("--- mod-organizations-storage full-text search test: updating the description");
+      JsonObject updated = new JsonObject(getDataById(ORGANIZATION_ENDPOINT_WITH_ID, createdIds.get(0)).asString())
+        .put("description", "Distributor of journals");
+      putData(ORGANIZATION_ENDPOINT_WITH_ID, createdIds.get(0), updated.encode()).then().statusCode(204);
+      getData(ORGANIZATION_SEARCH_ENDPOINT + "?q=quokka").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(2));
+    } finally {
+      for (String id : createdIds) {
+        deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+
+  @Test
+  public void testSearchWithoutWords() throws MalformedURLException {
+    getData(ORGANIZATION_SEARCH_ENDPOINT).then().log().ifValidationFails()
+      .statusCode(400);
+  }
+
+  private String createOrganization(String code, JsonArray aliases, String description, String erpCode) throws MalformedURLException {
+    JsonObject organization = new JsonObject(getFile("data/organizations/amaz.json"))
+      .put("id", UUID.randomUUID().toString())
+      .put("code", code)
+      .put("aliases", aliases)
+      .put("description", description)
+      .put("erpCode", erpCode);
+    return createEntity(ORGANIZATION_ENDPOINT, organization.encode());
+  }
+}
@@ -0,0 +1,142 @@
+package org.folio.rest.impl;
+
+import static io.restassured.RestAssured.given;
+import static org.folio.rest.RestVerticle.MODULE_SPECIFIC_ARGS;
+import static org.folio.rest.impl.StorageTestSuite.storageUrl;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.persist.NdjsonImporter;
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.restassured.http.ContentType;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class ImportTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(ImportTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String ORGANIZATION_IMPORT_ENDPOINT = ORGANIZATION_ENDPOINT + "/import";
+  private static final String BATCH_SIZE_PARAMETER = "importBatchSize";
+  private static final String MAX_PENDING_BATCHES_PARAMETER = "importMaxPendingBatches";
+
+  @Test
+  public void testImportReportsFailedLines() throws MalformedURLException {
+    String firstId = UUID.randomUUID().toString();
+    String secondId = UUID.randomUUID().toString();
+    JsonObject first = new JsonObject(getFile("data/organizations/acso.json")).put("id", firstId).put("code", "IMPORT-1");
+    JsonObject second = new JsonObject(getFile("data/organizations/amaz.json")).put("id", secondId).put("code", "IMPORT-2");
+    String ndjson = first.encode() + "\n"
+      + "{not json\n"
+      + "\n"
+      + second.encode() + "\r\n"
+      + first.encode() + "\n"
+      + new JsonObject().put("code", "IMPORT-3").encode();
+
+    logger.info("--- mod-organizations-storage import test: importing organizations");
+    try {
+      given()
+        .header(TENANT_HEADER)
+        .contentType(ContentType.BINARY)
+        .accept(ContentType.JSON)
+        .body(ndjson)
+        .post(storageUrl(ORGANIZATION_IMPORT_ENDPOINT))
+        .then().log().ifValidationFails()
+        .statusCode(201)
+        .body("lines", equalTo(5))
+        .body("imported", equalTo(2))
+        .body("failed", equalTo(3))
+        .body("errors.line", contains(2, 5, 6))
+        .body("errors[1].id", equalTo(firstId));
+
+      getDataById(ORGANIZATION_ENDPOINT_WITH_ID, secondId).then().log().ifValidationFails()
+        .statusCode(200)
+        .body("code", equalTo("IMPORT-2"));
+
+      logger.info("--- mod-organizations-storage import test: importing existing organizations again");
+      given()
+        .header(TENANT_HEADER)
+        .contentType(ContentType.BINARY)
+        .accept(ContentType.JSON)
+        .body(first.encode() + "\n")
+        .post(storageUrl(ORGANIZATION_IMPORT_ENDPOINT))
+        .then().log().ifValidationFails()
+        .statusCode(201)
+        .body("imported", equalTo(0))
+        .body("errors[0].line", equalTo(1));
+    } finally {
+      deleteData(ORGANIZATION_ENDPOINT_WITH_ID, firstId);
+      deleteData(ORGANIZATION_ENDPOINT_WITH_ID, secondId);
+    }
+  }
+
+  @Test
+  public void testImportStopsWhenBatchesPileUp() throws MalformedURLException {
+    List<String> ids = new ArrayList<>();
+    List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      String id = UUID.randomUUID().toString();
+      ids.add(id);
+      lines.add(new JsonObject().put("id", id).put("name", "Import " + i).put("code", "IMPORT-PENDING-" + i)
+        .put("status", "Active").encode());
+    }
+
+    // every line is a batch of its own, so every chunk of the body queues more batches than allowed
+    MODULE_SPECIFIC_ARGS.put(BATCH_SIZE_PARAMETER, "1");
+    MODULE_SPECIFIC_ARGS.put(MAX_PENDING_BATCHES_PARAMETER, "2");
+    logger.info("--- mod-organizations-storage import test: importing more batches than can be pending");
+    try {
+      int resumeLine;
+      try {
+        resumeLine = Integer.parseInt(given()
+          .header(TENANT_HEADER)
+          .contentType(ContentType.BINARY)
+          .body(String.join("\n", lines) + "\n")
+          .post(storageUrl(ORGANIZATION_IMPORT_ENDPOINT))
+          .then().log().ifValidationFails()
+          .statusCode(503)
+          .header("Retry-After", notNullValue())
+          .body(containsString("the import stopped at line"))
+          .extract().header(NdjsonImporter.RESUME_LINE_HEADER));
+      } finally {
+        MODULE_SPECIFIC_ARGS.remove(BATCH_SIZE_PARAMETER);
+        MODULE_SPECIFIC_ARGS.remove(MAX_PENDING_BATCHES_PARAMETER);
+      }
+      assertThat(resumeLine, greaterThan(1));
+      getDataById(ORGANIZATION_ENDPOINT_WITH_ID, ids.get(resumeLine - 2)).then().statusCode(200);
+      testVerifyEntityDeletion(ORGANIZATION_ENDPOINT_WITH_ID, ids.get(resumeLine - 1));
+
+      logger.info("--- mod-organizations-storage import test: resending the body from the resume line");
+      given()
+        .header(TENANT_HEADER)
+        .contentType(ContentType.BINARY)
+        .accept(ContentType.JSON)
+        .body(String.join("\n", lines.subList(resumeLine - 1, lines.size())) + "\n")
+        .post(storageUrl(ORGANIZATION_IMPORT_ENDPOINT))
+        .then().log().ifValidationFails()
+        .statusCode(201)
+        .body("imported", equalTo(lines.size() - resumeLine + 1))
+        .body("failed", equalTo(0));
+      for (String id : ids) {
+        getDataById(ORGANIZATION_ENDPOINT_WITH_ID, id).then().statusCode(200);
+      }
+    } finally {
+      for (String id : ids) {
+        deleteData(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package org.folio.rest.impl;
 
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.fail;
 
 import java.net.MalformedURLException;
@@ -96,6 +98,71 @@ public class InterfaceCredentialsTest extends TestBase {
     }
   }
 
+  @Test
+  public void testUpsertByInterfaceId() throws MalformedURLException {
+    logger.info(String.format("--- mod-organizations-storage %s upsert test: Creating %s by PUT", simpleClassName, simpleClassName));
+    postData(INTERFACE_ENDPOINT, getFile(SAMPLE_INTERFACE_FILE_1)).then().statusCode(201);
+    try {
+      JsonObject credential = new JsonObject(getFile(SAMPLE_CREDENTIAL_FILE_1));
+      String credentialId = (String) credential.remove("id");
+      putData(INTERFACE_CREDENTIAL_ENDPOINT_WITH_ID, INTERFACE_ID, credential.encode())
+        .then().log().ifValidationFails()
+        .statusCode(204);
+      InterfaceCredential created = getData(INTERFACE_CREDENTIAL_ENDPOINT).then()
+        .log().ifValidationFails()
+        .statusCode(200)
+        .extract()
+        .body().as(InterfaceCredential.class);
+      assertNotEquals(credentialId, created.getId());
+
+      logger.info(String.format("--- mod-organizations-storage %s upsert test: Replacing %s by PUT", simpleClassName, simpleClassName));
+      credential.put(PASSWORD_FIELD, MY_NEW_PASSWORD);
+      putData(INTERFACE_CREDENTIAL_ENDPOINT_WITH_ID, INTERFACE_ID, credential.encode())
+        .then().log().ifValidationFails()
+        .statusCode(204);
+      InterfaceCredential updated = getData(INTERFACE_CREDENTIAL_ENDPOINT).then()
+        .log().ifValidationFails()
+        .statusCode(200)
+        .extract()
+        .body().as(InterfaceCredential.class);
+      assertEquals(created.getId(), updated.getId());
+      assertEquals(MY_NEW_PASSWORD, updated.getPassword());
+
+      deleteDataSuccess(INTERFACE_CREDENTIAL_ENDPOINT_WITH_ID, INTERFACE_ID);
+    } finally {
+      deleteDataSuccess(INTERFACE_ENDPOINT_WITH_ID, INTERFACE_ID);
+    }
+  }
+
+  @Test
+  public void testDuplicatePostIsRejected() throws MalformedURLException {
+    logger.info(String.format("--- mod-organizations-storage %s duplicate test: Creating a second %s by POST", simpleClassName, simpleClassName));
+    postData(INTERFACE_ENDPOINT, getFile(SAMPLE_INTERFACE_FILE_1)).then().statusCode(201);
+    try {
+      JsonObject credential = new JsonObject(getFile(SAMPLE_CREDENTIAL_FILE_1));
+      postData(INTERFACE_CREDENTIAL_ENDPOINT, credential.encode()).then().statusCode(201);
+
+      credential.remove("id");
+      credential.put(PASSWORD_FIELD, MY_NEW_PASSWORD);
+      postData(INTERFACE_CREDENTIAL_ENDPOINT, credential.encode())
+        .then().log().ifValidationFails()
+        .statusCode(422)
+        .body("errors[0].parameters[0].key", equalTo("interfaceId"))
+        .body("errors[0].parameters[0].value", equalTo(INTERFACE_ID));
+
+      InterfaceCredential stored = getData(INTERFACE_CREDENTIAL_ENDPOINT).then()
+        .log().ifValidationFails()
+        .statusCode(200)
+        .extract()
+        .body().as(InterfaceCredential.class);
+      assertNotEquals(MY_NEW_PASSWORD, stored.getPassword());
+
+      deleteDataSuccess(INTERFACE_CREDENTIAL_ENDPOINT_WITH_ID, INTERFACE_ID);
+    } finally {
+      deleteDataSuccess(INTERFACE_ENDPOINT_WITH_ID, INTERFACE_ID);
+    }
+  }
+
   @Test
   public void testFetchEntityWithNonExistedId() throws MalformedURLException {
     logger.info(String.format("--- mod-organizations-storage %s get by id test: Invalid %s: %s", simpleClassName,simpleClassName, NON_EXISTED_ID));
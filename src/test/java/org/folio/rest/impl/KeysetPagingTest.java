@@ -0,0 +1,104 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertEquals;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.folio.rest.persist.KeysetPage;
+import org.folio.rest.persist.TotalRecordsCounter;
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.restassured.response.Response;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class KeysetPagingTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(KeysetPagingTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String[] SAMPLE_ORGANIZATION_FILES = {
+    "data/organizations/acso.json",
+    "data/organizations/alexs.json",
+    "data/organizations/amaz.json"
+  };
+
+  @Test
+  public void testKeysetPagesCoverAllRecords() throws MalformedURLException {
+    List<String> createdIds = new ArrayList<>();
+    try {
+      for (String file : SAMPLE_ORGANIZATION_FILES) {
+        createdIds.add(createEntity(ORGANIZATION_ENDPOINT, getFile(file)));
+      }
+
+      logger.info("--- mod-organizations-storage keyset test: fetching first page");
+      Response firstPage = getData(ORGANIZATION_ENDPOINT + "?limit=2&query=cql.allRecords=1 sortBy name&pageToken=" + KeysetPage.FIRST_PAGE_TOKEN);
+      firstPage.then().log().ifValidationFails()
+        .statusCode(200)
+        .header(KeysetPage.NEXT_PAGE_TOKEN_HEADER, not(nullValue()))
+        .body("organizations", hasSize(2));
+
+      logger.info("--- mod-organizations-storage keyset test: fetching next page");
+      Response secondPage = getData(ORGANIZATION_ENDPOINT + "?limit=2&query=cql.allRecords=1 sortBy name&pageToken=" + firstPage.getHeader(KeysetPage.NEXT_PAGE_TOKEN_HEADER));
+      secondPage.then().log().ifValidationFails()
+        .statusCode(200)
+        .header(KeysetPage.NEXT_PAGE_TOKEN_HEADER, nullValue())
+        .body("organizations", hasSize(1));
+
+      List<String> names = new ArrayList<>(firstPage.then().extract().path("organizations.name"));
+      names.addAll(secondPage.then().extract().path("organizations.name"));
+      List<String> expectedNames = new ArrayList<>();
+      for (String file : SAMPLE_ORGANIZATION_FILES) {
+        expectedNames.add(new JsonObject(getFile(file)).getString("name"));
+      }
+      expectedNames.sort(String.CASE_INSENSITIVE_ORDER);
+      assertEquals(expectedNames, names);
+    } finally {
+      for (String id : createdIds) {
+        deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+
+  @Test
+  public void testKeysetPagesAreNotCountedByDefault() throws MalformedURLException {
+    String id = createEntity(ORGANIZATION_ENDPOINT, getFile(SAMPLE_ORGANIZATION_FILES[0]));
+    try {
+      logger.info("--- mod-organizations-storage keyset test: fetching first page without totalRecords");
+      getData(ORGANIZATION_ENDPOINT + "?limit=1&pageToken=" + KeysetPage.FIRST_PAGE_TOKEN).then().log().ifValidationFails()
+        .statusCode(200)
+        .header(TotalRecordsCounter.STRATEGY_HEADER, "none")
+        .body("organizations", hasSize(1))
+        .body("totalRecords", equalTo(-1));
+
+      logger.info("--- mod-organizations-storage keyset test: fetching first page with exact totalRecords");
+      int totalRecords = getData(ORGANIZATION_ENDPOINT + "?limit=1").then().statusCode(200).extract().path("totalRecords");
+      getData(ORGANIZATION_ENDPOINT + "?limit=1&totalRecords=exact&pageToken=" + KeysetPage.FIRST_PAGE_TOKEN).then().log().ifValidationFails()
+        .statusCode(200)
+        .header(TotalRecordsCounter.STRATEGY_HEADER, "exact")
+        .body("totalRecords", equalTo(totalRecords));
+    } finally {
+      deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+    }
+  }
+
+  @Test
+  public void testInvalidPageToken() throws MalformedURLException {
+    getData(ORGANIZATION_ENDPOINT + "?pageToken=invalid").then().log().ifValidationFails()
+      .statusCode(400);
+  }
+
+  @Test
+  public void testKeysetUnsupportedSortField() throws MalformedURLException {
+    getData(ORGANIZATION_ENDPOINT + "?query=cql.allRecords=1 sortBy erpCode&pageToken=" + KeysetPage.FIRST_PAGE_TOKEN).then().log().ifValidationFails()
+      .statusCode(400);
+  }
+}
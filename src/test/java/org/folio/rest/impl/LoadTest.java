@@ -0,0 +1,284 @@
+package org.folio.rest.impl;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.impl.StorageTestSuite.storageUrl;
+import static org.folio.rest.utils.TenantApiTestUtil.deleteTenant;
+import static org.folio.rest.utils.TenantApiTestUtil.prepareTenant;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.folio.rest.utils.SyntheticDataGenerator;
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.restassured.http.Header;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Throughput and latency of a mixed CRUD and search workload against a tenant filled by the
+ * {@link SyntheticDataGenerator}. Skipped unless run with {@code -Pload-test}; the size of the tenant and the workload
+ * are set by the {@code load.*} system properties, e.g.
+ * {@code mvn test -Pload-test -Dload.organizations=1000000 -Dload.contacts=5000000 -Dload.interfaces=500000}.
+ * The report is logged per operation once the workload has run.
+ */
+public class LoadTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+  private static final String LOAD_TENANT = "loadtest";
+  private static final Header LOAD_TENANT_HEADER = new Header(OKAPI_HEADER_TENANT, LOAD_TENANT);
+
+  private static final String ORGANIZATIONS_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String CONTACTS_ENDPOINT = TestEntities.CONTACT.getEndpoint();
+  private static final String INTERFACES_ENDPOINT = TestEntities.INTERFACE.getEndpoint();
+  private static final String[] NAME_PREFIXES = { "ama", "gob", "har", "ebs", "use", "lib", "zro", "acs" };
+
+  private enum Operation {
+    GET_ORGANIZATION(30),
+    SEARCH_ORGANIZATIONS(15),
+    SUGGEST_ORGANIZATIONS(10),
+    PAGE_ORGANIZATIONS(10),
+    GET_CONTACT(10),
+    SEARCH_INTERFACES(5),
+    CREATE_ORGANIZATION(12),
+    UPDATE_ORGANIZATION(12),
+    DELETE_ORGANIZATION(6);
+
+    private final int weight;
+
+    Operation(int weight) {
+      this.weight = weight;
+    }
+  }
+
+  private final long organizations = Long.getLong("load.organizations", 10000);
+  private final long contacts = Long.getLong("load.contacts", 50000);
+  private final long interfaces = Long.getLong("load.interfaces", 5000);
+  private final int threads = Integer.getInteger("load.threads", 8);
+  private final long durationSeconds = Long.getLong("load.duration", 60);
+  private final long seed = Long.getLong("load.seed", 42);
+
+  private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+  private final AtomicLong nextOrganization = new AtomicLong(organizations);
+  private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+  private SyntheticDataGenerator generator;
+
+  @Test
+  public void testMixedWorkload() throws Exception {
+    assumeTrue("Run with -Pload-test", Boolean.getBoolean("loadTest"));
+
+    prepareTenant(LOAD_TENANT_HEADER, false, false);
+    try {
+      generator = new SyntheticDataGenerator(organizations, contacts, interfaces, seed);
+      long start = System.nanoTime();
+      generator.load(StorageTestSuite.getVertx(), LOAD_TENANT);
+      logger.info(String.format("--- mod-organizations-storage load test: generated %d organizations, %d contacts and %d interfaces in %d s",
+        organizations, contacts, interfaces, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)));
+
+      for (Operation operation : Operation.values()) {
+        stats.put(operation, new Stats());
+      }
+      long elapsedNanos = runWorkload();
+      logger.info(report(elapsedNanos));
+
+      long errors = stats.values().stream().mapToLong(stat -> stat.errors.sum()).sum();
+      assertEquals("Failed requests", 0, errors);
+    } finally {
+      deleteTenant(LOAD_TENANT_HEADER);
+    }
+  }
+
+  private long runWorkload() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long start = System.nanoTime();
+    long deadline = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+    try {
+      List<Future<?>> workers = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        Random random = new Random(seed + i);
+        workers.add(executor.submit(() -> {
+          while (System.nanoTime() < deadline) {
+            execute(pick(random), random);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return System.nanoTime() - start;
+  }
+
+  private Operation pick(Random random) {
+    int total = Arrays.stream(Operation.values()).mapToInt(operation -> operation.weight).sum();
+    int value = random.nextInt(total);
+    for (Operation operation : Operation.values()) {
+      value -= operation.weight;
+      if (value < 0) {
+        return operation;
+      }
+    }
+    throw new IllegalStateException();
+  }
+
+  private void execute(Operation operation, Random random) throws IOException {
+    long index = (long) (random.nextDouble() * organizations);
+    String prefix = NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)];
+    switch (operation) {
+    case GET_ORGANIZATION:
+      send(operation, "GET", ORGANIZATIONS_ENDPOINT + "/" + SyntheticDataGenerator.organizationId(index), null, 200);
+      break;
+    case SEARCH_ORGANIZATIONS:
+      send(operation, "GET", ORGANIZATIONS_ENDPOINT + "?limit=20&query=" + encode("name=" + prefix + "* and status=Active sortBy name"), null, 200);
+      break;
+    case SUGGEST_ORGANIZATIONS:
+      send(operation, "GET", ORGANIZATIONS_ENDPOINT + "/suggest?limit=10&prefix=" + encode(prefix), null, 200);
+      break;
+    case PAGE_ORGANIZATIONS:
+      send(operation, "GET", ORGANIZATIONS_ENDPOINT + "?limit=50&offset=" + random.nextInt(1000) + "&query=" + encode("cql.allRecords=1 sortBy code"), null, 200);
+      break;
+    case GET_CONTACT:
+      send(operation, "GET", CONTACTS_ENDPOINT + "/" + SyntheticDataGenerator.contactId((long) (random.nextDouble() * contacts)), null, 200);
+      break;
+    case SEARCH_INTERFACES:
+      send(operation, "GET", INTERFACES_ENDPOINT + "?limit=20&query=" + encode("name=" + prefix + "*"), null, 200);
+      break;
+    case CREATE_ORGANIZATION:
+      createOrganization(operation);
+      break;
+    case UPDATE_ORGANIZATION:
+      JsonObject organization = generator.organization(index).put("description", "Updated by the load test " + random.nextInt());
+      send(operation, "PUT", ORGANIZATIONS_ENDPOINT + "/" + organization.getString("id"), organization.encode(), 204);
+      break;
+    case DELETE_ORGANIZATION:
+      String id = createdIds.poll();
+      if (id == null) {
+        createOrganization(Operation.CREATE_ORGANIZATION);
+      } else {
+        send(operation, "DELETE", ORGANIZATIONS_ENDPOINT + "/" + id, null, 204);
+      }
+      break;
+    default:
+      throw new IllegalArgumentException(operation.name());
+    }
+  }
+
+  private void createOrganization(Operation operation) throws IOException {
+    JsonObject organization = generator.organization(nextOrganization.getAndIncrement());
+    if (send(operation, "POST", ORGANIZATIONS_ENDPOINT, organization.encode(), 201)) {
+      createdIds.add(organization.getString("id"));
+    }
+  }
+
+  /**
+   * @return {@code true} if the response has the expected status
+   */
+  private boolean send(Operation operation, String method, String path, String body, int expectedStatus) throws IOException {
+    long start = System.nanoTime();
+    HttpURLConnection connection = (HttpURLConnection) storageUrl(path).openConnection();
+    connection.setRequestMethod(method);
+    connection.setRequestProperty(OKAPI_HEADER_TENANT, LOAD_TENANT);
+    connection.setRequestProperty("Accept", "application/json, text/plain");
+    if (body != null) {
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Content-Type", "application/json");
+      try (OutputStream outputStream = connection.getOutputStream()) {
+        outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    int status = connection.getResponseCode();
+    // read the whole body so the latency covers the transfer of the response
+    try (InputStream inputStream = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+      if (inputStream != null) {
+        byte[] buffer = new byte[8192];
+        while (inputStream.read(buffer) >= 0) {
+          // discard
+        }
+      }
+    }
+    stats.get(operation).record(System.nanoTime() - start, status == expectedStatus);
+    if (status != expectedStatus) {
+      logger.warn(String.format("--- mod-organizations-storage load test: %s %s answered %d", method, path, status));
+    }
+    return status == expectedStatus;
+  }
+
+  private String report(long elapsedNanos) {
+    double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    StringBuilder report = new StringBuilder(String.format("%n--- mod-organizations-storage load test: %d threads for %.1f s%n", threads, elapsedSeconds));
+    report.append(String.format("%-22s %9s %9s %9s %9s %9s %9s %9s %7s%n", "operation", "requests", "req/s",
+      "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors"));
+    long requests = 0;
+    for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+      long[] latencies = entry.getValue().sortedLatencies();
+      requests += latencies.length;
+      report.append(String.format("%-22s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d%n", entry.getKey().name().toLowerCase(),
+        latencies.length, latencies.length / elapsedSeconds, percentile(latencies, 50), percentile(latencies, 90),
+        percentile(latencies, 99), percentile(latencies, 99.9), percentile(latencies, 100), entry.getValue().errors.sum()));
+    }
+    report.append(String.format("%-22s %9d %9.1f%n", "total", requests, requests / elapsedSeconds));
+    return report.toString();
+  }
+
+  /**
+   * @return latency in milliseconds at the percentile by the nearest rank method
+   */
+  private static double percentile(long[] sortedLatencies, double percentile) {
+    if (sortedLatencies.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+    return sortedLatencies[Math.max(0, rank - 1)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  private static final class Stats {
+    private final LongAdder errors = new LongAdder();
+    private long[] latencies = new long[1024];
+    private int count;
+
+    private synchronized void record(long latencyNanos, boolean succeeded) {
+      if (!succeeded) {
+        errors.increment();
+      }
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latencyNanos;
+    }
+
+    private synchronized long[] sortedLatencies() {
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      return sorted;
+    }
+  }
+
+  private static String encode(String value) throws IOException {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+  }
+}
@@ -0,0 +1,55 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.containsString;
+
+import java.net.MalformedURLException;
+
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class MetricsTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(MetricsTest.class);
+
+  private static final String METRICS_ENDPOINT = "/organizations-storage/admin/metrics";
+  private static final String INTERFACE_ID = "14e81009-0f98-45a0-b8e6-e25547beb22f";
+  private static final String INTERFACE_CREDENTIAL_ENDPOINT = "/organizations-storage/interfaces/" + INTERFACE_ID + "/credentials";
+  private static final String INTERFACE_CREDENTIAL_ENDPOINT_WITH_ID = "/organizations-storage/interfaces/{id}/credentials";
+  private static final String SAMPLE_INTERFACE_FILE = "data/interfaces/alexs_interface.json";
+  private static final String SAMPLE_CREDENTIAL_FILE = "data/interface_credentials/alexs_interface_credential.json";
+
+  @Test
+  public void testMetricsExposed() throws MalformedURLException {
+    logger.info("--- mod-organizations-storage metrics test: searching organizations");
+    getData(TestEntities.ORGANIZATION.getEndpoint() + "?query=code==AMAZ").then().statusCode(200);
+
+    getData(METRICS_ENDPOINT)
+      .then().log().ifValidationFails()
+      .statusCode(200)
+      .body(containsString("mod_organizations_storage_request_duration_seconds_bucket{method=\"getOrganizationsStorageOrganizations\""))
+      .body(containsString("mod_organizations_storage_requests_total{method=\"getOrganizationsStorageOrganizations\""))
+      .body(containsString("mod_organizations_storage_db_statement_duration_seconds_count{table=\"organizations\",operation=\"select\""))
+      .body(containsString("mod_organizations_storage_serialization_duration_seconds_count"))
+      .body(containsString("mod_organizations_storage_cql_cache_requests_total{outcome=\"hits\""));
+  }
+
+  @Test
+  public void testWritesTimed() throws MalformedURLException {
+    logger.info("--- mod-organizations-storage metrics test: creating and deleting an interface credential");
+    postData(TestEntities.INTERFACE.getEndpoint(), getFile(SAMPLE_INTERFACE_FILE)).then().statusCode(201);
+    try {
+      postData(INTERFACE_CREDENTIAL_ENDPOINT, getFile(SAMPLE_CREDENTIAL_FILE)).then().statusCode(201);
+      deleteDataSuccess(INTERFACE_CREDENTIAL_ENDPOINT_WITH_ID, INTERFACE_ID);
+    } finally {
+      deleteDataSuccess(TestEntities.INTERFACE.getEndpointWithId(), INTERFACE_ID);
+    }
+
+    getData(METRICS_ENDPOINT)
+      .then().log().ifValidationFails()
+      .statusCode(200)
+      .body(containsString("mod_organizations_storage_db_statement_duration_seconds_count{table=\"interface_credentials\",operation=\"insert\""))
+      .body(containsString("mod_organizations_storage_db_statement_duration_seconds_count{table=\"interface_credentials\",operation=\"delete\""));
+  }
+}
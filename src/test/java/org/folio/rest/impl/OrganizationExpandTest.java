@@ -0,0 +1,67 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.net.MalformedURLException;
+
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class OrganizationExpandTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(OrganizationExpandTest.class);
+
+  private static final String ORGANIZATION_FILE = "data/organizations/acso.json";
+  private static final String CONTACT_FILE = "data/contacts/acso_contact.json";
+  private static final String INTERFACE_FILE = "data/interfaces/acso_interface.json";
+
+  @Test
+  public void testExpandContactsAndInterfaces() throws MalformedURLException {
+    String contactId = createEntity(TestEntities.CONTACT.getEndpoint(), getFile(CONTACT_FILE));
+    String interfaceId = createEntity(TestEntities.INTERFACE.getEndpoint(), getFile(INTERFACE_FILE));
+    String organizationId = createEntity(TestEntities.ORGANIZATION.getEndpoint(), getFile(ORGANIZATION_FILE));
+    try {
+      logger.info("--- mod-organizations-storage expand test: fetching organization by id");
+      getData(TestEntities.ORGANIZATION.getEndpoint() + "/" + organizationId + "?expand=all")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("id", equalTo(organizationId))
+        .body("contacts", contains(contactId))
+        .body("expanded.contacts.id", contains(contactId))
+        .body("expanded.interfaces.id", contains(interfaceId));
+
+      logger.info("--- mod-organizations-storage expand test: fetching organizations collection");
+      getData(TestEntities.ORGANIZATION.getEndpoint() + "?query=id==" + organizationId + "&expand=contacts")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(1))
+        .body("organizations", hasSize(1))
+        .body("organizations[0].expanded.contacts.id", contains(contactId))
+        .body("organizations[0].expanded.interfaces", nullValue());
+
+      getData(TestEntities.ORGANIZATION.getEndpoint() + "/" + organizationId)
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("expanded", nullValue());
+    } finally {
+      deleteDataSuccess(TestEntities.ORGANIZATION.getEndpointWithId(), organizationId);
+      deleteDataSuccess(TestEntities.INTERFACE.getEndpointWithId(), interfaceId);
+      deleteDataSuccess(TestEntities.CONTACT.getEndpointWithId(), contactId);
+    }
+  }
+
+  @Test
+  public void testExpandUnknownProperty() throws MalformedURLException {
+    getData(TestEntities.ORGANIZATION.getEndpoint() + "?expand=addresses")
+      .then().log().ifValidationFails()
+      .statusCode(400);
+    getData(TestEntities.ORGANIZATION.getEndpoint() + "/" + NON_EXISTED_ID + "?expand=addresses")
+      .then().log().ifValidationFails()
+      .statusCode(400);
+  }
+}
@@ -0,0 +1,137 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.rest.persist.OutboxPublisher;
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class OutboxTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(OutboxTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String INTERFACE_ENDPOINT = TestEntities.INTERFACE.getEndpoint();
+  private static final String INTERFACE_ENDPOINT_WITH_ID = TestEntities.INTERFACE.getEndpointWithId();
+  private static final String INTERFACE_CREDENTIAL_ENDPOINT = "/organizations-storage/interfaces/%s/credentials";
+  private static final String INTERFACE_CREDENTIAL_ENDPOINT_WITH_ID = "/organizations-storage/interfaces/{id}/credentials";
+  private static final String METRICS_ENDPOINT = "/organizations-storage/admin/metrics";
+  private static final int DELIVERY_TIMEOUT_SECONDS = 30;
+
+  @Test
+  public void testWritesAreDelivered() throws Exception {
+    String id = UUID.randomUUID().toString();
+    Map<String, CompletableFuture<JsonObject>> events = new ConcurrentHashMap<>();
+    // acknowledges all the events, also those of the writes of the other tests
+    MessageConsumer<JsonObject> consumer = StorageTestSuite.getVertx().eventBus().<JsonObject>consumer(OutboxPublisher.DEFAULT_ADDRESS, message -> {
+      JsonObject event = message.body();
+      if (id.equals(event.getString("entityId"))) {
+        events.computeIfAbsent(event.getString("operation"), operation -> new CompletableFuture<>()).complete(event);
+      }
+      message.reply(null);
+    });
+    try {
+      logger.info("--- mod-organizations-storage outbox test: creating, updating and deleting an organization");
+      JsonObject organization = new JsonObject(getFile("data/organizations/amaz.json"))
+        .put("id", id)
+        .put("code", "OUTBOX-1");
+      createEntity(ORGANIZATION_ENDPOINT, organization.encode());
+      JsonObject inserted = awaitEvent(events, "INSERT");
+      assertEquals("organizations", inserted.getString("table"));
+      assertEquals("diku", inserted.getString("tenant"));
+      assertFalse(inserted.containsKey("entity"));
+
+      putData(ORGANIZATION_ENDPOINT_WITH_ID, id, organization.put("description", "changed").encode()).then().statusCode(204);
+      assertEquals("organizations", awaitEvent(events, "UPDATE").getString("table"));
+
+      deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      assertEquals("organizations", awaitEvent(events, "DELETE").getString("table"));
+
+      getData(METRICS_ENDPOINT).then().log().ifValidationFails()
+        .statusCode(200)
+        .body(containsString("mod_organizations_storage_outbox_delivery_lag_seconds_count{tenant=\"diku\""))
+        .body(containsString("mod_organizations_storage_outbox_oldest_event_age_seconds{tenant=\"diku\""));
+    } finally {
+      consumer.unregister();
+    }
+  }
+
+  @Test
+  public void testFailedDeliveryIsRetried() throws Exception {
+    String id = UUID.randomUUID().toString();
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<JsonObject> firstAttempt = new CompletableFuture<>();
+    CompletableFuture<JsonObject> secondAttempt = new CompletableFuture<>();
+    MessageConsumer<JsonObject> consumer = StorageTestSuite.getVertx().eventBus().<JsonObject>consumer(OutboxPublisher.DEFAULT_ADDRESS, message -> {
+      JsonObject event = message.body();
+      if (!id.equals(event.getString("entityId"))) {
+        message.reply(null);
+      } else if (attempts.incrementAndGet() == 1) {
+        firstAttempt.complete(event);
+        message.fail(500, "Consumer not ready");
+      } else {
+        secondAttempt.complete(event);
+        message.reply(null);
+      }
+    });
+    try {
+      logger.info("--- mod-organizations-storage outbox test: failing the first delivery");
+      JsonObject organization = new JsonObject(getFile("data/organizations/amaz.json"))
+        .put("id", id)
+        .put("code", "OUTBOX-2");
+      createEntity(ORGANIZATION_ENDPOINT, organization.encode());
+      long eventId = firstAttempt.get(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS).getLong("id");
+      assertEquals(eventId, (long) secondAttempt.get(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS).getLong("id"));
+    } finally {
+      consumer.unregister();
+      deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+    }
+  }
+
+  @Test
+  public void testCredentialWritesAreDelivered() throws Exception {
+    String interfaceId = "14e81009-0f98-45a0-b8e6-e25547beb22f";
+    String credentialId = new JsonObject(getFile("data/interface_credentials/alexs_interface_credential.json")).getString("id");
+    Map<String, CompletableFuture<JsonObject>> events = new ConcurrentHashMap<>();
+    MessageConsumer<JsonObject> consumer = StorageTestSuite.getVertx().eventBus().<JsonObject>consumer(OutboxPublisher.DEFAULT_ADDRESS, message -> {
+      JsonObject event = message.body();
+      if (credentialId.equals(event.getString("entityId"))) {
+        events.computeIfAbsent(event.getString("operation"), operation -> new CompletableFuture<>()).complete(event);
+      }
+      message.reply(null);
+    });
+    postData(INTERFACE_ENDPOINT, getFile("data/interfaces/alexs_interface.json")).then().statusCode(201);
+    try {
+      logger.info("--- mod-organizations-storage outbox test: creating and deleting an interface credential");
+      postData(String.format(INTERFACE_CREDENTIAL_ENDPOINT, interfaceId), getFile("data/interface_credentials/alexs_interface_credential.json"))
+        .then().statusCode(201);
+      JsonObject inserted = awaitEvent(events, "INSERT");
+      assertEquals("interface_credentials", inserted.getString("table"));
+      assertFalse(inserted.containsKey("entity"));
+
+      deleteDataSuccess(INTERFACE_CREDENTIAL_ENDPOINT_WITH_ID, interfaceId);
+      assertEquals("interface_credentials", awaitEvent(events, "DELETE").getString("table"));
+    } finally {
+      consumer.unregister();
+      deleteDataSuccess(INTERFACE_ENDPOINT_WITH_ID, interfaceId);
+    }
+  }
+
+  private JsonObject awaitEvent(Map<String, CompletableFuture<JsonObject>> events, String operation) throws Exception {
+    return events.computeIfAbsent(operation, key -> new CompletableFuture<>()).get(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+}
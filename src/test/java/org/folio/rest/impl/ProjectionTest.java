@@ -0,0 +1,131 @@
+package org.folio.rest.impl;
+
+import static io.restassured.RestAssured.given;
+import static org.folio.rest.impl.StorageTestSuite.storageUrl;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+import java.net.MalformedURLException;
+import java.util.UUID;
+
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.restassured.http.ContentType;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class ProjectionTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(ProjectionTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String ORGANIZATION_FILE = "data/organizations/acso.json";
+  private static final String ETAG_HEADER = "ETag";
+
+  @Test
+  public void testProjectCollection() throws MalformedURLException {
+    String id = createOrganization();
+    try {
+      logger.info("--- mod-organizations-storage projection test: fetching organizations collection");
+      getData(ORGANIZATION_ENDPOINT + "?query=code==PROJECTION-1&fields=code,name")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("totalRecords", equalTo(1))
+        .body("organizations[0].keySet()", containsInAnyOrder("id", "code", "name"));
+
+      getData(ORGANIZATION_ENDPOINT + "?query=code==PROJECTION-1&fields=code,unknown")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("organizations[0].keySet()", containsInAnyOrder("id", "code"));
+
+      getData(ORGANIZATION_ENDPOINT + "?query=code==PROJECTION-1&pageToken=first&fields=name")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("organizations[0].keySet()", containsInAnyOrder("id", "name"));
+
+      String etag = getData(ORGANIZATION_ENDPOINT + "?query=code==PROJECTION-1").getHeader(ETAG_HEADER);
+      getData(ORGANIZATION_ENDPOINT + "?query=code==PROJECTION-1&fields=code")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .header(ETAG_HEADER, not(equalTo(etag)));
+    } finally {
+      deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+    }
+  }
+
+  @Test
+  public void testProjectById() throws MalformedURLException {
+    String id = createOrganization();
+    try {
+      logger.info("--- mod-organizations-storage projection test: fetching organization by id");
+      getData(ORGANIZATION_ENDPOINT + "/" + id + "?fields=code")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("keySet()", containsInAnyOrder("id", "code"))
+        .body("code", equalTo("PROJECTION-1"));
+
+      getData(ORGANIZATION_ENDPOINT + "/" + id + "?fields=code&expand=contacts")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("keySet()", containsInAnyOrder("id", "code", "expanded"));
+    } finally {
+      deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+    }
+  }
+
+  @Test
+  public void testProjectKeepsNestedNull() throws MalformedURLException {
+    // the import stores the record as sent, the null is not dropped by the entity mapping
+    String id = UUID.randomUUID().toString();
+    JsonObject organization = new JsonObject(getFile(ORGANIZATION_FILE))
+      .put("id", id)
+      .put("code", "PROJECTION-2");
+    organization.getJsonArray("addresses").getJsonObject(0).putNull("addressLine2");
+    given()
+      .header(TENANT_HEADER)
+      .contentType(ContentType.BINARY)
+      .accept(ContentType.JSON)
+      .body(organization.encode() + "\n")
+      .post(storageUrl(ORGANIZATION_ENDPOINT + "/import"))
+      .then().log().ifValidationFails()
+      .statusCode(201)
+      .body("imported", equalTo(1));
+    try {
+      logger.info("--- mod-organizations-storage projection test: fetching organization with nested null");
+      getData(ORGANIZATION_ENDPOINT + "/" + id + "?fields=code,addresses")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("keySet()", containsInAnyOrder("id", "code", "addresses"))
+        .body("addresses[0].keySet()", hasItem("addressLine2"));
+
+      getData(ORGANIZATION_ENDPOINT + "?query=code==PROJECTION-2&fields=addresses")
+        .then().log().ifValidationFails()
+        .statusCode(200)
+        .body("organizations[0].keySet()", containsInAnyOrder("id", "addresses"))
+        .body("organizations[0].addresses[0].keySet()", hasItem("addressLine2"));
+    } finally {
+      deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+    }
+  }
+
+  @Test
+  public void testProjectNestedProperty() throws MalformedURLException {
+    getData(ORGANIZATION_ENDPOINT + "?fields=addresses.city")
+      .then().log().ifValidationFails()
+      .statusCode(400);
+    getData(TestEntities.CONTACT.getEndpoint() + "/" + UUID.randomUUID() + "?fields=addresses.city")
+      .then().log().ifValidationFails()
+      .statusCode(400);
+  }
+
+  private String createOrganization() throws MalformedURLException {
+    JsonObject organization = new JsonObject(getFile(ORGANIZATION_FILE))
+      .put("id", UUID.randomUUID().toString())
+      .put("code", "PROJECTION-1");
+    return createEntity(ORGANIZATION_ENDPOINT, organization.encode());
+  }
+}
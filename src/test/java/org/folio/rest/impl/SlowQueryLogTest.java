@@ -0,0 +1,77 @@
+package org.folio.rest.impl;
+
+import static io.restassured.RestAssured.given;
+import static org.folio.rest.impl.StorageTestSuite.storageUrl;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.net.MalformedURLException;
+
+import org.folio.rest.RestVerticle;
+import org.folio.rest.persist.SlowQueryLog;
+import org.folio.rest.utils.TestEntities;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class SlowQueryLogTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(SlowQueryLogTest.class);
+
+  private static final String SLOW_QUERIES_ENDPOINT = "/organizations-storage/admin/slow-queries";
+  private static final int PLAN_ATTEMPTS = 50;
+  private static final String THRESHOLD_PARAMETER = "slowQueryThreshold";
+  private static final String EXPLAIN_RATE_PARAMETER = "slowQueryExplainRate";
+
+  @Before
+  public void captureEveryQuery() {
+    // capture every collection statement with its plan
+    RestVerticle.MODULE_SPECIFIC_ARGS.put(THRESHOLD_PARAMETER, "0");
+    RestVerticle.MODULE_SPECIFIC_ARGS.put(EXPLAIN_RATE_PARAMETER, "1");
+    SlowQueryLog.reloadSettings();
+  }
+
+  @After
+  public void restoreSettings() {
+    RestVerticle.MODULE_SPECIFIC_ARGS.remove(THRESHOLD_PARAMETER);
+    RestVerticle.MODULE_SPECIFIC_ARGS.remove(EXPLAIN_RATE_PARAMETER);
+    SlowQueryLog.reloadSettings();
+  }
+
+  @Test
+  public void testSlowQueriesCaptured() throws MalformedURLException, InterruptedException {
+    given().header(TENANT_HEADER).delete(storageUrl(SLOW_QUERIES_ENDPOINT)).then().statusCode(204);
+
+    logger.info("--- mod-organizations-storage slow query test: searching organizations");
+    getData(TestEntities.ORGANIZATION.getEndpoint() + "?query=code==AMAZ").then().statusCode(200);
+
+    getData(SLOW_QUERIES_ENDPOINT)
+      .then().log().ifValidationFails()
+      .statusCode(200)
+      .body("totalRecords", greaterThan(0))
+      .body("slowQueries[0].table", equalTo("organizations"))
+      .body("slowQueries.query", hasItem("code==AMAZ"))
+      .body("slowQueries[0].sql", containsString("organizations"));
+
+    // the plan is captured after the response of the search
+    for (int attempt = 0; attempt < PLAN_ATTEMPTS && getData(SLOW_QUERIES_ENDPOINT).path("slowQueries[0].plan") == null; attempt++) {
+      Thread.sleep(100);
+    }
+    getData(SLOW_QUERIES_ENDPOINT)
+      .then().log().ifValidationFails()
+      .statusCode(200)
+      .body("slowQueries[0].plan", notNullValue());
+
+    logger.info("--- mod-organizations-storage slow query test: dropping captures");
+    given().header(TENANT_HEADER).delete(storageUrl(SLOW_QUERIES_ENDPOINT)).then().statusCode(204);
+    getData(SLOW_QUERIES_ENDPOINT)
+      .then().log().ifValidationFails()
+      .statusCode(200)
+      .body("totalRecords", equalTo(0));
+  }
+}
@@ -35,7 +35,25 @@ import io.vertx.core.logging.LoggerFactory;
 @Suite.SuiteClasses({
   TenantSampleDataTest.class,
   EntitiesCrudTest.class,
-  InterfaceCredentialsTest.class
+  InterfaceCredentialsTest.class,
+  KeysetPagingTest.class,
+  CqlQueryCacheTest.class,
+  BatchCreateTest.class,
+  FetchByIdsTest.class,
+  OrganizationExpandTest.class,
+  CategoriesCacheTest.class,
+  ETagTest.class,
+  SlowQueryLogTest.class,
+  MetricsTest.class,
+  ImportTest.class,
+  ExportTest.class,
+  FullTextSearchTest.class,
+  SuggestTest.class,
+  FacetsTest.class,
+  ChangeFeedTest.class,
+  OutboxTest.class,
+  ProjectionTest.class,
+  LoadTest.class
 
 })
 
@@ -0,0 +1,95 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.RestVerticle;
+import org.folio.rest.utils.TestEntities;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+public class SuggestTest extends TestBase {
+  private final Logger logger = LoggerFactory.getLogger(SuggestTest.class);
+
+  private static final String ORGANIZATION_ENDPOINT = TestEntities.ORGANIZATION.getEndpoint();
+  private static final String ORGANIZATION_ENDPOINT_WITH_ID = TestEntities.ORGANIZATION.getEndpointWithId();
+  private static final String ORGANIZATION_SUGGEST_ENDPOINT = ORGANIZATION_ENDPOINT + "/suggest";
+  private static final String TYPEAHEAD_INDEX_PARAMETER = "typeaheadIndex";
+
+  @Test
+  public void testSuggestFromDatabase() throws MalformedURLException {
+    verifySuggestions();
+  }
+
+  @Test
+  public void testSuggestFromIndex() throws MalformedURLException {
+    RestVerticle.MODULE_SPECIFIC_ARGS.put(TYPEAHEAD_INDEX_PARAMETER, "true");
+    try {
+      verifySuggestions();
+    } finally {
+      RestVerticle.MODULE_SPECIFIC_ARGS.remove(TYPEAHEAD_INDEX_PARAMETER);
+    }
+  }
+
+  @Test
+  public void testSuggestWithoutPrefix() throws MalformedURLException {
+    getData(ORGANIZATION_SUGGEST_ENDPOINT).then().log().ifValidationFails()
+      .statusCode(400);
+  }
+
+  private void verifySuggestions() throws MalformedURLException {
+    List<String> createdIds = new ArrayList<>();
+    try {
+      createdIds.add(createOrganization("Ŵombat Supplies", "TYPE-3"));
+      createdIds.add(createOrganization("Wombat Books", "TYPE-2"));
+      createdIds.add(createOrganization("Other Vendor", "WOMBAT-1"));
+
+      logger.info("--- mod-organizations-storage suggest test: suggesting organizations");
+      getData(ORGANIZATION_SUGGEST_ENDPOINT + "?prefix=wOMb").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("suggestions.code", contains("TYPE-2", "TYPE-3", "WOMBAT-1"))
+        .body("suggestions[0].name", equalTo("Wombat Books"))
+        .body("suggestions[0].id", equalTo(createdIds.get(1)));
+
+      getData(ORGANIZATION_SUGGEST_ENDPOINT + "?prefix=wombat b&limit=2").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("suggestions.code", contains("TYPE-2"));
+
+      logger.info("--- mod-organizations-storage suggest test: renaming and deleting organizations");
+      JsonObject renamed = new JsonObject(getDataById(ORGANIZATION_ENDPOINT_WITH_ID, createdIds.get(0)).asString())
+        .put("name", "Koala Supplies");
+      putData(ORGANIZATION_ENDPOINT_WITH_ID, createdIds.get(0), renamed.encode()).then().statusCode(204);
+      deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, createdIds.remove(2));
+      getData(ORGANIZATION_SUGGEST_ENDPOINT + "?prefix=wombat").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("suggestions.code", contains("TYPE-2"));
+      getData(ORGANIZATION_SUGGEST_ENDPOINT + "?prefix=koala").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("suggestions.code", contains("TYPE-3"));
+      getData(ORGANIZATION_SUGGEST_ENDPOINT + "?prefix=zzzz").then().log().ifValidationFails()
+        .statusCode(200)
+        .body("suggestions", empty());
+    } finally {
+      for (String id : createdIds) {
+        deleteDataSuccess(ORGANIZATION_ENDPOINT_WITH_ID, id);
+      }
+    }
+  }
+
+  private String createOrganization(String name, String code) throws MalformedURLException {
+    JsonObject organization = new JsonObject(getFile("data/organizations/amaz.json"))
+      .put("id", UUID.randomUUID().toString())
+      .put("name", name)
+      .put("code", code);
+    return createEntity(ORGANIZATION_ENDPOINT, organization.encode());
+  }
+}
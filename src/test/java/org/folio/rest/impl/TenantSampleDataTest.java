@@ -62,16 +62,28 @@ public class TenantSampleDataTest extends TestBase{
   }
 
   @Test
-  public void failIfNoUrlToHeader() throws MalformedURLException {
+  public void loadDataWithoutUrlToHeader() throws MalformedURLException {
+    logger.info("-- the data is written straight to the database, the module does not call itself back --");
+    Header noUrlTenantHeader = new Header(OKAPI_HEADER_TENANT, "noURL");
     JsonObject jsonBody = TenantApiTestUtil.prepareTenantBody(true, true);
-    given()
-        .header(new Header(OKAPI_HEADER_TENANT, "noURL"))
-        .contentType(ContentType.JSON)
-      .body(jsonBody.encodePrettily())
-      .post(storageUrl(TENANT_ENDPOINT))
-        .then()
-        .assertThat()
-        .statusCode(500);
+    try {
+      // loading the data again must not duplicate it
+      for (int i = 0; i < 2; i++) {
+        given()
+            .header(noUrlTenantHeader)
+            .contentType(ContentType.JSON)
+          .body(jsonBody.encodePrettily())
+          .post(storageUrl(TENANT_ENDPOINT))
+            .then()
+            .assertThat()
+            .statusCode(201);
+        for (TestEntities entity : TestEntities.values()) {
+          verifyCollectionQuantity(entity.getEndpoint(), entity.getInitialQuantity(), noUrlTenantHeader);
+        }
+      }
+    } finally {
+      deleteTenant(noUrlTenantHeader);
+    }
   }
 
   @Test
@@ -0,0 +1,244 @@
+package org.folio.rest.utils;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.apache.commons.io.IOUtils;
+import org.folio.rest.persist.PostgresClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Expands the sample data of the module into a tenant of any size. Every record is a copy of one of the samples with
+ * its own id, distinguishing name and code and randomized status, language and payment method. Organizations reference
+ * their share of the generated contacts and interfaces and every interface has a credential. Ids are derived from the
+ * kind and index of the record, so a record can be referenced or fetched without keeping the ids in memory, and the
+ * same seed always generates the same data.
+ */
+public class SyntheticDataGenerator {
+  private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+  private static final String[] ORGANIZATION_FILES = { "acso.json", "alexs.json", "amaz.json", "bibsam.json", "gobi.json",
+    "harra.json", "mgnp.json", "mln.json", "naxo.json", "rsc.json", "sjean.json", "srebsco.json", "tafg.json", "usgs.json",
+    "zroco.json", "zsusan.json" };
+  private static final String[] CONTACT_FILES = { "acso_contact.json", "alexs_contact.json", "amaz_contact.json",
+    "gobi_contact.json", "harra_contact.json", "mgnp_contact.json", "naxo_contact.json", "sjean_contact.json",
+    "srebsco_contact.json", "tafg_contact.json", "usgs_contact.json", "zroco_contact.json", "zsusan_contact.json" };
+  private static final String[] INTERFACE_FILES = { "acso_interface.json", "alexs_interface.json", "amaz_interface.json",
+    "bibsam_interface.json", "gobi_interface.json", "harra_interface.json", "mgnp_interface.json", "mln_interface.json",
+    "naxo_interface.json", "rsc_interface.json", "srebsco_interface.json", "tafg_interface.json", "usgs_interface.json" };
+
+  private static final String[] STATUSES = { "Active", "Active", "Active", "Active", "Active", "Active", "Active", "Active",
+    "Inactive", "Pending" };
+  private static final String[] LANGUAGES = { "en-us", "en-us", "en-us", "English", "fr", "de", "es", "Portuguese/Spanish" };
+  private static final String[] PAYMENT_METHODS = { "EFT", "EFT", "EFT", "Credit Card", "Physical Check", "Cash",
+    "Deposit Account" };
+  private static final String[] WORDS = { "Books", "Media", "Press", "Publishing", "Library Services", "Journals",
+    "Subscriptions", "Distribution", "Academic", "Digital" };
+
+  private static final String INSERT = "INSERT INTO %s (id, jsonb) SELECT (record->>'id')::uuid, record FROM jsonb_array_elements(?::jsonb) record";
+  private static final int BATCH_SIZE = 1000;
+  private static final long BATCH_TIMEOUT_SECONDS = 120;
+
+  private final long organizations;
+  private final long contacts;
+  private final long interfaces;
+  private final long seed;
+  private final List<JsonObject> organizationSamples;
+  private final List<JsonObject> contactSamples;
+  private final List<JsonObject> interfaceSamples;
+
+  public SyntheticDataGenerator(long organizations, long contacts, long interfaces, long seed) {
+    this.organizations = organizations;
+    this.contacts = contacts;
+    this.interfaces = interfaces;
+    this.seed = seed;
+    this.organizationSamples = readSamples("data/organizations/", ORGANIZATION_FILES);
+    this.contactSamples = readSamples("data/contacts/", CONTACT_FILES);
+    this.interfaceSamples = readSamples("data/interfaces/", INTERFACE_FILES);
+  }
+
+  public long getOrganizations() {
+    return organizations;
+  }
+
+  public long getContacts() {
+    return contacts;
+  }
+
+  public long getInterfaces() {
+    return interfaces;
+  }
+
+  public static String organizationId(long index) {
+    return id("organization", index);
+  }
+
+  public static String contactId(long index) {
+    return id("contact", index);
+  }
+
+  public static String interfaceId(long index) {
+    return id("interface", index);
+  }
+
+  /**
+   * @param index any non-negative index, indexes at or above the size of the dataset give records not yet stored
+   */
+  public JsonObject organization(long index) {
+    Random random = random(index);
+    JsonObject sample = organizationSamples.get((int) (index % organizationSamples.size()));
+    JsonObject organization = sample.copy()
+      .put("id", organizationId(index))
+      .put("name", sample.getString("name") + " " + WORDS[random.nextInt(WORDS.length)] + " " + index)
+      .put("code", sample.getString("code") + "-" + index)
+      .put("status", STATUSES[random.nextInt(STATUSES.length)])
+      .put("language", LANGUAGES[random.nextInt(LANGUAGES.length)])
+      .put("paymentMethod", PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)])
+      .put("isVendor", random.nextInt(10) < 8)
+      .put("erpCode", String.format("G%05d-%05d", random.nextInt(100000), index % 100000))
+      .put("contacts", references(index, organizations, contacts, SyntheticDataGenerator::contactId))
+      .put("interfaces", references(index, organizations, interfaces, SyntheticDataGenerator::interfaceId));
+    organization.remove("metadata");
+    return organization;
+  }
+
+  public JsonObject contact(long index) {
+    Random random = random(index);
+    JsonObject sample = contactSamples.get((int) (index % contactSamples.size()));
+    JsonObject contact = sample.copy()
+      .put("id", contactId(index))
+      .put("firstName", sample.getString("firstName") + index)
+      .put("lastName", sample.getString("lastName") + " " + WORDS[random.nextInt(WORDS.length)])
+      .put("inactive", random.nextInt(20) == 0);
+    contact.remove("metadata");
+    return contact;
+  }
+
+  public JsonObject anInterface(long index) {
+    JsonObject sample = interfaceSamples.get((int) (index % interfaceSamples.size()));
+    JsonObject anInterface = sample.copy()
+      .put("id", interfaceId(index))
+      .put("name", sample.getString("name") + " " + index);
+    anInterface.remove("metadata");
+    return anInterface;
+  }
+
+  public JsonObject credential(long index) {
+    return new JsonObject()
+      .put("id", id("credential", index))
+      .put("interfaceId", interfaceId(index))
+      .put("username", "user" + index)
+      .put("password", Long.toHexString(random(index).nextLong()));
+  }
+
+  /**
+   * Stores the dataset in the schema of the tenant with set based inserts of {@value #BATCH_SIZE} records, interfaces
+   * first as the credentials reference them.
+   */
+  public void load(Vertx vertx, String tenantId) {
+    PostgresClient postgresClient = PostgresClient.getInstance(vertx, tenantId);
+    String schema = PostgresClient.convertToPsqlStandard(tenantId);
+    insert(postgresClient, schema + ".interfaces", interfaces, this::anInterface);
+    insert(postgresClient, schema + ".interface_credentials", interfaces, this::credential);
+    insert(postgresClient, schema + ".contacts", contacts, this::contact);
+    insert(postgresClient, schema + ".organizations", organizations, this::organization);
+    analyze(postgresClient, schema);
+  }
+
+  private void insert(PostgresClient postgresClient, String fullTableName, long count, LongFunction<JsonObject> generator) {
+    long start = System.nanoTime();
+    String sql = String.format(INSERT, fullTableName);
+    for (long from = 0; from < count; from += BATCH_SIZE) {
+      JsonArray batch = new JsonArray();
+      for (long index = from; index < Math.min(count, from + BATCH_SIZE); index++) {
+        batch.add(generator.apply(index));
+      }
+      CompletableFuture<Void> inserted = new CompletableFuture<>();
+      postgresClient.execute(sql, new JsonArray().add(batch.encode()), reply -> {
+        if (reply.succeeded()) {
+          inserted.complete(null);
+        } else {
+          inserted.completeExceptionally(reply.cause());
+        }
+      });
+      await(inserted);
+    }
+    logger.info(String.format("Generated %d records into %s in %d ms", count, fullTableName,
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+  }
+
+  private void analyze(PostgresClient postgresClient, String schema) {
+    // fresh statistics so the planner sees the real size of the tables
+    for (String table : new String[] { "interfaces", "interface_credentials", "contacts", "organizations" }) {
+      CompletableFuture<Void> analyzed = new CompletableFuture<>();
+      postgresClient.execute("ANALYZE " + schema + "." + table, reply -> {
+        if (reply.succeeded()) {
+          analyzed.complete(null);
+        } else {
+          analyzed.completeExceptionally(reply.cause());
+        }
+      });
+      await(analyzed);
+    }
+  }
+
+  private static void await(CompletableFuture<Void> future) {
+    try {
+      future.get(BATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (Exception e) {
+      throw new IllegalStateException("Cannot store generated records", e);
+    }
+  }
+
+  /**
+   * Spreads the {@code targets} evenly over the {@code owners}, the owner {@code index} gets a contiguous range of them.
+   */
+  private static JsonArray references(long index, long owners, long targets, LongFunction<String> idOf) {
+    JsonArray ids = new JsonArray();
+    if (index >= owners || targets == 0) {
+      return ids;
+    }
+    long from = index * targets / owners;
+    long to = (index + 1) * targets / owners;
+    for (long target = from; target < to; target++) {
+      ids.add(idOf.apply(target));
+    }
+    return ids;
+  }
+
+  private Random random(long index) {
+    return new Random(seed * 31 + index);
+  }
+
+  private static String id(String kind, long index) {
+    return UUID.nameUUIDFromBytes((kind + '/' + index).getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  private static List<JsonObject> readSamples(String directory, String[] files) {
+    List<JsonObject> samples = new ArrayList<>(files.length);
+    for (String file : files) {
+      try (InputStream inputStream = SyntheticDataGenerator.class.getClassLoader().getResourceAsStream(directory + file)) {
+        samples.add(new JsonObject(IOUtils.toString(inputStream, StandardCharsets.UTF_8)));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return samples;
+  }
+}